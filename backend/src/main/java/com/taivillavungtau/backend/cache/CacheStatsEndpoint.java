@@ -0,0 +1,163 @@
+package com.taivillavungtau.backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint /actuator/cachestats (chỉ ADMIN) - thống kê theo từng cache:
+ *
+ * - hits / misses / puts / evictions / thời gian load (InstrumentedCache)
+ * - số liệu phía Redis từ RedisCacheManager.enableStatistics()
+ * - số entry (SCAN theo prefix), dung lượng ước tính và top key theo kích thước
+ *   (STRLEN trên tối đa cache.stats.size-sample-keys key đầu tiên)
+ * - top key theo số hit (lấy mẫu trên đường đọc)
+ *
+ * Phần SCAN chỉ chạy khi endpoint được gọi, không ảnh hưởng request thường.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    @Value("${cache.stats.top-keys:10}")
+    private int topKeys;
+
+    @Value("${cache.stats.size-sample-keys:200}")
+    private int sizeSampleKeys;
+
+    // Giới hạn số key SCAN để đếm entry (tránh quét cả keyspace lớn)
+    @Value("${cache.stats.max-scan-keys:100000}")
+    private int maxScanKeys;
+
+    private final InstrumentedCacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+
+    public CacheStatsEndpoint(InstrumentedCacheManager cacheManager, RedisConnectionFactory connectionFactory) {
+        this.cacheManager = cacheManager;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            result.put(name, cacheStats(name));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name) {
+        if (!cacheManager.getCacheNames().contains(name)) {
+            return null; // Actuator trả 404
+        }
+        return cacheStats(name);
+    }
+
+    private Map<String, Object> cacheStats(String name) {
+        Cache cache = cacheManager.getCache(name);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (!(cache instanceof InstrumentedCache instrumented)) {
+            return stats;
+        }
+
+        InstrumentedCache.Snapshot snapshot = instrumented.snapshot(topKeys);
+        long lookups = snapshot.hits() + snapshot.misses();
+        stats.put("hits", snapshot.hits());
+        stats.put("misses", snapshot.misses());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) snapshot.hits() / lookups);
+        stats.put("puts", snapshot.puts());
+        stats.put("evictions", snapshot.evictions());
+        stats.put("loads", snapshot.loads());
+        stats.put("avgLoadMs", snapshot.avgLoadMs());
+        stats.put("maxLoadMs", snapshot.maxLoadMs());
+        stats.put("topKeysByHits", snapshot.topKeysByHits());
+
+        if (instrumented.getDelegate() instanceof RedisCache redisCache) {
+            CacheStatistics redisStats = redisCache.getStatistics();
+            Map<String, Object> redis = new LinkedHashMap<>();
+            redis.put("hits", redisStats.getHits());
+            redis.put("misses", redisStats.getMisses());
+            redis.put("puts", redisStats.getPuts());
+            redis.put("deletes", redisStats.getDeletes());
+            redis.put("since", redisStats.getSince());
+            stats.put("redis", redis);
+            stats.putAll(entryStats(keyPrefix(redisCache)));
+        }
+        return stats;
+    }
+
+    private Map<String, Object> entryStats(String prefix) {
+        long entryCount = 0;
+        List<byte[]> sampledKeys = new ArrayList<>();
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(500).build();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext() && entryCount < maxScanKeys) {
+                    byte[] key = cursor.next();
+                    entryCount++;
+                    if (sampledKeys.size() < sizeSampleKeys) {
+                        sampledKeys.add(key);
+                    }
+                }
+            }
+
+            List<KeySize> sizes = new ArrayList<>(sampledKeys.size());
+            if (!sampledKeys.isEmpty()) {
+                connection.openPipeline();
+                sampledKeys.forEach(key -> connection.stringCommands().strLen(key));
+                List<Object> lengths = connection.closePipeline();
+                for (int i = 0; i < sampledKeys.size(); i++) {
+                    Object length = lengths.get(i);
+                    if (length instanceof Long bytes) {
+                        String key = new String(sampledKeys.get(i), StandardCharsets.UTF_8);
+                        sizes.add(new KeySize(key.substring(prefix.length()), bytes));
+                    }
+                }
+            }
+
+            long sampledBytes = sizes.stream().mapToLong(KeySize::bytes).sum();
+            Map<String, Long> topBySize = new LinkedHashMap<>();
+            sizes.stream()
+                    .sorted(Comparator.comparingLong(KeySize::bytes).reversed())
+                    .limit(topKeys)
+                    .forEach(size -> topBySize.put(size.key(), size.bytes()));
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entryCount", entryCount);
+            stats.put("entryCountTruncated", entryCount >= maxScanKeys);
+            stats.put("sampledKeys", sizes.size());
+            stats.put("approxBytes", sizes.isEmpty() ? 0 : sampledBytes * entryCount / sizes.size());
+            stats.put("topKeysBySize", topBySize);
+            return stats;
+        }
+    }
+
+    private String keyPrefix(RedisCache cache) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        return config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) : "";
+    }
+
+    private record KeySize(String key, long bytes) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.taivillavungtau.backend.cache;
+
+/**
+ * Định dạng lưu value trong Redis cache (cấu hình qua cache.serializer.format).
+ * - JSON: GenericJackson2JsonRedisSerializer cũ (có "@class" cho mọi object)
+ * - SMILE: CompactRedisSerializer (nhị phân, không metadata kiểu, nén LZ4 khi lớn)
+ * Cả 2 định dạng đều đọc qua CompactRedisSerializer nên đọc được entry của định dạng kia.
+ */
+public enum CacheValueFormat {
+    JSON,
+    SMILE
+}
@@ -0,0 +1,254 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.DataBinder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.LocationRepository;
+import com.taivillavungtau.backend.repository.PropertyTypeRepository;
+import com.taivillavungtau.backend.service.PropertyService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Làm nóng cache property_search cho các truy vấn phổ biến nhất.
+ *
+ * Danh sách truy vấn = cấu hình cố định (homepage size=500, featured...)
+ * + trang landing theo từng Location / PropertyType
+ * + top truy vấn thật từ HotQueryTracker.
+ *
+ * Chạy nền khi ứng dụng khởi động và ngay sau mỗi lần property_search bị xóa
+ * (debounce để gom nhiều lần sửa liên tiếp). Kết quả được tính song song với số
+ * luồng giới hạn, rồi ghi vào Redis bằng 1 pipeline duy nhất.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class CacheWarmer {
+
+    @Value("${cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    // Truy vấn cố định (query string, phân tách bởi dấu phẩy)
+    @Value("${cache.warmup.queries:page=0&size=500,isFeatured=true&page=0&size=12}")
+    private List<String> configuredQueries;
+
+    // Mẫu trang landing, {id} được thay bằng ID location / property type (để trống = tắt)
+    @Value("${cache.warmup.location-query:locationId={id}&page=0&size=12}")
+    private String locationQueryTemplate;
+
+    @Value("${cache.warmup.property-type-query:propertyTypeId={id}&page=0&size=12}")
+    private String propertyTypeQueryTemplate;
+
+    @Value("${cache.warmup.max-hot-queries:20}")
+    private int maxHotQueries;
+
+    @Value("${cache.warmup.max-queries:60}")
+    private int maxQueries;
+
+    @Value("${cache.warmup.concurrency:2}")
+    private int concurrency;
+
+    @Value("${cache.warmup.debounce-ms:1000}")
+    private long debounceMs;
+
+    @Value("${cache.warmup.query-timeout-ms:10000}")
+    private long queryTimeoutMs;
+
+    private final PropertyService propertyService;
+    private final HotQueryTracker hotQueryTracker;
+    private final LocationRepository locationRepository;
+    private final PropertyTypeRepository propertyTypeRepository;
+    private final RedisBatchCache batchCache;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("cache-warmer"));
+    private ExecutorService workers;
+    private ScheduledFuture<?> pendingWarmUp;
+
+    // Tăng mỗi khi catalog thay đổi - warm-up cũ sẽ không ghi kết quả đã lỗi thời
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private volatile boolean initialWarmUpDone = false;
+
+    public CacheWarmer(PropertyService propertyService, HotQueryTracker hotQueryTracker,
+            LocationRepository locationRepository, PropertyTypeRepository propertyTypeRepository,
+            RedisBatchCache batchCache) {
+        this.propertyService = propertyService;
+        this.hotQueryTracker = hotQueryTracker;
+        this.locationRepository = locationRepository;
+        this.propertyTypeRepository = propertyTypeRepository;
+        this.batchCache = batchCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            initialWarmUpDone = true;
+            return;
+        }
+        workers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(maxQueries, 1)), daemonThreads("cache-warmer-worker"));
+        scheduler.execute(() -> warmUp("startup", true));
+    }
+
+    // Sau khi commit: property_search đã bị @CacheEvict xóa -> làm nóng lại
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!enabled || workers == null || !event.getType().evictsSearch()) {
+            return;
+        }
+        catalogGeneration.incrementAndGet();
+        scheduleWarmUp();
+    }
+
+    public boolean isInitialWarmUpDone() {
+        return initialWarmUpDone;
+    }
+
+    private synchronized void scheduleWarmUp() {
+        if (pendingWarmUp != null) {
+            pendingWarmUp.cancel(false);
+        }
+        pendingWarmUp = scheduler.schedule(() -> warmUp("invalidation", false), debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void warmUp(String reason, boolean onlyMissing) {
+        long startedAt = System.currentTimeMillis();
+        long generation = catalogGeneration.get();
+        try {
+            Map<String, PropertySearchRequest> queries = collectQueries();
+            if (onlyMissing) {
+                removeCachedKeys(queries);
+            }
+
+            Map<String, Future<PageResponse<PropertyDTO>>> futures = new LinkedHashMap<>();
+            queries.forEach((key, request) -> futures.put(key,
+                    workers.submit(() -> propertyService.loadSearchPage(request))));
+
+            Map<String, PageResponse<PropertyDTO>> pages = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<PageResponse<PropertyDTO>>> entry : futures.entrySet()) {
+                try {
+                    pages.put(entry.getKey(), entry.getValue().get(queryTimeoutMs, TimeUnit.MILLISECONDS));
+                } catch (Exception e) {
+                    entry.getValue().cancel(true);
+                    log.warn("Cache warm-up query failed for {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+
+            if (generation != catalogGeneration.get()) {
+                // Catalog vừa đổi trong lúc tính - lần warm-up kế tiếp sẽ ghi dữ liệu mới
+                log.debug("Catalog changed during warm-up ({}), discarding {} pages", reason, pages.size());
+                return;
+            }
+
+            batchCache.putAll(CacheNames.PROPERTY_SEARCH, pages);
+            hotQueryTracker.decay();
+            log.info("Cache warm-up ({}) wrote {} property_search entries in {}ms", reason, pages.size(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("Cache warm-up ({}) failed: {}", reason, e.getMessage());
+        } finally {
+            initialWarmUpDone = true;
+        }
+    }
+
+    private Map<String, PropertySearchRequest> collectQueries() {
+        List<PropertySearchRequest> candidates = new ArrayList<>();
+        configuredQueries.stream()
+                .filter(query -> !query.isBlank())
+                .map(CacheWarmer::parseQuery)
+                .forEach(candidates::add);
+
+        if (!locationQueryTemplate.isBlank()) {
+            locationRepository.findAll().forEach(location -> candidates.add(
+                    parseQuery(locationQueryTemplate.replace("{id}", String.valueOf(location.getId())))));
+        }
+        if (!propertyTypeQueryTemplate.isBlank()) {
+            propertyTypeRepository.findAll().forEach(type -> candidates.add(
+                    parseQuery(propertyTypeQueryTemplate.replace("{id}", String.valueOf(type.getId())))));
+        }
+        candidates.addAll(hotQueryTracker.topQueries(maxHotQueries));
+
+        Map<String, PropertySearchRequest> queries = new LinkedHashMap<>();
+        for (PropertySearchRequest request : candidates) {
+            if (queries.size() >= maxQueries) {
+                break;
+            }
+            queries.putIfAbsent(request.toString(), request);
+        }
+        return queries;
+    }
+
+    /**
+     * Chuyển query string (VD: "isFeatured=true&size=12") thành PropertySearchRequest,
+     * bind giống @ModelAttribute trong PropertyController
+     */
+    public static PropertySearchRequest parseQuery(String query) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.newInstance()
+                .query(query.trim())
+                .build()
+                .getQueryParams();
+        MutablePropertyValues values = new MutablePropertyValues();
+        params.forEach((name, list) -> values.add(name,
+                list.size() == 1 ? list.get(0) : list.toArray(new String[0])));
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        DataBinder binder = new DataBinder(request);
+        binder.setConversionService(DefaultConversionService.getSharedInstance());
+        binder.bind(values);
+        return request;
+    }
+
+    // Bỏ các key đã có sẵn trong Redis (VD: sau deploy, entry cũ còn TTL)
+    private void removeCachedKeys(Map<String, PropertySearchRequest> queries) {
+        queries.keySet().removeAll(batchCache.existingKeys(CacheNames.PROPERTY_SEARCH, queries.keySet()));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.taivillavungtau.backend.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health "cacheWarmup" - dùng trong nhóm readiness để (tuỳ chọn) chỉ nhận traffic
+ * sau khi warm-up lần đầu xong.
+ *
+ * cache.warmup.block-readiness=false (mặc định): luôn UP.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    @Value("${cache.warmup.block-readiness:false}")
+    private boolean blockReadiness;
+
+    private final ObjectProvider<CacheWarmer> cacheWarmer;
+
+    public CacheWarmupHealthIndicator(ObjectProvider<CacheWarmer> cacheWarmer) {
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmer warmer = cacheWarmer.getIfAvailable();
+        if (warmer == null) {
+            return Health.up().withDetail("warmer", "disabled").build();
+        }
+        boolean done = warmer.isInitialWarmUpDone();
+        if (!done && blockReadiness) {
+            return Health.outOfService().withDetail("initialWarmUpDone", false).build();
+        }
+        return Health.up().withDetail("initialWarmUpDone", done).build();
+    }
+}
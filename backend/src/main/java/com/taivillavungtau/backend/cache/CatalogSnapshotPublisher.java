@@ -0,0 +1,299 @@
+package com.taivillavungtau.backend.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.FileSystemUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.ApiResponse;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertySitemapEntry;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
+import com.taivillavungtau.backend.service.PropertyService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Xuất catalog công khai ra file JSON tĩnh để nginx phục vụ trực tiếp (try_files),
+ * JVM chỉ xử lý request trượt snapshot và thao tác ghi.
+ *
+ * Mỗi lần publish ghi 1 thư mục phiên bản mới {dir}/v{millis}:
+ * - api/v1/properties/{id}.json (+ slug/{slug}.json, code/{code}.json là hard link)
+ *   cho mọi căn ACTIVE - cùng body với GET /api/v1/properties/{id}
+ * - api/v1/properties/list/{query}.json cho các trang danh sách cấu hình sẵn
+ *   (query string đúng như client gửi, VD "size=500&page=0")
+ * Mỗi file ghi qua file tạm + rename, kèm bản .gz nén sẵn (gzip_static). Xong
+ * hết mới đổi symlink {dir}/current sang phiên bản mới (rename nguyên tử) - nginx
+ * không bao giờ thấy snapshot dở dang. Giữ keep-versions phiên bản gần nhất cho
+ * các request đang đọc dở.
+ *
+ * Chạy khi khởi động và sau mỗi lần ghi property / danh mục đã commit (debounce).
+ * Căn bị ẩn / xóa biến mất khỏi phiên bản kế tiếp -> nginx chuyển về backend.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog-snapshot.enabled", havingValue = "true")
+@Slf4j
+public class CatalogSnapshotPublisher {
+
+    static final String CURRENT_LINK = "current";
+    static final String PROPERTIES_PATH = "api/v1/properties";
+    private static final String VERSION_PREFIX = "v";
+    private static final int ID_PAGE_SIZE = 500;
+    // Tên file lấy từ slug / code / query string: chỉ ký tự an toàn, khớp với map của nginx
+    private static final Pattern SAFE_KEY = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+    private static final Pattern SAFE_QUERY = Pattern.compile("[A-Za-z0-9=&_,.-]+");
+
+    @Value("${catalog-snapshot.dir:/var/lib/taivilla/catalog-snapshot}")
+    private Path baseDir;
+
+    @Value("${catalog-snapshot.listing-queries:size=500&page=0}")
+    private List<String> listingQueries;
+
+    @Value("${catalog-snapshot.debounce-ms:2000}")
+    private long debounceMs;
+
+    @Value("${catalog-snapshot.keep-versions:2}")
+    private int keepVersions;
+
+    private final PropertyService propertyService;
+    private final ObjectMapper objectMapper;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> pendingPublish;
+
+    public CatalogSnapshotPublisher(PropertyService propertyService, ObjectMapper objectMapper) {
+        this.propertyService = propertyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        schedulePublish();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        schedulePublish();
+    }
+
+    // Tên amenity / label / location nằm trong JSON chi tiết -> cũng phải xuất lại
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        schedulePublish();
+    }
+
+    private synchronized void schedulePublish() {
+        if (pendingPublish != null) {
+            pendingPublish.cancel(false);
+        }
+        pendingPublish = scheduler.schedule(this::publishQuietly, debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (Exception e) {
+            log.warn("Catalog snapshot publish failed, nginx keeps serving the previous version: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Ghi 1 phiên bản snapshot đầy đủ rồi chuyển current sang nó.
+     *
+     * @return thư mục phiên bản vừa publish
+     */
+    Path publish() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Files.createDirectories(baseDir);
+        Path version = Files.createDirectory(baseDir.resolve(VERSION_PREFIX + startedAt));
+        Path properties = Files.createDirectories(version.resolve(PROPERTIES_PATH));
+        try {
+            int written = writeProperties(properties);
+            int pages = writeListings(Files.createDirectories(properties.resolve("list")));
+            switchCurrent(version);
+            log.info("Catalog snapshot {} published: {} properties, {} listing pages in {}ms",
+                    version.getFileName(), written, pages, System.currentTimeMillis() - startedAt);
+        } catch (IOException | RuntimeException e) {
+            FileSystemUtils.deleteRecursively(version);
+            throw e;
+        }
+        removeOldVersions(version);
+        return version;
+    }
+
+    // Duyệt ID căn ACTIVE theo keyset (như sitemap), nạp chi tiết theo lô qua cache "properties"
+    private int writeProperties(Path dir) throws IOException {
+        Path slugDir = Files.createDirectories(dir.resolve("slug"));
+        Path codeDir = Files.createDirectories(dir.resolve("code"));
+        int written = 0;
+        long after = 0;
+        while (true) {
+            SitemapPageResponse page = propertyService.getSitemapPage(after, ID_PAGE_SIZE);
+            List<Long> ids = page.getItems().stream().map(PropertySitemapEntry::getId).toList();
+            for (PropertyDTO property : propertyService.getPropertiesByIds(ids)) {
+                Path file = dir.resolve(property.getId() + ".json");
+                writeAtomically(file, ApiResponse.success(property, "Lấy thông tin chi tiết thành công"));
+                link(slugDir, property.getSlug(), file);
+                link(codeDir, property.getCode(), file);
+                written++;
+            }
+            if (page.getNextAfter() == null) {
+                return written;
+            }
+            after = page.getNextAfter();
+        }
+    }
+
+    private int writeListings(Path dir) throws IOException {
+        int written = 0;
+        for (String query : listingQueries) {
+            String key = query.trim();
+            if (!SAFE_QUERY.matcher(key).matches()) {
+                continue;
+            }
+            // Bind giống controller: ?fields= chuẩn hóa trước khi làm cache key
+            PropertySearchRequest request = CacheWarmer.parseQuery(key);
+            request.setFields(PropertyFieldSet.canonical(request.getFields()));
+            PageResponse<PropertyDTO> page = propertyService.searchProperties(request);
+            if (page.getContent().isEmpty() && request.getPage() > 0) {
+                continue; // Trang vượt quá tổng số trang - để backend trả
+            }
+            writeAtomically(dir.resolve(key + ".json"), ApiResponse.success(page, "Lấy danh sách thành công"));
+            written++;
+        }
+        return written;
+    }
+
+    private void writeAtomically(Path file, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        write(file, json, false);
+        write(file.resolveSibling(file.getFileName() + ".gz"), json, true);
+    }
+
+    private static void write(Path target, byte[] content, boolean gzip) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".tmp-", null);
+        try {
+            try (OutputStream out = gzip ? new BestGzipOutputStream(Files.newOutputStream(temp))
+                    : Files.newOutputStream(temp)) {
+                out.write(content);
+            }
+            moveAtomically(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // slug / code trỏ cùng nội dung với {id}.json: hard link (kèm .gz), không ghi lại
+    private static void link(Path dir, String key, Path file) throws IOException {
+        if (key == null || !SAFE_KEY.matcher(key).matches()) {
+            return;
+        }
+        linkOrCopy(dir.resolve(key + ".json"), file);
+        linkOrCopy(dir.resolve(key + ".json.gz"), file.resolveSibling(file.getFileName() + ".gz"));
+    }
+
+    private static void linkOrCopy(Path link, Path existing) throws IOException {
+        try {
+            Files.createLink(link, existing);
+        } catch (FileAlreadyExistsException e) {
+            // Trùng slug giữa 2 căn: giữ căn ID nhỏ hơn, giống PropertyRepository.findIdBySlug
+        } catch (UnsupportedOperationException e) {
+            Files.copy(existing, link);
+        }
+    }
+
+    // Symlink tương đối (v123...) -> nginx mount thư mục ở đường dẫn khác vẫn đúng
+    private void switchCurrent(Path version) throws IOException {
+        Path temp = baseDir.resolve(".current-" + version.getFileName());
+        Files.deleteIfExists(temp);
+        Files.createSymbolicLink(temp, version.getFileName());
+        moveAtomically(temp, baseDir.resolve(CURRENT_LINK));
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Phiên bản cũ hơn keep-versions (và thư mục dở dang do crash) bị xóa
+    private void removeOldVersions(Path current) {
+        List<Path> versions = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(baseDir, VERSION_PREFIX + "*")) {
+            for (Path path : stream) {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS) && !path.equals(current)) {
+                    versions.add(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list catalog snapshot versions: {}", e.getMessage());
+            return;
+        }
+        versions.sort(Comparator.comparingLong(CatalogSnapshotPublisher::versionMillis).reversed());
+        for (Path old : versions.subList(Math.min(Math.max(keepVersions - 1, 0), versions.size()), versions.size())) {
+            try {
+                FileSystemUtils.deleteRecursively(old);
+            } catch (IOException e) {
+                log.warn("Could not remove catalog snapshot {}: {}", old.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    private static long versionMillis(Path version) {
+        try {
+            return Long.parseLong(version.getFileName().toString().substring(VERSION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        private BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
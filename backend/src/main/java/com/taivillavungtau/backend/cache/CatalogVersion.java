@@ -0,0 +1,116 @@
+package com.taivillavungtau.backend.cache;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
+
+/**
+ * Phiên bản catalog trong bộ nhớ, dùng làm ETag cho GET /api/v1/properties.
+ *
+ * - Danh sách: ETag = epoch + version, version tăng sau mỗi lần ghi property và
+ *   mỗi lần sửa danh mục (tên tiện ích / label / khu vực nằm sẵn trong PropertyDTO)
+ * - Chi tiết: ETag = id + updatedAt (+ số lần thay đổi, version danh mục), được ghi
+ *   nhớ sau lần load đầu tiên để các request If-None-Match sau đó trả 304 mà không cần DB
+ * - Mọi ETag có thêm hậu tố biến thể (định dạng JSON/CBOR/Smile + ?fields=, xem
+ *   ETagUtils.variant): cùng dữ liệu nhưng khác representation thì không được 304 chéo
+ *
+ * epoch ngẫu nhiên theo mỗi lần khởi động: ETag cũ từ trước khi restart (version
+ * đếm lại từ 0) không bao giờ khớp nhầm. Version chỉ tính các lần ghi đi qua
+ * instance này (triển khai hiện tại chỉ có 1 backend).
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong referenceVersion = new AtomicLong();
+    // Phần chung của ETag chi tiết (chưa có dấu nháy và hậu tố biến thể)
+    private final Map<Long, String> propertyETags = new ConcurrentHashMap<>();
+    private final Map<Long, Long> propertyChanges = new ConcurrentHashMap<>();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * ETag cho danh sách. Phải lấy TRƯỚC khi load dữ liệu: nếu có ghi xen giữa,
+     * body mới đi kèm ETag cũ (client chỉ tải lại thừa 1 lần), không bao giờ ngược lại.
+     */
+    public String searchETag() {
+        return "\"c-" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * ETag danh sách cho 1 biến thể representation (ETagUtils.variant)
+     */
+    public String searchETag(String variant) {
+        return "\"c-" + epoch + "-" + version.get() + "-" + variant + "\"";
+    }
+
+    /**
+     * ETag đã biết của 1 property cho biến thể variant, null nếu chưa load hoặc đã thay đổi
+     */
+    public String knownPropertyETag(Long id, String variant) {
+        String base = propertyETags.get(id);
+        return base != null ? quote(base, variant) : null;
+    }
+
+    /**
+     * Tính ETag chi tiết và ghi nhớ để phục vụ 304 không cần DB
+     *
+     * @param versionBeforeLoad giá trị current() đọc trước khi load property
+     * @return null nếu có ghi xen giữa lúc load (dữ liệu có thể đã cũ, không gắn ETag)
+     */
+    public String rememberPropertyETag(PropertyDTO property, long versionBeforeLoad, String variant) {
+        if (property.getId() == null) {
+            return null;
+        }
+        long updatedAt = property.getUpdatedAt() != null
+                ? property.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+        // Đổi ảnh không cập nhật updatedAt -> thêm số lần thay đổi của property
+        long changes = propertyChanges.getOrDefault(property.getId(), 0L);
+        String base = "p-" + property.getId() + "-" + updatedAt + "-" + changes + "-" + referenceVersion.get()
+                + "-" + epoch;
+        propertyETags.put(property.getId(), base);
+        if (version.get() != versionBeforeLoad) {
+            propertyETags.remove(property.getId(), base);
+            return null;
+        }
+        return quote(base, variant);
+    }
+
+    private static String quote(String base, String variant) {
+        return "\"" + base + "-" + variant + "\"";
+    }
+
+    // Tăng version trước rồi mới xóa ETag (rememberPropertyETag dựa vào thứ tự này)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        version.incrementAndGet();
+        if (event.getPropertyId() != null) {
+            propertyChanges.merge(event.getPropertyId(), 1L, Long::sum);
+            propertyETags.remove(event.getPropertyId());
+        } else {
+            propertyETags.clear(); // Import: không biết căn nào đổi
+        }
+    }
+
+    // Tên danh mục nhúng trong mọi PropertyDTO -> đổi toàn bộ ETag danh sách và chi tiết
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        referenceVersion.incrementAndGet();
+        version.incrementAndGet();
+        propertyETags.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package com.taivillavungtau.backend.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Serializer nhị phân gọn cho value của Redis cache.
+ *
+ * Khác với GenericJackson2JsonRedisSerializer (ghi "@class" cho mọi object/list
+ * lồng nhau), serializer này gắn cố định với 1 kiểu (VD: PageResponse&lt;PropertyDTO&gt;)
+ * nên không cần metadata kiểu trong payload.
+ *
+ * Layout bytes:
+ * [MAGIC][VERSION][FLAGS][payload]
+ * - FLAGS & FLAG_LZ4: payload = [độ dài gốc (int)][dữ liệu nén LZ4]
+ * - Ngược lại: payload là Smile thô
+ *
+ * Dữ liệu không có MAGIC (entry cũ dạng JSON) được đọc bằng serializer legacy,
+ * nên đổi format không cần flush Redis. Với writeFormat = JSON serializer vẫn nhận
+ * diện MAGIC khi đọc: quay lại JSON không làm hỏng các entry Smile còn TTL.
+ */
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    static final byte VERSION_SMILE_V1 = 1;
+    static final byte FLAG_NONE = 0x00;
+    static final byte FLAG_LZ4 = 0x01;
+    static final int HEADER_SIZE = 3;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestJavaInstance();
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final int compressThresholdBytes;
+    private final RedisSerializer<Object> legacySerializer;
+    private final CacheValueFormat writeFormat;
+
+    public CompactRedisSerializer(JavaType valueType, int compressThresholdBytes,
+            RedisSerializer<Object> legacySerializer) {
+        this(valueType, compressThresholdBytes, legacySerializer, CacheValueFormat.SMILE);
+    }
+
+    public CompactRedisSerializer(JavaType valueType, int compressThresholdBytes,
+            RedisSerializer<Object> legacySerializer, CacheValueFormat writeFormat) {
+        ObjectMapper smileMapper = createSmileMapper();
+        this.writer = smileMapper.writerFor(valueType);
+        this.reader = smileMapper.readerFor(valueType);
+        this.compressThresholdBytes = compressThresholdBytes;
+        this.legacySerializer = legacySerializer;
+        this.writeFormat = writeFormat;
+    }
+
+    /**
+     * ObjectMapper Smile dùng chung cấu hình ngày giờ với mapper JSON hiện tại.
+     * Bật shared string values để tên tiện ích/label lặp lại chỉ ghi 1 lần
+     * (tính năng này yêu cầu giữ header ":)\n" của Smile).
+     */
+    public static ObjectMapper createSmileMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.WRITE_HEADER)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (writeFormat == CacheValueFormat.JSON) {
+            return legacySerializer.serialize(value);
+        }
+        byte[] raw;
+        try {
+            raw = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile cache value", e);
+        }
+
+        if (raw.length < compressThresholdBytes) {
+            ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + raw.length);
+            out.put(MAGIC).put(VERSION_SMILE_V1).put(FLAG_NONE).put(raw);
+            return out.array();
+        }
+
+        LZ4Compressor compressor = LZ4.fastCompressor();
+        byte[] compressed = new byte[compressor.maxCompressedLength(raw.length)];
+        int compressedLength = compressor.compress(raw, 0, raw.length, compressed, 0, compressed.length);
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressedLength);
+        out.put(MAGIC).put(VERSION_SMILE_V1).put(FLAG_LZ4)
+                .putInt(raw.length)
+                .put(compressed, 0, compressedLength);
+        return out.array();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // Entry cũ (JSON + @class) - đọc bằng serializer legacy
+            return (T) legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != VERSION_SMILE_V1) {
+            throw new SerializationException("Unsupported cache value format version: "
+                    + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        byte flags = bytes[2];
+        try {
+            if ((flags & FLAG_LZ4) == 0) {
+                return reader.readValue(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            }
+            int originalLength = ByteBuffer.wrap(bytes, HEADER_SIZE, Integer.BYTES).getInt();
+            LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+            byte[] raw = new byte[originalLength];
+            decompressor.decompress(bytes, HEADER_SIZE + Integer.BYTES, raw, 0, originalLength);
+            return reader.readValue(raw);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read compact cache value", e);
+        }
+    }
+}
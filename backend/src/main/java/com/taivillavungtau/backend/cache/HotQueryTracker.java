@@ -0,0 +1,89 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+
+/**
+ * Đếm tần suất các PropertySearchRequest công khai (theo key cache = toString())
+ * để CacheWarmer biết truy vấn nào "nóng" nhất từ traffic thật.
+ *
+ * - record(): O(1), không lock - gọi trên mọi request GET /api/v1/properties
+ * - Số key theo dõi bị giới hạn: khi vượt ngưỡng sẽ bỏ các key chỉ xuất hiện 1 lần
+ * - decay(): chia đôi bộ đếm sau mỗi lần warm-up để truy vấn cũ nguội dần
+ */
+@Component
+public class HotQueryTracker {
+
+    @Value("${cache.warmup.max-tracked-queries:1000}")
+    private int maxTrackedQueries;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void record(PropertySearchRequest request) {
+        // Request admin (có DELETED) không cache HTTP và không đáng warm-up
+        if (request.getStatusList() != null && request.getStatusList().contains("DELETED")) {
+            return;
+        }
+        String key = request.toString();
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxTrackedQueries) {
+                pruneOneHitQueries();
+                if (counters.size() >= maxTrackedQueries) {
+                    return; // Toàn key nóng - bỏ qua key mới cho tới lần decay tiếp theo
+                }
+            }
+            counter = counters.computeIfAbsent(key, k -> new Counter(request));
+        }
+        counter.hits.increment();
+    }
+
+    /**
+     * Top N truy vấn có số lần gọi cao nhất
+     */
+    public List<PropertySearchRequest> topQueries(int limit) {
+        return counters.values().stream()
+                .sorted(Comparator.comparingLong((Counter c) -> c.hits.sum()).reversed())
+                .limit(limit)
+                .map(c -> c.request)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Chia đôi bộ đếm, bỏ các key về 0
+     */
+    public void decay() {
+        counters.entrySet().removeIf(entry -> {
+            LongAdder hits = entry.getValue().hits;
+            long current = hits.sumThenReset();
+            hits.add(current / 2);
+            return current / 2 == 0;
+        });
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    private void pruneOneHitQueries() {
+        counters.entrySet().removeIf(entry -> entry.getValue().hits.sum() <= 1);
+    }
+
+    private static final class Counter {
+        private final PropertySearchRequest request;
+        private final LongAdder hits = new LongAdder();
+
+        Counter(PropertySearchRequest request) {
+            this.request = request;
+        }
+    }
+}
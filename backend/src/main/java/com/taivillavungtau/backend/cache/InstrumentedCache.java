@@ -0,0 +1,231 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decorator đo đạc cho 1 Cache: hit/miss, put, eviction, thời gian load (miss ->
+ * put) và số hit theo từng key (lấy mẫu).
+ *
+ * Chi phí trên đường nóng: vài phép cộng LongAdder + 1 ThreadLocal; việc đếm theo
+ * key chỉ chạy với 1/sampleRate request và bị giới hạn số key.
+ */
+public class InstrumentedCache implements Cache {
+
+    private static final int MAX_SAMPLED_KEYS = 2000;
+    // Miss cũ hơn mức này không còn là 1 lần load (giá trị bị unless loại / loader lỗi)
+    private static final long MAX_PENDING_LOAD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    // Key đang được load trên thread hiện tại (get miss -> put cùng key).
+    // CacheInterceptor không báo khi load kết thúc mà không put (unless, null, exception), nên
+    // mỗi lookup / put / evict kế tiếp trên thread đều gỡ bản ghi cũ: không giữ lại trên thread
+    // Tomcat và không ghi thời gian load sai cho lần put sau
+    private static final ThreadLocal<PendingLoad> PENDING_LOAD = new ThreadLocal<>();
+
+    private final Cache delegate;
+    private final int sampleRate;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loadTimer;
+
+    private final Map<String, LongAdder> sampledKeyHits = new ConcurrentHashMap<>();
+
+    public InstrumentedCache(Cache delegate, MeterRegistry registry, int sampleRate) {
+        this.delegate = delegate;
+        this.sampleRate = Math.max(sampleRate, 1);
+        String name = delegate.getName();
+        this.hits = Counter.builder("app.cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Cache lookups that found a value").register(registry);
+        this.misses = Counter.builder("app.cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Cache lookups that found nothing").register(registry);
+        this.puts = Counter.builder("app.cache.puts").tag("cache", name)
+                .description("Values written to the cache").register(registry);
+        this.evictions = Counter.builder("app.cache.evictions").tag("cache", name)
+                .description("Single-key evictions and full clears").register(registry);
+        this.loadTimer = Timer.builder("app.cache.load").tag("cache", name)
+                .description("Time from a cache miss until the loaded value is stored").register(registry);
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        recordLookup(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        recordLookup(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = { false };
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        if (loaded[0]) {
+            misses.increment();
+            puts.increment();
+        } else {
+            recordHit(key);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+        PendingLoad pending = PENDING_LOAD.get();
+        if (pending == null) {
+            return;
+        }
+        PENDING_LOAD.remove();
+        long elapsed = System.nanoTime() - pending.startNanos;
+        if (pending.cache == this && Objects.equals(pending.key, key) && elapsed <= MAX_PENDING_LOAD_NANOS) {
+            loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+        PENDING_LOAD.remove();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        PENDING_LOAD.remove();
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        evictions.increment();
+        sampledKeyHits.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        evictions.increment();
+        sampledKeyHits.clear();
+        return invalidated;
+    }
+
+    /**
+     * Ảnh chụp số liệu hiện tại (cho actuator endpoint)
+     */
+    public Snapshot snapshot(int topN) {
+        Map<String, Long> topKeys = new LinkedHashMap<>();
+        sampledKeyHits.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(topN)
+                .forEach(e -> topKeys.put(e.getKey(), e.getValue().sum() * sampleRate));
+        return new Snapshot((long) hits.count(), (long) misses.count(), (long) puts.count(),
+                (long) evictions.count(), loadTimer.count(), loadTimer.mean(TimeUnit.MILLISECONDS),
+                loadTimer.max(TimeUnit.MILLISECONDS), topKeys);
+    }
+
+    private void recordLookup(Object key, boolean hit) {
+        if (hit) {
+            PENDING_LOAD.remove();
+            recordHit(key);
+        } else {
+            misses.increment();
+            PENDING_LOAD.set(new PendingLoad(this, key, System.nanoTime()));
+        }
+    }
+
+    private void recordHit(Object key) {
+        hits.increment();
+        if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        String sampledKey = String.valueOf(key);
+        LongAdder counter = sampledKeyHits.get(sampledKey);
+        if (counter == null) {
+            if (sampledKeyHits.size() >= MAX_SAMPLED_KEYS) {
+                return;
+            }
+            counter = sampledKeyHits.computeIfAbsent(sampledKey, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private record PendingLoad(InstrumentedCache cache, Object key, long startNanos) {
+    }
+
+    /**
+     * Số liệu của 1 cache tại thời điểm gọi
+     */
+    public record Snapshot(long hits, long misses, long puts, long evictions, long loads,
+            double avgLoadMs, double maxLoadMs, Map<String, Long> topKeysByHits) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.taivillavungtau.backend.cache;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+
+/**
+ * Ghi AmenityDTO / LabelDTO dùng chung bằng JSON đã serialize sẵn
+ * (ReferenceDtoRegistry): mỗi amenity/label chỉ chạy BeanSerializer 1 lần cho
+ * mỗi version danh mục, các lần sau là 1 lệnh writeRawValue.
+ *
+ * Chỉ áp dụng cho JSON - CBOR/Smile không hỗ trợ raw value, ghi như bình thường.
+ * Registry lấy lazy (ObjectProvider) - ObjectMapper không kéo theo JPA khi khởi
+ * tạo, và context test không có registry thì module không làm gì.
+ */
+public class InternedReferenceJsonModule extends SimpleModule {
+
+    public InternedReferenceJsonModule(ObjectProvider<ReferenceDtoRegistry> registry) {
+        super("InternedReferenceJsonModule");
+        LazyRegistry lazyRegistry = new LazyRegistry(registry);
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                    JsonSerializer<?> serializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (type == AmenityDTO.class || type == LabelDTO.class) {
+                    return new FragmentSerializer((JsonSerializer<Object>) serializer, lazyRegistry);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private static final class FragmentSerializer extends StdSerializer<Object>
+            implements ResolvableSerializer, ContextualSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final LazyRegistry registry;
+
+        private FragmentSerializer(JsonSerializer<Object> delegate, LazyRegistry registry) {
+            super(Object.class);
+            this.delegate = delegate;
+            this.registry = registry;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (!(delegate instanceof ContextualSerializer contextual)) {
+                return this;
+            }
+            JsonSerializer<?> serializer = contextual.createContextual(provider, property);
+            return serializer == delegate ? this
+                    : new FragmentSerializer((JsonSerializer<Object>) serializer, registry);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(value, gen, provider, typeSer);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ReferenceDtoRegistry dtoRegistry = gen.canWriteBinaryNatively() ? null : registry.get();
+            Object interned = dtoRegistry != null ? internedOrNull(dtoRegistry, value) : null;
+            if (interned == null) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            gen.writeRawValue(dtoRegistry.fragment(interned, dto -> render(dto, gen, provider)));
+        }
+
+        // Chưa có snapshot mà DB lỗi (response lấy từ Redis) -> ghi như bình thường
+        private static Object internedOrNull(ReferenceDtoRegistry dtoRegistry, Object value) {
+            try {
+                return dtoRegistry.internedOrNull(value);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private String render(Object dto, JsonGenerator gen, SerializerProvider provider) {
+            JsonFactory factory = gen.getCodec() instanceof ObjectMapper mapper ? mapper.getFactory() : new JsonFactory();
+            StringWriter writer = new StringWriter(64);
+            try (JsonGenerator json = factory.createGenerator(writer)) {
+                delegate.serialize(dto, json, provider);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return writer.toString();
+        }
+    }
+
+    // Tra bean 1 lần rồi giữ lại (serializer gọi cho từng amenity/label)
+    private static final class LazyRegistry {
+        private final ObjectProvider<ReferenceDtoRegistry> provider;
+        private volatile ReferenceDtoRegistry registry;
+
+        private LazyRegistry(ObjectProvider<ReferenceDtoRegistry> provider) {
+            this.provider = provider;
+        }
+
+        ReferenceDtoRegistry get() {
+            ReferenceDtoRegistry current = registry;
+            if (current == null) {
+                current = provider.getIfAvailable();
+                registry = current;
+            }
+            return current;
+        }
+    }
+}
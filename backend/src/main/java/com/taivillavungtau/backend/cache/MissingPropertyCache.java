@@ -0,0 +1,161 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Negative cache cho các lookup property không tồn tại (link cũ, scraper dò ID).
+ *
+ * - ID: Bloom filter các ID đang có trong DB -> "chắc chắn không có" trả 404 ngay
+ * - ID dương tính giả của Bloom, slug, code: marker "không tồn tại" TTL ngắn
+ *
+ * Bloom filter dựng lúc khởi động từ PropertyRepository, thêm ID khi tạo mới và
+ * dựng lại khi xóa vĩnh viễn. Trước khi dựng xong thì không chặn ID nào.
+ * Ghi property ngoài PropertyService (import trực tiếp DB...) phải gọi rebuild().
+ */
+@Component
+@ConditionalOnProperty(name = "cache.negative.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class MissingPropertyCache {
+
+    public enum LookupType {
+        ID, SLUG, CODE
+    }
+
+    @Value("${cache.negative.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${cache.negative.max-markers:10000}")
+    private int maxMarkers;
+
+    @Value("${cache.negative.bloom-fpp:0.01}")
+    private double bloomFpp;
+
+    // Dung lượng tối thiểu của Bloom filter (dư chỗ cho căn tạo mới)
+    @Value("${cache.negative.bloom-min-capacity:10000}")
+    private int bloomMinCapacity;
+
+    private final PropertyRepository propertyRepository;
+
+    private final Map<String, Long> markers = new ConcurrentHashMap<>();
+    private volatile LongBloomFilter existingIds;
+    private volatile int bloomCapacity;
+    private volatile int bloomInsertions;
+
+    public MissingPropertyCache(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Dựng lại Bloom filter từ danh sách ID trong DB (copy-on-write)
+     */
+    public synchronized void rebuild() {
+        List<Long> ids = propertyRepository.findAllIds();
+        int capacity = Math.max(bloomMinCapacity, ids.size() * 2);
+        LongBloomFilter filter = new LongBloomFilter(capacity, bloomFpp);
+        ids.forEach(filter::put);
+        bloomCapacity = capacity;
+        bloomInsertions = ids.size();
+        existingIds = filter;
+        log.info("Property ID bloom filter built: {} ids, {} bytes", ids.size(), filter.sizeInBytes());
+    }
+
+    /**
+     * true = chắc chắn không tồn tại (không cần truy vấn DB)
+     */
+    public boolean isKnownMissing(LookupType type, Object key) {
+        if (key == null) {
+            return false;
+        }
+        LongBloomFilter filter = existingIds;
+        if (type == LookupType.ID && filter != null && !filter.mightContain(((Number) key).longValue())) {
+            return true;
+        }
+        String marker = markerKey(type, key);
+        Long expiresAt = markers.get(marker);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            markers.remove(marker, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ghi nhận lookup vừa trả 404 từ DB
+     */
+    public void markMissing(LookupType type, Object key) {
+        if (key == null) {
+            return;
+        }
+        if (markers.size() >= maxMarkers) {
+            long now = System.currentTimeMillis();
+            markers.values().removeIf(expiresAt -> expiresAt < now);
+            if (markers.size() >= maxMarkers) {
+                return;
+            }
+        }
+        markers.put(markerKey(type, key), System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        PropertyChangeType type = event.getType();
+        if (event.getPropertyId() == null) {
+            // Import hàng loạt: ID mới chưa có trong filter, marker 404 có thể đã sai
+            rebuild();
+            markers.clear();
+            return;
+        }
+        if (type == PropertyChangeType.PERMANENTLY_DELETED) {
+            rebuild();
+            return;
+        }
+        if (type != PropertyChangeType.CREATED && type != PropertyChangeType.UPDATED) {
+            return;
+        }
+        if (type == PropertyChangeType.CREATED && event.getPropertyId() != null) {
+            addId(event.getPropertyId());
+        }
+        // Slug / code có thể vừa được tạo hoặc đổi - bỏ các marker không còn đúng
+        markers.keySet().removeIf(key -> !key.startsWith(LookupType.ID.name()));
+    }
+
+    private synchronized void addId(Long id) {
+        markers.remove(markerKey(LookupType.ID, id));
+        LongBloomFilter filter = existingIds;
+        if (filter == null) {
+            return;
+        }
+        filter.put(id);
+        if (++bloomInsertions > bloomCapacity) {
+            rebuild(); // Vượt dung lượng -> tỉ lệ dương tính giả tăng, dựng filter lớn hơn
+        }
+    }
+
+    private static String markerKey(LookupType type, Object key) {
+        return type.name() + ':' + key;
+    }
+}
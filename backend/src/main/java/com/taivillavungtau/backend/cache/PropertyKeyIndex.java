@@ -0,0 +1,149 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.taivillavungtau.backend.cache.MissingPropertyCache.LookupType;
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.entity.PropertySlugRedirect;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.repository.PropertySlugRedirectRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index slug / code -> ID cho lookup theo URL SEO (/properties/slug/{slug}).
+ *
+ * - Đọc: cache "property_keys" (1 lệnh GET Redis) -> miss thì truy vấn chỉ cột
+ *   ID (index slug / UNIQUE code) -> miss tiếp thì tra bảng slug cũ
+ * - Slug cũ (đổi tên / đổi mã trong updateProperty) lưu ở property_slug_redirects,
+ *   link cũ vẫn ra đúng căn; PropertyDTO trả về mang slug hiện tại để frontend redirect
+ * - Không cache kết quả "không tồn tại" - đã có MissingPropertyCache
+ *
+ * Chi tiết căn vẫn lấy qua getPropertyById (cache "properties"), index chỉ giữ ID.
+ * Không có CacheManager (test, cache.type=none) hoặc Redis lỗi thì đọc thẳng DB.
+ */
+@Component
+@Slf4j
+public class PropertyKeyIndex {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertySlugRedirectRepository slugRedirectRepository;
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public PropertyKeyIndex(PropertyRepository propertyRepository,
+            PropertySlugRedirectRepository slugRedirectRepository, ObjectProvider<CacheManager> cacheManager) {
+        this.propertyRepository = propertyRepository;
+        this.slugRedirectRepository = slugRedirectRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * ID của căn có slug (hiện tại hoặc cũ) / code này, null nếu không có
+     */
+    public Long findId(LookupType type, String key) {
+        if (type == LookupType.ID || key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Lookup theo SLUG hoặc CODE, key không được rỗng");
+        }
+        Cache cache = cache();
+        String cacheKey = cacheKey(type, key);
+        Long cached = get(cache, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<Long> id = type == LookupType.CODE
+                ? propertyRepository.findIdByCode(key)
+                : propertyRepository.findIdBySlug(key).or(() -> slugRedirectRepository.findPropertyIdBySlug(key));
+        id.ifPresent(found -> put(cache, cacheKey, found));
+        return id.orElse(null);
+    }
+
+    /**
+     * Gọi trong transaction của createProperty (old* = null) / updateProperty khi slug / code
+     * thay đổi: lưu slug cũ làm redirect và bỏ các key không còn đúng khỏi cache (slug / code
+     * mới có thể đang trỏ tới căn khác, VD slug cũ đã thành redirect của căn đổi mã)
+     */
+    public void onKeysChanged(Long id, String oldSlug, String newSlug, String oldCode, String newCode) {
+        Cache cache = cache();
+        if (oldSlug != null && !oldSlug.equals(newSlug)) {
+            // Đổi tên rồi đổi lại: slug cũ có thể đang là redirect của chính căn này (ghi đè)
+            slugRedirectRepository.save(PropertySlugRedirect.builder().slug(oldSlug).propertyId(id).build());
+            put(cache, cacheKey(LookupType.SLUG, oldSlug), id);
+        }
+        if (newSlug != null && !newSlug.equals(oldSlug)) {
+            evict(cache, cacheKey(LookupType.SLUG, newSlug));
+        }
+        if (oldCode != null && !Objects.equals(oldCode, newCode)) {
+            evict(cache, cacheKey(LookupType.CODE, oldCode));
+        }
+        if (newCode != null && !newCode.equals(oldCode)) {
+            evict(cache, cacheKey(LookupType.CODE, newCode));
+        }
+    }
+
+    /**
+     * Gọi trước khi xóa vĩnh viễn: bỏ slug, code và mọi slug cũ của căn
+     */
+    public void forget(Long id, String slug, String code) {
+        List<String> keys = new ArrayList<>();
+        keys.add(cacheKey(LookupType.SLUG, slug));
+        keys.add(cacheKey(LookupType.CODE, code));
+        slugRedirectRepository.findSlugsByPropertyId(id)
+                .forEach(oldSlug -> keys.add(cacheKey(LookupType.SLUG, oldSlug)));
+        slugRedirectRepository.deleteByPropertyId(id);
+
+        Cache cache = cache();
+        keys.forEach(key -> evict(cache, key));
+    }
+
+    private Cache cache() {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager != null ? manager.getCache(CacheNames.PROPERTY_KEYS) : null;
+    }
+
+    private static Long get(Cache cache, String key) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, Long.class);
+        } catch (RuntimeException e) {
+            log.warn("Property key index read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void put(Cache cache, String key, Long id) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, id);
+        } catch (RuntimeException e) {
+            log.warn("Property key index write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static void evict(Cache cache, String key) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Property key index evict failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String cacheKey(LookupType type, String key) {
+        return type.name() + ':' + key;
+    }
+}
@@ -0,0 +1,148 @@
+package com.taivillavungtau.backend.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thao tác theo lô trên các cache của RedisCacheManager (Spring Cache không có
+ * multi-get): 1 round-trip cho nhiều key thay vì 1 GET/SET mỗi key.
+ *
+ * Dùng đúng key prefix, serializer và TTL của cấu hình cache tương ứng nên entry
+ * ghi ở đây đọc được bằng @Cacheable và ngược lại.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class RedisBatchCache {
+
+    private final RedisCacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisBatchCache(RedisCacheManager cacheManager, RedisConnectionFactory connectionFactory) {
+        this.cacheManager = cacheManager;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * MGET - chỉ trả về các key có trong cache (đúng kiểu type)
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, List<K> keys, Class<V> type) {
+        Map<K, V> found = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        RedisCacheConfiguration config = configFor(cacheName);
+        byte[][] redisKeys = keys.stream().map(key -> redisKey(config, cacheName, key)).toArray(byte[][]::new);
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < keys.size() && i < values.size(); i++) {
+            byte[] bytes = values.get(i);
+            if (bytes == null) {
+                continue;
+            }
+            Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+            if (type.isInstance(value)) {
+                found.put(keys.get(i), type.cast(value));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Ghi nhiều entry trong 1 pipeline, TTL theo cấu hình cache
+     */
+    public void putAll(String cacheName, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = configFor(cacheName);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                Expiration expiration = (ttl == null || ttl.isZero() || ttl.isNegative())
+                        ? Expiration.persistent()
+                        : Expiration.from(ttl);
+                connection.stringCommands().set(redisKey(config, cacheName, key),
+                        ByteUtils.getBytes(config.getValueSerializationPair().write(value)),
+                        expiration, RedisStringCommands.SetOption.upsert());
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * Các key đã tồn tại trong cache (EXISTS pipeline)
+     */
+    public <K> Set<K> existingKeys(String cacheName, Collection<K> keys) {
+        Set<K> existing = new HashSet<>();
+        if (keys.isEmpty()) {
+            return existing;
+        }
+        RedisCacheConfiguration config = configFor(cacheName);
+        List<K> keyList = new ArrayList<>(keys);
+        List<Object> exists;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (K key : keyList) {
+                connection.keyCommands().exists(redisKey(config, cacheName, key));
+            }
+            exists = connection.closePipeline();
+        }
+        for (int i = 0; i < keyList.size() && i < exists.size(); i++) {
+            if (Boolean.TRUE.equals(exists.get(i))) {
+                existing.add(keyList.get(i));
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Xóa nhiều key bằng 1 lệnh DEL
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = configFor(cacheName);
+        byte[][] redisKeys = keys.stream().map(key -> redisKey(config, cacheName, key)).toArray(byte[][]::new);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.keyCommands().del(redisKeys);
+        }
+    }
+
+    private RedisCacheConfiguration configFor(String cacheName) {
+        return ((RedisCache) cacheManager.getCache(cacheName)).getCacheConfiguration();
+    }
+
+    // Giống RedisCache: prefix + String.valueOf(key) (key dạng Long/String)
+    private byte[] redisKey(RedisCacheConfiguration config, String cacheName, Object key) {
+        String fullKey = config.usePrefix()
+                ? config.getKeyPrefixFor(cacheName) + key
+                : String.valueOf(key);
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(fullKey));
+    }
+}
@@ -0,0 +1,73 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.dto.LocationDTO;
+import com.taivillavungtau.backend.dto.PropertyTypeDTO;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Location;
+import com.taivillavungtau.backend.entity.PropertyType;
+
+/**
+ * Ảnh chụp bất biến của dữ liệu danh mục (amenity, label, location, property type).
+ *
+ * Danh sách DTO và map ID -> entity đều là bản copy không sửa được; khi danh mục
+ * thay đổi, ReferenceDataStore dựng snapshot mới và thay thế nguyên khối.
+ * Entity trong map ở trạng thái detached - chỉ dùng để gán quan hệ khi ghi
+ * Property (không cascade), không được sửa.
+ */
+public record ReferenceDataSnapshot(
+        String version,
+        List<AmenityDTO> amenities,
+        List<LabelDTO> labels,
+        List<LocationDTO> locations,
+        List<PropertyTypeDTO> propertyTypes,
+        Map<Long, Amenity> amenitiesById,
+        Map<Long, Label> labelsById,
+        Map<Long, Location> locationsById,
+        Map<Long, PropertyType> propertyTypesById) {
+
+    public ReferenceDataSnapshot {
+        amenities = List.copyOf(amenities);
+        labels = List.copyOf(labels);
+        locations = List.copyOf(locations);
+        propertyTypes = List.copyOf(propertyTypes);
+        amenitiesById = Map.copyOf(amenitiesById);
+        labelsById = Map.copyOf(labelsById);
+        locationsById = Map.copyOf(locationsById);
+        propertyTypesById = Map.copyOf(propertyTypesById);
+    }
+
+    public String eTag() {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Các amenity theo ID, null nếu có ID không có trong snapshot (cần hỏi DB)
+     */
+    public List<Amenity> amenitiesOrNull(Collection<Long> ids) {
+        return allOrNull(amenitiesById, ids);
+    }
+
+    public List<Label> labelsOrNull(Collection<Long> ids) {
+        return allOrNull(labelsById, ids);
+    }
+
+    private static <T> List<T> allOrNull(Map<Long, T> byId, Collection<Long> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = id != null ? byId.get(id) : null;
+            if (entity == null) {
+                return null;
+            }
+            found.add(entity);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,154 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Location;
+import com.taivillavungtau.backend.entity.PropertyType;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
+import com.taivillavungtau.backend.mapper.AmenityMapper;
+import com.taivillavungtau.backend.mapper.LabelMapper;
+import com.taivillavungtau.backend.mapper.LocationMapper;
+import com.taivillavungtau.backend.mapper.PropertyTypeMapper;
+import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.LabelRepository;
+import com.taivillavungtau.backend.repository.LocationRepository;
+import com.taivillavungtau.backend.repository.PropertyTypeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ ReferenceDataSnapshot hiện tại (copy-on-write).
+ *
+ * - Đọc: current() trả về tham chiếu volatile - không lock, không DB
+ * - Ghi: nạp lại cả 4 bảng thành snapshot mới rồi thay thế 1 lần (reader không
+ *   bao giờ thấy dữ liệu nửa cũ nửa mới), sau khi commit ReferenceDataChangedEvent
+ * - Lần đọc đầu tiên nạp snapshot nếu chưa có
+ * Ghi danh mục ngoài các service (SQL trực tiếp, import...) phải gọi reload().
+ *
+ * Version = epoch (ngẫu nhiên mỗi lần khởi động) + số lần nạp, dùng làm ETag.
+ */
+@Component
+@Slf4j
+public class ReferenceDataStore {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AmenityRepository amenityRepository;
+    private final LabelRepository labelRepository;
+    private final LocationRepository locationRepository;
+    private final PropertyTypeRepository propertyTypeRepository;
+    private final AmenityMapper amenityMapper;
+    private final LabelMapper labelMapper;
+    private final LocationMapper locationMapper;
+    private final PropertyTypeMapper propertyTypeMapper;
+
+    private volatile ReferenceDataSnapshot current;
+
+    public ReferenceDataStore(AmenityRepository amenityRepository, LabelRepository labelRepository,
+            LocationRepository locationRepository, PropertyTypeRepository propertyTypeRepository,
+            AmenityMapper amenityMapper, LabelMapper labelMapper, LocationMapper locationMapper,
+            PropertyTypeMapper propertyTypeMapper) {
+        this.amenityRepository = amenityRepository;
+        this.labelRepository = labelRepository;
+        this.locationRepository = locationRepository;
+        this.propertyTypeRepository = propertyTypeRepository;
+        this.amenityMapper = amenityMapper;
+        this.labelMapper = labelMapper;
+        this.locationMapper = locationMapper;
+        this.propertyTypeMapper = propertyTypeMapper;
+    }
+
+    public ReferenceDataSnapshot current() {
+        ReferenceDataSnapshot snapshot = current;
+        return snapshot != null ? snapshot : loadIfMissing();
+    }
+
+    /**
+     * Số lần nạp lại (tăng mỗi khi danh mục thay đổi)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    // Nhiều request cùng thấy chưa có snapshot -> chỉ 1 lần nạp
+    private synchronized ReferenceDataSnapshot loadIfMissing() {
+        ReferenceDataSnapshot snapshot = current;
+        return snapshot != null ? snapshot : reload();
+    }
+
+    /**
+     * Nạp lại toàn bộ danh mục thành snapshot mới
+     */
+    public synchronized ReferenceDataSnapshot reload() {
+        List<Amenity> amenities = amenityRepository.findAll();
+        List<Label> labels = labelRepository.findAll();
+        List<Location> locations = locationRepository.findAll();
+        List<PropertyType> propertyTypes = propertyTypeRepository.findAll();
+
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(
+                "r-" + epoch + "-" + generation.incrementAndGet(),
+                amenities.stream().map(amenityMapper::toDTO).toList(),
+                labels.stream().map(labelMapper::toDTO).toList(),
+                locations.stream().map(locationMapper::toDTO).toList(),
+                propertyTypes.stream().map(propertyTypeMapper::toDTO).toList(),
+                byId(amenities, Amenity::getId),
+                byId(labels, Label::getId),
+                byId(locations, Location::getId),
+                byId(propertyTypes, PropertyType::getId));
+        current = snapshot;
+        log.debug("Reference data snapshot {} loaded: {} amenities, {} labels, {} locations, {} property types",
+                snapshot.version(), amenities.size(), labels.size(), locations.size(), propertyTypes.size());
+        return snapshot;
+    }
+
+    // Tra danh mục để gán quan hệ khi ghi Property (entity detached từ snapshot).
+    // ID chưa có trong snapshot (vừa thêm, chưa reload) thì hỏi DB như cũ.
+
+    public Optional<Location> findLocation(Long id) {
+        Location cached = current().locationsById().get(id);
+        return cached != null ? Optional.of(cached) : locationRepository.findById(id);
+    }
+
+    public Optional<PropertyType> findPropertyType(Long id) {
+        PropertyType cached = current().propertyTypesById().get(id);
+        return cached != null ? Optional.of(cached) : propertyTypeRepository.findById(id);
+    }
+
+    public List<Amenity> findAmenities(List<Long> ids) {
+        List<Amenity> cached = current().amenitiesOrNull(ids);
+        return cached != null ? cached : amenityRepository.findAllById(ids);
+    }
+
+    public List<Label> findLabels(List<Long> ids) {
+        List<Label> cached = current().labelsOrNull(ids);
+        return cached != null ? cached : labelRepository.findAllById(ids);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Không làm hỏng request ghi đã commit - bỏ snapshot cũ, lần đọc sau sẽ nạp lại
+            log.warn("Reference data reload after {} change failed: {}", event.getDataType(), e.getMessage());
+            current = null;
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+
+/**
+ * Flyweight cho AmenityDTO / LabelDTO bên trong PropertyDTO.
+ *
+ * - Mỗi amenity/label chỉ có 1 instance DTO cho mỗi version của
+ *   ReferenceDataSnapshot (chính là DTO trong snapshot) - trang size=500 với
+ *   ~10 amenity/căn không còn tạo hàng nghìn object giống hệt nhau
+ * - Instance dùng chung giữa các request và cache: KHÔNG được sửa
+ * - Kèm JSON đã serialize sẵn của từng instance (InternedReferenceJsonModule
+ *   ghi thẳng, không chạy lại BeanSerializer)
+ * Snapshot đổi version -> registry dựng lại ở lần đọc sau, fragment cũ bỏ theo.
+ */
+@Component
+public class ReferenceDtoRegistry {
+
+    private final ReferenceDataStore referenceDataStore;
+
+    private volatile Registry registry;
+
+    public ReferenceDtoRegistry(ReferenceDataStore referenceDataStore) {
+        this.referenceDataStore = referenceDataStore;
+    }
+
+    /**
+     * DTO dùng chung của amenity, null nếu chưa có trong snapshot hoặc snapshot
+     * đã cũ so với entity (đổi tên chưa kịp nạp lại) -> caller tự map
+     */
+    public AmenityDTO amenity(Amenity amenity) {
+        AmenityDTO interned = get(current().amenities, amenity.getId());
+        return interned != null
+                && Objects.equals(interned.getName(), amenity.getName())
+                && Objects.equals(interned.getIconCode(), amenity.getIconCode()) ? interned : null;
+    }
+
+    public LabelDTO label(Label label) {
+        LabelDTO interned = get(current().labels, label.getId());
+        return interned != null
+                && Objects.equals(interned.getName(), label.getName())
+                && Objects.equals(interned.getColor(), label.getColor())
+                && Objects.equals(interned.getIconCode(), label.getIconCode()) ? interned : null;
+    }
+
+    /**
+     * Instance dùng chung bằng với value (chính nó, hoặc bản sao đọc từ Redis),
+     * null nếu không có
+     */
+    public Object internedOrNull(Object value) {
+        Registry current = current();
+        Object interned = null;
+        if (value instanceof AmenityDTO amenity) {
+            interned = get(current.amenities, amenity.getId());
+        } else if (value instanceof LabelDTO label) {
+            interned = get(current.labels, label.getId());
+        }
+        return interned != null && (interned == value || interned.equals(value)) ? interned : null;
+    }
+
+    /**
+     * JSON của instance dùng chung, serialize 1 lần cho mỗi version
+     */
+    public String fragment(Object interned, Function<Object, String> serializer) {
+        return current().fragments.computeIfAbsent(interned, serializer);
+    }
+
+    private Registry current() {
+        ReferenceDataSnapshot snapshot = referenceDataStore.current();
+        Registry current = registry;
+        if (current == null || current.snapshot != snapshot) {
+            // Dựng trùng khi 2 luồng cùng thấy version mới - vô hại
+            current = new Registry(snapshot);
+            registry = current;
+        }
+        return current;
+    }
+
+    // Map bất biến không nhận key null
+    private static <T> T get(Map<Long, T> byId, Long id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    private static final class Registry {
+        private final ReferenceDataSnapshot snapshot;
+        private final Map<Long, AmenityDTO> amenities;
+        private final Map<Long, LabelDTO> labels;
+        // Key là DTO (equals theo giá trị) - giá trị bằng nhau thì JSON giống nhau
+        private final Map<Object, String> fragments = new ConcurrentHashMap<>();
+
+        private Registry(ReferenceDataSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.amenities = snapshot.amenities().stream()
+                    .collect(Collectors.toUnmodifiableMap(AmenityDTO::getId, Function.identity()));
+            this.labels = snapshot.labels().stream()
+                    .collect(Collectors.toUnmodifiableMap(LabelDTO::getId, Function.identity()));
+        }
+    }
+}
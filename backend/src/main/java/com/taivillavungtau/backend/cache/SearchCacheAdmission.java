@@ -0,0 +1,144 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Chính sách nhận vào cache property_search theo tần suất (kiểu TinyLFU).
+ *
+ * Count-min sketch đếm số lần mỗi truy vấn (dạng chuẩn hóa) bị miss; kết quả chỉ
+ * được ghi vào Redis khi truy vấn đã xuất hiện nhiều hơn min-frequency lần trong
+ * cửa sổ gần đây. Sau mỗi sample-size lượt đếm, mọi bộ đếm chia đôi để truy vấn
+ * cũ nguội dần.
+ *
+ * Dùng trong @Cacheable(unless = "!@searchCacheAdmission.admit(#request)"):
+ * chỉ được gọi khi miss, cache hit không tốn chi phí.
+ */
+@Component("searchCacheAdmission")
+public class SearchCacheAdmission {
+
+    private static final int DEPTH = 4;
+
+    @Value("${cache.admission.enabled:true}")
+    private boolean enabled;
+
+    // Truy vấn phải xuất hiện NHIỀU HƠN số lần này mới được cache
+    @Value("${cache.admission.min-frequency:1}")
+    private int minFrequency;
+
+    private final AtomicIntegerArray counters;
+    private final int width;
+    private final int sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public SearchCacheAdmission(MeterRegistry meterRegistry,
+            @Value("${cache.admission.sketch-width:4096}") int sketchWidth) {
+        // Làm tròn lên lũy thừa của 2 để lấy chỉ số bằng phép AND
+        this.width = Integer.highestOneBit(Math.max(sketchWidth - 1, 1)) << 1;
+        this.sampleSize = width * 10;
+        this.counters = new AtomicIntegerArray(width * DEPTH);
+        this.admitted = Counter.builder("app.cache.admission").tag("cache", CacheNames.PROPERTY_SEARCH)
+                .tag("result", "admitted").description("Search results written to the cache")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("app.cache.admission").tag("cache", CacheNames.PROPERTY_SEARCH)
+                .tag("result", "rejected").description("Search results not cached (too infrequent)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ghi nhận 1 lần miss và quyết định có cache kết quả không
+     */
+    public boolean admit(PropertySearchRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        int frequency = increment(canonicalKey(request));
+        boolean admit = frequency > minFrequency;
+        (admit ? admitted : rejected).increment();
+        return admit;
+    }
+
+    /**
+     * Truy vấn đã đủ "nóng" để được cache chưa (không tăng bộ đếm). Dùng cho các tầng cache
+     * nằm ngoài @Cacheable (ResponseCacheFilter): lần miss Redis đã được admit() đếm rồi.
+     */
+    public boolean isAdmitted(PropertySearchRequest request) {
+        return !enabled || frequency(request) > minFrequency;
+    }
+
+    /**
+     * Tần suất ước lượng hiện tại (không tăng bộ đếm)
+     */
+    public int frequency(PropertySearchRequest request) {
+        long hash = hash(canonicalKey(request));
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    private int increment(String key) {
+        long hash = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(hash, row)));
+        }
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            age();
+        }
+        return min;
+    }
+
+    // Chia đôi mọi bộ đếm (TinyLFU reset)
+    private void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            int current;
+            do {
+                current = counters.get(i);
+            } while (!counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    /**
+     * Key chuẩn hóa: keyword khác hoa/thường, khoảng trắng thừa tính là 1 truy vấn
+     */
+    static String canonicalKey(PropertySearchRequest request) {
+        String key = request.toString();
+        String keyword = request.getKeyword();
+        if (keyword == null) {
+            return key;
+        }
+        String normalized = keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return key.replace("keyword='" + keyword + "'", "keyword='" + normalized + "'");
+    }
+
+    private static long hash(String key) {
+        long h = key.hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
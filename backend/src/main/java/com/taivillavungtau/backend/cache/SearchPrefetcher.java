@@ -0,0 +1,319 @@
+package com.taivillavungtau.backend.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.service.PropertyService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prefetch trang kế tiếp (page + 1) của GET /api/v1/properties vào cache
+ * property_search ngay sau khi trả trang hiện tại.
+ *
+ * - Chạy trên executor riêng (ít luồng, độ ưu tiên thấp, hàng đợi giới hạn):
+ *   hàng đợi đầy thì bỏ qua, không bao giờ chặn request chính
+ * - Trang kế tiếp đã có trong Redis hoặc đang được prefetch thì bỏ qua
+ * - Theo dõi tỉ lệ prefetch được dùng theo "dạng" request (bộ lọc + size + sort):
+ *   dạng nào ít khi được dùng sẽ tự tắt, chỉ thỉnh thoảng thử lại (probe)
+ *
+ * Chỉ prefetch khi trang hiện tại đã qua SearchCacheAdmission (isAdmitted, không đếm thêm):
+ * keyword / bộ lọc hiếm không kéo trang kế tiếp vào cache. Ghi thẳng vào Redis qua RedisBatchCache.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class SearchPrefetcher {
+
+    private static final int MAX_SHAPES = 500;
+
+    @Value("${cache.prefetch.enabled:true}")
+    private boolean enabled;
+
+    // Chỉ prefetch khi trang hiện tại < max-page (người dùng hiếm khi lật sâu)
+    @Value("${cache.prefetch.max-page:10}")
+    private int maxPage;
+
+    // Prefetch không được dùng trong khoảng này thì tính là lãng phí
+    @Value("${cache.prefetch.usage-window-seconds:120}")
+    private long usageWindowSeconds;
+
+    @Value("${cache.prefetch.max-pending:2000}")
+    private int maxPending;
+
+    // Số prefetch tối thiểu của 1 dạng trước khi đánh giá tỉ lệ dùng
+    @Value("${cache.prefetch.min-samples:20}")
+    private int minSamples;
+
+    @Value("${cache.prefetch.min-hit-ratio:0.2}")
+    private double minHitRatio;
+
+    // Dạng bị tắt vẫn prefetch 1 trên N lần để tỉ lệ có thể hồi phục
+    @Value("${cache.prefetch.probe-every:25}")
+    private int probeEvery;
+
+    private final PropertyService propertyService;
+    private final RedisBatchCache batchCache;
+    private final SearchCacheAdmission searchCacheAdmission;
+    private final ThreadPoolExecutor executor;
+
+    // Key cache của các trang đã prefetch, chờ được dùng
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    // Tăng mỗi khi catalog thay đổi - prefetch đang chạy sẽ không ghi kết quả cũ
+    private final AtomicLong catalogGeneration = new AtomicLong();
+
+    private final Counter prefetched;
+    private final Counter used;
+    private final Counter wasted;
+    private final Counter dropped;
+    private final Counter skipped;
+
+    public SearchPrefetcher(PropertyService propertyService, RedisBatchCache batchCache,
+            SearchCacheAdmission searchCacheAdmission, MeterRegistry meterRegistry,
+            @Value("${cache.prefetch.threads:1}") int threads,
+            @Value("${cache.prefetch.queue-capacity:20}") int queueCapacity) {
+        this.propertyService = propertyService;
+        this.batchCache = batchCache;
+        this.searchCacheAdmission = searchCacheAdmission;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), lowPriorityThreads("search-prefetch"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.prefetched = counter(meterRegistry, "prefetched");
+        this.used = counter(meterRegistry, "used");
+        this.wasted = counter(meterRegistry, "wasted");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.skipped = counter(meterRegistry, "skipped");
+    }
+
+    /**
+     * Gọi sau khi trả 1 trang kết quả: ghi nhận prefetch được dùng (nếu có) và
+     * lên lịch prefetch trang kế tiếp
+     */
+    public void onPageServed(PropertySearchRequest request, PageResponse<PropertyDTO> page) {
+        if (!enabled) {
+            return;
+        }
+        recordUsage(request.toString());
+
+        if (page == null || page.isLast() || isAdminRequest(request)
+                || request.getPage() == null || request.getPage() >= maxPage) {
+            return;
+        }
+        if (!searchCacheAdmission.isAdmitted(request)) {
+            skipped.increment(); // Trang hiện tại còn chưa được cache -> trang sau càng không
+            return;
+        }
+        String shape = shapeOf(request);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                skipped.increment(); // Quá nhiều dạng lạ - không theo dõi thêm
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        if (!stats.shouldPrefetch(minSamples, minHitRatio, probeEvery)) {
+            skipped.increment();
+            return;
+        }
+
+        PropertySearchRequest next = nextPage(request);
+        String key = next.toString();
+        if (pending.containsKey(key) || !inFlight.add(key)) {
+            return;
+        }
+        long generation = catalogGeneration.get();
+        ShapeStats shapeStats = stats;
+        try {
+            executor.execute(() -> prefetch(key, next, shapeStats, generation));
+        } catch (RuntimeException e) {
+            // Hàng đợi đầy (hoặc đang shutdown) - bỏ qua, request chính không bị ảnh hưởng
+            inFlight.remove(key);
+            dropped.increment();
+        }
+    }
+
+    // Sau khi commit: property_search đã bị xóa -> các trang prefetch không còn trong cache
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!event.getType().evictsSearch()) {
+            return;
+        }
+        catalogGeneration.incrementAndGet();
+        pending.clear(); // Không tính là lãng phí - bị xóa do catalog đổi
+    }
+
+    /**
+     * Tỉ lệ prefetch được dùng theo dạng request (cho log / debug)
+     */
+    public Map<String, Double> hitRatios() {
+        Map<String, Double> ratios = new ConcurrentHashMap<>();
+        shapes.forEach((shape, stats) -> ratios.put(shape, stats.hitRatio()));
+        return ratios;
+    }
+
+    private void prefetch(String key, PropertySearchRequest request, ShapeStats stats, long generation) {
+        try {
+            if (!batchCache.existingKeys(CacheNames.PROPERTY_SEARCH, List.of(key)).isEmpty()) {
+                return; // Đã có trong cache (warm-up / người dùng khác)
+            }
+            PageResponse<PropertyDTO> page = propertyService.loadSearchPage(request);
+            if (generation != catalogGeneration.get()) {
+                return;
+            }
+            batchCache.putAll(CacheNames.PROPERTY_SEARCH, Map.of(key, page));
+            expirePending();
+            if (pending.size() < maxPending) {
+                pending.put(key, new Pending(stats, System.currentTimeMillis() + usageWindowSeconds * 1000));
+            }
+            stats.recordPrefetch(minSamples * 5L);
+            prefetched.increment();
+        } catch (Exception e) {
+            log.debug("Search prefetch failed for {}: {}", key, e.getMessage());
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private void recordUsage(String key) {
+        Pending entry = pending.remove(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            wasted.increment();
+            return;
+        }
+        entry.stats.used.increment();
+        used.increment();
+    }
+
+    private void expirePending() {
+        long now = System.currentTimeMillis();
+        pending.values().removeIf(entry -> {
+            if (entry.expiresAt < now) {
+                wasted.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static PropertySearchRequest nextPage(PropertySearchRequest request) {
+        PropertySearchRequest next = new PropertySearchRequest();
+        BeanUtils.copyProperties(request, next);
+        next.setPage(request.getPage() + 1);
+        return next;
+    }
+
+    private static boolean isAdminRequest(PropertySearchRequest request) {
+        return request.getStatusList() != null && request.getStatusList().contains("DELETED");
+    }
+
+    /**
+     * Dạng request: các bộ lọc đang dùng (không kèm giá trị) + size + sort.
+     * VD: "keyword,locationId|size=12|sort=price_asc"
+     */
+    static String shapeOf(PropertySearchRequest request) {
+        List<String> filters = new ArrayList<>();
+        addIfSet(filters, "keyword", request.getKeyword());
+        addIfSet(filters, "price", request.getMinPrice() != null ? request.getMinPrice() : request.getMaxPrice());
+        addIfSet(filters, "rooms", request.getMinBedroom() != null ? request.getMinBedroom()
+                : request.getMinBathroom() != null ? request.getMinBathroom() : request.getMinBedCount());
+        addIfSet(filters, "guests", request.getMinGuests() != null ? request.getMinGuests() : request.getMaxGuests());
+        addIfSet(filters, "location", request.getLocationId() != null ? request.getLocationId() : request.getLocation());
+        addIfSet(filters, "propertyTypeId", request.getPropertyTypeId());
+        addIfSet(filters, "isFeatured", request.getIsFeatured());
+        addIfSet(filters, "amenityIds", request.getAmenityIds());
+        addIfSet(filters, "labelIds", request.getLabelIds());
+        addIfSet(filters, "statusList", request.getStatusList());
+        return String.join(",", filters) + "|size=" + request.getSize() + "|sort=" + request.getSort();
+    }
+
+    private static void addIfSet(List<String> filters, String name, Object value) {
+        if (value != null && !(value instanceof String s && s.isBlank())
+                && !(value instanceof List<?> list && list.isEmpty())) {
+            filters.add(name);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.cache.prefetch").tag("cache", CacheNames.PROPERTY_SEARCH)
+                .tag("result", result).register(meterRegistry);
+    }
+
+    private static ThreadFactory lowPriorityThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Pending(ShapeStats stats, long expiresAt) {
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder prefetched = new LongAdder();
+        private final LongAdder used = new LongAdder();
+        private final AtomicLong skippedSinceProbe = new AtomicLong();
+
+        boolean shouldPrefetch(int minSamples, double minHitRatio, int probeEvery) {
+            if (prefetched.sum() < minSamples || hitRatio() >= minHitRatio) {
+                return true;
+            }
+            // Dạng bị tắt: thỉnh thoảng prefetch để đo lại
+            return skippedSinceProbe.incrementAndGet() % Math.max(probeEvery, 1) == 0;
+        }
+
+        // Chia đôi khi đủ mẫu - tỉ lệ phản ánh hành vi gần đây (gần đúng, không cần khóa)
+        void recordPrefetch(long decayAt) {
+            prefetched.increment();
+            if (prefetched.sum() >= decayAt) {
+                long total = prefetched.sumThenReset();
+                long hits = used.sumThenReset();
+                prefetched.add(total / 2);
+                used.add(hits / 2);
+            }
+        }
+
+        double hitRatio() {
+            long total = prefetched.sum();
+            return total == 0 ? 0 : (double) used.sum() / total;
+        }
+    }
+}
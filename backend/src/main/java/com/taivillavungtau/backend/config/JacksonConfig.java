@@ -0,0 +1,70 @@
+package com.taivillavungtau.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taivillavungtau.backend.cache.InternedReferenceJsonModule;
+import com.taivillavungtau.backend.cache.ReferenceDtoRegistry;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+
+/**
+ * Cấu hình ObjectMapper dùng cho HTTP response.
+ *
+ * PropertyDTO gắn filter "propertyFields" qua mixin (DTO không phụ thuộc Jackson
+ * filter). Filter mặc định ghi tất cả trường - response nào không có ?fields=
+ * vẫn giữ nguyên; PropertyFieldsResponseAdvice thay filter khi có ?fields=.
+ * ObjectMapper của Redis (RedisConfig) tạo riêng, không bị ảnh hưởng.
+ *
+ * Ngoài JSON, API trả CBOR (Accept: application/cbor) và Smile
+ * (Accept: application/x-jackson-smile) cho client server-side cần giảm CPU
+ * encode/decode. Cùng model Jackson với JSON (cùng schema OpenAPI), chỉ khác
+ * cách mã hóa. Các converter này thay converter mặc định cùng loại của Spring
+ * (giữ nguyên thứ tự: client không chỉ định Accept vẫn nhận JSON).
+ *
+ * AmenityDTO / LabelDTO dùng chung (flyweight) được ghi bằng JSON serialize sẵn
+ * (InternedReferenceJsonModule).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer propertyFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(PropertyDTO.class, PropertyFieldsMixin.class)
+                .filters(new SimpleFilterProvider()
+                        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    // Builder của Spring Boot (prototype) đã áp dụng customizer ở trên + spring.jackson.*
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // Spring Boot tự đăng ký mọi bean Module vào ObjectMapper của HTTP (JSON, CBOR, Smile)
+    @Bean
+    public Module internedReferenceJsonModule(ObjectProvider<ReferenceDtoRegistry> referenceDtoRegistry) {
+        return new InternedReferenceJsonModule(referenceDtoRegistry);
+    }
+
+    @JsonFilter(PropertyFieldSet.FILTER_ID)
+    interface PropertyFieldsMixin {
+    }
+}
@@ -1,22 +1,36 @@
 package com.taivillavungtau.backend.config;
 
 import java.time.Duration;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.taivillavungtau.backend.cache.CacheValueFormat;
+import com.taivillavungtau.backend.cache.CompactRedisSerializer;
+import com.taivillavungtau.backend.cache.InstrumentedCacheManager;
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.PageResponse;
 
 @Configuration
 @EnableCaching
@@ -24,18 +38,31 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
 public class RedisConfig {
 
+    // Định dạng value cho cache properties / property_search (JSON | SMILE)
+    @Value("${cache.serializer.format:SMILE}")
+    private CacheValueFormat valueFormat;
+
+    // Value lớn hơn ngưỡng này (bytes) sẽ được nén LZ4
+    @Value("${cache.serializer.compress-threshold-bytes:4096}")
+    private int compressThresholdBytes;
+
+    // Lấy mẫu 1/N lần hit để thống kê key nóng (InstrumentedCache)
+    @Value("${cache.stats.key-sample-rate:16}")
+    private int keySampleRate;
+
+    /**
+     * CacheManager dùng cho @Cacheable/@CacheEvict: bọc RedisCacheManager để đo
+     * hit/miss, thời gian load, eviction và key nóng theo từng cache.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        // Cấu hình ObjectMapper cho Redis
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.activateDefaultTyping(
-                objectMapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY);
+    @Primary
+    public InstrumentedCacheManager cacheManager(RedisCacheManager redisCacheManager, MeterRegistry meterRegistry) {
+        return new InstrumentedCacheManager(redisCacheManager, meterRegistry, keySampleRate);
+    }
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+        GenericJackson2JsonRedisSerializer serializer = legacyJsonSerializer();
 
         // Cấu hình: Key là String, Value là JSON
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
@@ -44,9 +71,55 @@ public class RedisConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
-                .build();
+                // Thống kê hit/miss/put/delete phía Redis (actuator metrics + /actuator/cachestats)
+                .enableStatistics()
+                .initialCacheNames(Set.of(CacheNames.PROPERTIES, CacheNames.PROPERTY_SEARCH,
+                        CacheNames.PROPERTY_KEYS));
+
+        // Slug / code -> ID: value chỉ là 1 số, ít đổi (đổi tên / mã thì evict ngay) -> TTL dài hơn
+        builder.withCacheConfiguration(CacheNames.PROPERTY_KEYS, config
+                .entryTtl(Duration.ofHours(6))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new Jackson2JsonRedisSerializer<>(Long.class))));
+
+        // Cache nóng nhất dùng định dạng nhị phân gọn (không "@class" cho từng object).
+        // Luôn đọc qua CompactRedisSerializer: format=JSON chỉ đổi định dạng ghi, entry Smile
+        // còn trong Redis (sau khi rollback) vẫn đọc được thay vì lỗi tới khi hết TTL
+        TypeFactory types = TypeFactory.defaultInstance();
+        JavaType propertyType = types.constructType(PropertyDTO.class);
+        JavaType searchPageType = types.constructParametricType(PageResponse.class, PropertyDTO.class);
+
+        builder.withCacheConfiguration(CacheNames.PROPERTIES,
+                config.serializeValuesWith(compactPair(propertyType, serializer)));
+        builder.withCacheConfiguration(CacheNames.PROPERTY_SEARCH,
+                config.serializeValuesWith(compactPair(searchPageType, serializer)));
+
+        return builder.build();
+    }
+
+    /**
+     * Serializer JSON cũ (kèm default typing). Vẫn dùng cho các cache khác và để đọc
+     * các entry đã ghi trước khi đổi sang định dạng nhị phân.
+     */
+    public static GenericJackson2JsonRedisSerializer legacyJsonSerializer() {
+        // Cấu hình ObjectMapper cho Redis
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    private RedisSerializationContext.SerializationPair<Object> compactPair(JavaType type,
+            RedisSerializer<Object> legacy) {
+        return RedisSerializationContext.SerializationPair.fromSerializer(
+                new CompactRedisSerializer<>(type, compressThresholdBytes, legacy, valueFormat));
     }
 
 }
@@ -0,0 +1,226 @@
+package com.taivillavungtau.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Định tuyến connection: transaction @Transactional(readOnly = true) -> 1 replica khỏe
+ * (round-robin), còn lại -> primary. Phải bọc trong LazyConnectionDataSourceProxy để
+ * connection chỉ được lấy khi chạy câu lệnh đầu tiên, lúc cờ readOnly của transaction đã được gán.
+ *
+ * - Health check định kỳ: connection hợp lệ + độ trễ replication (lag-query, mặc định
+ *   SHOW REPLICA STATUS -> Seconds_Behind_Source). Replica lỗi / lag vượt max-lag-seconds
+ *   bị bỏ qua cho tới lần kiểm tra sau; không còn replica nào thì đọc primary.
+ * - Lấy connection từ replica lỗi -> đánh dấu hỏng và đọc primary, request không lỗi.
+ * - Read-your-writes: trong read-your-writes-ms sau khi 1 transaction ghi commit, mọi
+ *   transaction chỉ đọc trên instance này vẫn đọc primary (admin thấy ngay thay đổi của
+ *   mình, cache warm-up / snapshot sau event không nạp bản cũ từ replica).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final long readYourWritesMs;
+    private final int validationTimeoutSeconds;
+
+    // Replica đang nhận đọc (khỏe, lag trong ngưỡng) - thay cả list khi đổi, đọc không khóa
+    private volatile List<String> available = List.of();
+    private final Map<String, Boolean> healthy = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong primaryReadsUntil = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+            long maxLagSeconds, long readYourWritesMs, int validationTimeoutSeconds) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = List.copyOf(this.replicas.keySet());
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWritesMs = readYourWritesMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Kiểm tra ngay rồi lặp lại mỗi intervalMs
+     */
+    public void start(long intervalMs) {
+        scheduler.scheduleWithFixedDelay(this::checkReplicasQuietly, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.values().forEach(replica -> {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica pool: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (System.currentTimeMillis() < primaryReadsUntil.get()) {
+            return PRIMARY;
+        }
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            // Replica chết giữa 2 lần kiểm tra: bỏ khỏi danh sách, request này đọc primary
+            markUnhealthy((String) key, e.getMessage());
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    void markWrite() {
+        primaryReadsUntil.accumulateAndGet(System.currentTimeMillis() + readYourWritesMs, Math::max);
+    }
+
+    /**
+     * Kiểm tra tất cả replica (luồng health check; test gọi trực tiếp)
+     */
+    public void checkReplicas() {
+        for (String key : replicaKeys) {
+            String problem = check(replicas.get(key));
+            if (problem == null) {
+                markHealthy(key);
+            } else {
+                markUnhealthy(key, problem);
+            }
+        }
+    }
+
+    private void checkReplicasQuietly() {
+        try {
+            checkReplicas();
+        } catch (RuntimeException e) {
+            log.error("Replica health check failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // null: replica dùng được, ngược lại là lý do bỏ qua
+    private String check(DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                return "connection is not valid";
+            }
+            if (!StringUtils.hasText(lagQuery)) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return "lag query returned no row (replication not configured?)";
+                }
+                long lag = rs.getLong(lagColumn(rs.getMetaData()));
+                if (rs.wasNull()) {
+                    return "replication is not running";
+                }
+                return lag > maxLagSeconds ? "lag " + lag + "s > " + maxLagSeconds + "s" : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    // SHOW REPLICA STATUS (MySQL 8.0.22+) / SHOW SLAVE STATUS, hoặc cột đầu tiên của câu truy vấn tự viết
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String name = metaData.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(name) || "Seconds_Behind_Master".equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    private synchronized void markHealthy(String key) {
+        if (!Boolean.TRUE.equals(healthy.put(key, true))) {
+            log.info("Replica {} is available for reads", key);
+            refreshAvailable();
+        }
+    }
+
+    private synchronized void markUnhealthy(String key, String reason) {
+        if (!Boolean.FALSE.equals(healthy.put(key, false))) {
+            log.warn("Replica {} removed from reads: {}", key, reason);
+            refreshAvailable();
+        }
+    }
+
+    private void refreshAvailable() {
+        List<String> next = new ArrayList<>();
+        replicaKeys.stream().filter(key -> Boolean.TRUE.equals(healthy.get(key))).forEach(next::add);
+        available = List.copyOf(next);
+    }
+
+    List<String> availableReplicas() {
+        return available;
+    }
+}
@@ -2,6 +2,8 @@ package com.taivillavungtau.backend.config;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -54,6 +56,9 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .authorizeHttpRequests(auth -> auth
+                        // Dispatch ASYNC của SSE / response bất đồng bộ: request gốc đã được xác thực
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // === PUBLIC ENDPOINTS (Không cần đăng nhập) ===
 
                         // Auth endpoints
@@ -64,6 +69,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/amenities/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/locations/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/property-types/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/bootstrap").permitAll()
 
                         // Customer Request - Public submit only
                         .requestMatchers(HttpMethod.POST, "/api/v1/requests").permitAll()
@@ -78,6 +84,7 @@ public class SecurityConfig {
 
                         // Property management (Create, Update, Delete, Upload images)
                         .requestMatchers(HttpMethod.POST, "/api/v1/properties").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/properties/bulk").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/properties/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/v1/properties/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/properties/**").hasRole("ADMIN")
@@ -99,6 +106,9 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
 
+                        // Thống kê cache (actuator) - chỉ admin
+                        .requestMatchers("/actuator/cachestats/**").hasRole("ADMIN")
+
                         // Tất cả các request khác cần authentication
                         .anyRequest().authenticated())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -1,11 +1,17 @@
 package com.taivillavungtau.backend.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 /**
  * Web MVC Configuration for performance optimization.
- * 
+ *
  * Note: HTTP compression (gzip) should be enabled in application.properties:
  * server.compression.enabled=true
  * server.compression.mime-types=application/json,application/xml,text/html,text/xml,text/plain,application/javascript,text/css
@@ -14,6 +20,26 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    // Additional web MVC configurations can be added here
     // Compression is handled by Spring Boot properties (see comment above)
+
+    /**
+     * Các API có thể trả JSON / CBOR / Smile tùy header Accept (xem JacksonConfig)
+     * -> báo cho CDN / browser cache phân biệt theo Accept (cả response 304)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns(
+                "/api/v1/properties", "/api/v1/properties/**",
+                "/api/v1/amenities", "/api/v1/amenities/**",
+                "/api/v1/labels", "/api/v1/labels/**",
+                "/api/v1/locations", "/api/v1/locations/**",
+                "/api/v1/property-types", "/api/v1/property-types/**",
+                "/api/v1/bootstrap");
+    }
 }
@@ -0,0 +1,18 @@
+package com.taivillavungtau.backend.constant;
+
+/**
+ * Tên các cache dùng trong @Cacheable/@CacheEvict và cấu hình Redis.
+ */
+public final class CacheNames {
+
+    private CacheNames() {}
+
+    // Chi tiết từng căn (key = ID)
+    public static final String PROPERTIES = "properties";
+
+    // Kết quả tìm kiếm (key = PropertySearchRequest.toString())
+    public static final String PROPERTY_SEARCH = "property_search";
+
+    // Slug / code -> ID (key = "SLUG:villa-abc-ms01", "CODE:MS01")
+    public static final String PROPERTY_KEYS = "property_keys";
+}
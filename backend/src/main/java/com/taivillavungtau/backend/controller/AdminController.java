@@ -1,15 +1,30 @@
 package com.taivillavungtau.backend.controller;
 
+import com.taivillavungtau.backend.dto.PropertyDTO;
 import com.taivillavungtau.backend.dto.response.ApiResponse;
 import com.taivillavungtau.backend.dto.response.AdminStatsResponse;
 import com.taivillavungtau.backend.dto.response.MonthlyStatsResponse;
+import com.taivillavungtau.backend.dto.response.PropertyImportJobResponse;
 import com.taivillavungtau.backend.dto.response.TopPropertyResponse;
 import com.taivillavungtau.backend.service.AdminService;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
+import com.taivillavungtau.backend.enums.TransferFormat;
+import com.taivillavungtau.backend.service.PropertyEventStreamService;
+import com.taivillavungtau.backend.service.PropertyTransferService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -19,6 +34,9 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final PropertyEventStreamService propertyEventStreamService;
+    private final PropertyTransferService propertyTransferService;
+    private final PropertyArchiveService propertyArchiveService;
 
     /**
      * API 1: Lấy thống kê tổng quan (Dashboard)
@@ -51,4 +69,77 @@ public class AdminController {
         List<MonthlyStatsResponse> monthlyStats = adminService.getMonthlyStats(year);
         return ResponseEntity.ok(ApiResponse.success(monthlyStats, "Lấy thống kê theo tháng thành công"));
     }
-}
\ No newline at end of file
+
+    /**
+     * API 4: Luồng SSE thay đổi Villa (tạo / sửa / đổi trạng thái / xóa) cho dashboard
+     * GET /api/v1/admin/properties/events (header Last-Event-ID khi nối lại)
+     */
+    @GetMapping(value = "/properties/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPropertyEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = propertyEventStreamService.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // nginx không buffer stream
+                .body(emitter);
+    }
+
+    /**
+     * API 5: Import catalog từ CSV / NDJSON (upsert theo mã căn), chạy nền
+     * POST /api/v1/admin/properties/import?format=csv (body = nội dung file)
+     */
+    @PostMapping("/properties/import")
+    public ResponseEntity<ApiResponse<PropertyImportJobResponse>> importProperties(
+            @RequestParam(defaultValue = "csv") String format, InputStream body) throws IOException {
+        TransferFormat transferFormat = TransferFormat.fromValue(format);
+        if (transferFormat == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "format phải là csv hoặc ndjson", null));
+        }
+        PropertyImportJobResponse job = propertyTransferService.startImport(body, transferFormat);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(job, "Đã nhận file, đang import"));
+    }
+
+    /**
+     * API 6: Tiến độ / kết quả import
+     * GET /api/v1/admin/properties/import/{jobId}
+     */
+    @GetMapping("/properties/import/{jobId}")
+    public ResponseEntity<ApiResponse<PropertyImportJobResponse>> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(propertyTransferService.getImportJob(jobId),
+                "Lấy tiến độ import thành công"));
+    }
+
+    /**
+     * API 7: Export toàn bộ catalog (ghi dần theo lô, không giữ cả file trong bộ nhớ)
+     * GET /api/v1/admin/properties/export?format=csv|ndjson
+     */
+    @GetMapping("/properties/export")
+    public ResponseEntity<?> exportProperties(@RequestParam(defaultValue = "csv") String format) {
+        TransferFormat transferFormat = TransferFormat.fromValue(format);
+        if (transferFormat == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "format phải là csv hoặc ndjson", null));
+        }
+        String fileName = "properties-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "."
+                + transferFormat.getValue();
+        StreamingResponseBody body = output -> propertyTransferService.export(output, transferFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(transferFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /**
+     * API 8: Khôi phục căn đã chuyển sang bảng archive (vẫn ở trạng thái DELETED)
+     * POST /api/v1/admin/properties/{id}/restore
+     */
+    @PostMapping("/properties/{id}/restore")
+    public ResponseEntity<ApiResponse<PropertyDTO>> restoreProperty(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(propertyArchiveService.restore(id),
+                "Khôi phục Villa thành công"));
+    }
+}
@@ -1,10 +1,13 @@
 package com.taivillavungtau.backend.controller;
 
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
 import com.taivillavungtau.backend.dto.AmenityDTO;
 import com.taivillavungtau.backend.dto.response.ApiResponse;
 import com.taivillavungtau.backend.service.AmenityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +20,7 @@ import java.util.List;
 public class AmenityController {
 
     private final AmenityService amenityService;
+    private final ReferenceDataStore referenceDataStore;
 
     @PostMapping
     public ResponseEntity<ApiResponse<AmenityDTO>> createAmenity(@Valid @RequestBody AmenityDTO dto) {
@@ -25,8 +29,12 @@ public class AmenityController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AmenityDTO>>> getAllAmenities() {
-        return ResponseEntity.ok(ApiResponse.success(amenityService.getAllAmenities(), "Lấy danh sách thành công"));
+    public ResponseEntity<ApiResponse<List<AmenityDTO>>> getAllAmenities(
+            @RequestParam(value = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ReferenceDataSnapshot snapshot = referenceDataStore.current();
+        return ReferenceDataResponses.of(snapshot, snapshot.amenities(), "Lấy danh sách thành công",
+                version, ifNoneMatch);
     }
 
     @DeleteMapping("/{id}")
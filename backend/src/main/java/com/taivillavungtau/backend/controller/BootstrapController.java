@@ -0,0 +1,46 @@
+package com.taivillavungtau.backend.controller;
+
+import com.taivillavungtau.backend.dto.response.ApiResponse;
+import com.taivillavungtau.backend.dto.response.BootstrapResponse;
+import com.taivillavungtau.backend.service.BootstrapService;
+import com.taivillavungtau.backend.utils.ETagUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/v1/bootstrap")
+@RequiredArgsConstructor
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    // Dữ liệu ban đầu của trang chủ trong 1 request (thay cho 6 request riêng lẻ)
+    @GetMapping
+    public ResponseEntity<ApiResponse<BootstrapResponse>> getBootstrap(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+        // JSON / CBOR / Smile là các representation khác nhau -> ETag khác nhau
+        String representation = ETagUtils.representation(accept);
+        String eTag = "\"" + bootstrapService.currentVersion() + "-" + representation + "\"";
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(eTag).build();
+        }
+        BootstrapResponse bootstrap = bootstrapService.getBootstrap();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag("\"" + bootstrap.getVersion() + "-" + representation + "\"")
+                .body(ApiResponse.success(bootstrap, "Lấy dữ liệu trang chủ thành công"));
+    }
+}
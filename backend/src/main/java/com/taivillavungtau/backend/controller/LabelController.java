@@ -1,10 +1,13 @@
 package com.taivillavungtau.backend.controller;
 
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
 import com.taivillavungtau.backend.dto.LabelDTO;
 import com.taivillavungtau.backend.dto.response.ApiResponse;
 import com.taivillavungtau.backend.service.LabelService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +20,7 @@ import java.util.List;
 public class LabelController {
 
     private final LabelService labelService;
+    private final ReferenceDataStore referenceDataStore;
 
     @PostMapping
     public ResponseEntity<ApiResponse<LabelDTO>> createLabel(@Valid @RequestBody LabelDTO dto) {
@@ -25,8 +29,12 @@ public class LabelController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<LabelDTO>>> getAllLabels() {
-        return ResponseEntity.ok(ApiResponse.success(labelService.getAllLabels(), "Lấy danh sách label thành công"));
+    public ResponseEntity<ApiResponse<List<LabelDTO>>> getAllLabels(
+            @RequestParam(value = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ReferenceDataSnapshot snapshot = referenceDataStore.current();
+        return ReferenceDataResponses.of(snapshot, snapshot.labels(), "Lấy danh sách label thành công",
+                version, ifNoneMatch);
     }
 
     @PutMapping("/{id}")
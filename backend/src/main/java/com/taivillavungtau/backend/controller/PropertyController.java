@@ -1,22 +1,39 @@
 package com.taivillavungtau.backend.controller;
 
+import com.taivillavungtau.backend.cache.CatalogVersion;
+import com.taivillavungtau.backend.cache.HotQueryTracker;
+import com.taivillavungtau.backend.cache.MissingPropertyCache;
+import com.taivillavungtau.backend.cache.MissingPropertyCache.LookupType;
+import com.taivillavungtau.backend.cache.PropertyKeyIndex;
+import com.taivillavungtau.backend.cache.SearchPrefetcher;
 import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertyBulkRequest;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.ApiResponse;
 import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertyBulkResponse;
+import com.taivillavungtau.backend.dto.response.PropertyChangesResponse;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
+import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.service.CloudinaryService;
+import com.taivillavungtau.backend.service.PropertyChangeLogService;
 import com.taivillavungtau.backend.service.PropertyService;
+import com.taivillavungtau.backend.utils.ETagUtils;
 import com.taivillavungtau.backend.utils.Translator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/properties")
@@ -25,6 +42,19 @@ public class PropertyController {
 
     private final PropertyService propertyService;
     private final CloudinaryService cloudinaryService;
+    private final HotQueryTracker hotQueryTracker;
+    private final CatalogVersion catalogVersion;
+    private final ObjectProvider<MissingPropertyCache> missingPropertyCache;
+    private final ObjectProvider<SearchPrefetcher> searchPrefetcher;
+    private final PropertyKeyIndex propertyKeyIndex;
+    private final PropertyChangeLogService propertyChangeLogService;
+
+    private static final int MAX_BATCH_IDS = 100;
+    // Giới hạn 1 file sitemap là 50.000 URL
+    private static final int DEFAULT_SITEMAP_SIZE = 5000;
+    private static final int MAX_SITEMAP_SIZE = 50000;
+    private static final int DEFAULT_CHANGES_LIMIT = 500;
+    private static final int MAX_CHANGES_LIMIT = 1000;
 
     // 1. Tạo mới Villa
     @PostMapping
@@ -37,8 +67,12 @@ public class PropertyController {
     // 2. Tìm kiếm & Lọc danh sách (với validation)
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<PropertyDTO>>> getProperties(
-            @Valid @ModelAttribute PropertySearchRequest request) {
-        PageResponse<PropertyDTO> properties = propertyService.searchProperties(request);
+            @Valid @ModelAttribute PropertySearchRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ?fields= chuẩn hóa trước khi làm cache key (thứ tự, tên không hợp lệ)
+        request.setFields(PropertyFieldSet.canonical(request.getFields()));
+        hotQueryTracker.record(request); // Thống kê truy vấn nóng cho cache warm-up
 
         // Admin requests (with DELETED status) should not be cached for real-time
         // updates
@@ -46,23 +80,160 @@ public class PropertyController {
                 request.getStatusList().contains("DELETED");
 
         CacheControl cacheControl = isAdminRequest
-                ? CacheControl.noCache()
+                ? CacheControl.noCache().cachePrivate()
                 : CacheControl.maxAge(5, java.util.concurrent.TimeUnit.MINUTES).cachePublic();
 
+        // ETag theo version catalog (đọc trong bộ nhớ) + định dạng / ?fields= - khớp thì trả 304, không tìm kiếm
+        String eTag = catalogVersion.searchETag(ETagUtils.variant(accept, request.getFields()));
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(eTag).build();
+        }
+        PageResponse<PropertyDTO> properties = propertyService.searchProperties(request);
+        // Nạp trước trang kế tiếp vào cache (bất đồng bộ)
+        searchPrefetcher.ifAvailable(prefetcher -> prefetcher.onPageServed(request, properties));
+
         return ResponseEntity.ok()
                 .cacheControl(cacheControl)
+                .eTag(eTag)
                 .body(ApiResponse.success(properties, "Lấy danh sách thành công"));
     }
 
+    // 2.1 Lấy nhiều Villa theo danh sách ID (wishlist, so sánh, đã xem gần đây)
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<PropertyDTO>>> getPropertiesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "Tối đa " + MAX_BATCH_IDS + " ID mỗi lần", null));
+        }
+        List<PropertyDTO> properties = propertyService.getPropertiesByIds(ids);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, java.util.concurrent.TimeUnit.MINUTES).cachePublic())
+                .body(ApiResponse.success(properties, "Lấy danh sách thành công"));
+    }
+
+    // 2.2 Sitemap: chỉ id, slug, code, updatedAt của căn ACTIVE - phân trang keyset (?after=)
+    @GetMapping("/sitemap")
+    public ResponseEntity<ApiResponse<SitemapPageResponse>> getSitemap(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_SITEMAP_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (size < 1 || size > MAX_SITEMAP_SIZE || after < 0) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "size phải từ 1 đến " + MAX_SITEMAP_SIZE + ", after >= 0", null));
+        }
+        // Đổi theo version catalog như danh sách tìm kiếm, khác nhau theo định dạng (JSON / CBOR / Smile)
+        CacheControl cacheControl = CacheControl.maxAge(1, java.util.concurrent.TimeUnit.HOURS).cachePublic();
+        String eTag = catalogVersion.searchETag(ETagUtils.representation(accept));
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(eTag).build();
+        }
+        SitemapPageResponse page = propertyService.getSitemapPage(after, size);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .body(ApiResponse.success(page, "Lấy sitemap thành công"));
+    }
+
+    // 2.3 Change feed: các căn tạo / sửa / đổi trạng thái / xóa vĩnh viễn sau token since
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<PropertyChangesResponse>> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_CHANGES_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT || since < 0) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "limit phải từ 1 đến " + MAX_CHANGES_LIMIT + ", since >= 0", null));
+        }
+        PropertyChangesResponse changes = propertyChangeLogService.getChangesSince(since, limit);
+        // Không cache: token since thay đổi liên tục, ResponseCacheFilter cũng bỏ qua no-cache
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(changes, "Lấy danh sách thay đổi thành công"));
+    }
+
     // 3. Xem chi tiết Villa (MỚI)
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<PropertyDTO>> getPropertyById(@PathVariable Long id) {
-        PropertyDTO property = propertyService.getPropertyById(id);
+    public ResponseEntity<ApiResponse<PropertyDTO>> getPropertyById(@PathVariable Long id,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag đã biết từ lần load trước -> 304 không cần truy vấn DB
+        // ID chắc chắn không tồn tại (Bloom filter / marker 404) -> trả 404 không cần DB
+        MissingPropertyCache missingProperties = missingPropertyCache.getIfAvailable();
+        if (missingProperties != null && missingProperties.isKnownMissing(LookupType.ID, id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                    Translator.toLocale("error.villa.not_found"), null));
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(5, java.util.concurrent.TimeUnit.MINUTES).cachePublic();
+        PropertyFieldSet fieldSet = PropertyFieldSet.parse(fields);
+        if (!fieldSet.isAll()) {
+            // Bản rút gọn: không qua cache "properties", không ETag (ETag đã biết là của bản đầy đủ)
+            PropertyDTO property = loadOrMarkMissing(id, fieldSet, missingProperties);
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .body(ApiResponse.success(property, "Lấy thông tin chi tiết thành công"));
+        }
+        String variant = ETagUtils.variant(accept, null);
+        String knownETag = catalogVersion.knownPropertyETag(id, variant);
+        if (ETagUtils.matches(ifNoneMatch, knownETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(knownETag).build();
+        }
+        long versionBeforeLoad = catalogVersion.current();
+        PropertyDTO property = loadOrMarkMissing(id, fieldSet, missingProperties);
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(5, java.util.concurrent.TimeUnit.MINUTES).cachePublic())
+                .cacheControl(cacheControl)
+                .eTag(catalogVersion.rememberPropertyETag(property, versionBeforeLoad, variant))
                 .body(ApiResponse.success(property, "Lấy thông tin chi tiết thành công"));
     }
 
+    // 3.1 Xem chi tiết theo slug (URL SEO) - slug cũ sau khi đổi tên vẫn ra căn hiện tại
+    @GetMapping("/slug/{slug}")
+    public ResponseEntity<ApiResponse<PropertyDTO>> getPropertyBySlug(@PathVariable String slug,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getPropertyById(resolveIdOrMarkMissing(LookupType.SLUG, slug), fields, accept, ifNoneMatch);
+    }
+
+    // 3.2 Xem chi tiết theo mã căn (MS44)
+    @GetMapping("/code/{code}")
+    public ResponseEntity<ApiResponse<PropertyDTO>> getPropertyByCode(@PathVariable String code,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getPropertyById(resolveIdOrMarkMissing(LookupType.CODE, code), fields, accept, ifNoneMatch);
+    }
+
+    // slug / code -> ID qua PropertyKeyIndex, rồi đi chung đường với /{id} (cache, ETag, 304)
+    private Long resolveIdOrMarkMissing(LookupType type, String key) {
+        MissingPropertyCache missingProperties = missingPropertyCache.getIfAvailable();
+        if (missingProperties != null && missingProperties.isKnownMissing(type, key)) {
+            throw new ResourceNotFoundException(Translator.toLocale("error.villa.not_found"));
+        }
+        Long id = propertyKeyIndex.findId(type, key);
+        if (id == null) {
+            if (missingProperties != null) {
+                missingProperties.markMissing(type, key);
+            }
+            throw new ResourceNotFoundException(Translator.toLocale("error.villa.not_found"));
+        }
+        return id;
+    }
+
+    private PropertyDTO loadOrMarkMissing(Long id, PropertyFieldSet fields, MissingPropertyCache missingProperties) {
+        try {
+            return fields.isAll()
+                    ? propertyService.getPropertyById(id)
+                    : propertyService.getPropertyById(id, fields);
+        } catch (ResourceNotFoundException e) {
+            if (missingProperties != null) {
+                missingProperties.markMissing(LookupType.ID, id);
+            }
+            throw e;
+        }
+    }
+
     // 4. Cập nhật Villa (MỚI)
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<PropertyDTO>> updateProperty(
@@ -95,6 +266,18 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success(updatedProperty, "Cập nhật thành công"));
     }
 
+    // 5.3 Thao tác hàng loạt (ẩn, nổi bật, tăng/giảm giá %) theo ids hoặc filter - dryRun để xem trước
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<PropertyBulkResponse>> bulkUpdate(
+            @Valid @RequestBody PropertyBulkRequest request) {
+        // Request không hợp lệ -> IllegalArgumentException -> 400 qua GlobalExceptionHandler
+        PropertyBulkResponse result = propertyService.bulkUpdate(request);
+        String message = result.isDryRun()
+                ? result.getAffected() + " căn sẽ được cập nhật"
+                : "Đã cập nhật " + result.getAffected() + " căn";
+        return ResponseEntity.ok(ApiResponse.success(result, message));
+    }
+
     // 6. Upload ảnh
     @PostMapping("/{id}/images")
     public ResponseEntity<ApiResponse<String>> uploadImage(
@@ -0,0 +1,35 @@
+package com.taivillavungtau.backend.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+
+/**
+ * Áp dụng ?fields= lên response của PropertyController: chỉ ghi các trường
+ * PropertyDTO được yêu cầu (filter "propertyFields", xem JacksonConfig).
+ * Controller không cần đổi kiểu trả về sang MappingJacksonValue.
+ */
+@ControllerAdvice(assignableTypes = PropertyController.class)
+public class PropertyFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        PropertyFieldSet fields = PropertyFieldSet.parse(servletRequest.getServletRequest().getParameter("fields"));
+        if (!fields.isAll()) {
+            bodyContainer.setFilters(new SimpleFilterProvider()
+                    .addFilter(PropertyFieldSet.FILTER_ID, fields.filter()));
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.taivillavungtau.backend.controller;
 
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
 import com.taivillavungtau.backend.dto.PropertyTypeDTO;
 import com.taivillavungtau.backend.dto.response.ApiResponse;
 import com.taivillavungtau.backend.service.PropertyTypeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,11 +20,15 @@ import java.util.List;
 public class PropertyTypeController {
 
     private final PropertyTypeService propertyTypeService;
+    private final ReferenceDataStore referenceDataStore;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PropertyTypeDTO>>> getAllPropertyTypes() {
-        List<PropertyTypeDTO> types = propertyTypeService.getAllPropertyTypes();
-        return ResponseEntity.ok(ApiResponse.success(types, "Lấy danh sách loại BĐS thành công"));
+    public ResponseEntity<ApiResponse<List<PropertyTypeDTO>>> getAllPropertyTypes(
+            @RequestParam(value = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ReferenceDataSnapshot snapshot = referenceDataStore.current();
+        return ReferenceDataResponses.of(snapshot, snapshot.propertyTypes(), "Lấy danh sách loại BĐS thành công",
+                version, ifNoneMatch);
     }
 
     @GetMapping("/{id}")
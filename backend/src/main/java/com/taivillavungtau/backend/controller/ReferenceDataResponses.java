@@ -0,0 +1,38 @@
+package com.taivillavungtau.backend.controller;
+
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.dto.response.ApiResponse;
+import com.taivillavungtau.backend.utils.ETagUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response cho các API danh mục đọc từ ReferenceDataSnapshot.
+ *
+ * - URL có ?v=version hiện tại: nội dung gắn với version nên không bao giờ đổi
+ *   -> Cache-Control immutable, cache 1 năm
+ * - URL không có version: no-cache, trình duyệt hỏi lại bằng If-None-Match -> 304
+ */
+final class ReferenceDataResponses {
+
+    private ReferenceDataResponses() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<T>> of(ReferenceDataSnapshot snapshot, T data, String message,
+            String requestedVersion, String ifNoneMatch) {
+        CacheControl cacheControl = snapshot.version().equals(requestedVersion)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        if (ETagUtils.matches(ifNoneMatch, snapshot.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl)
+                    .eTag(snapshot.eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(snapshot.eTag())
+                .body(ApiResponse.success(data, message));
+    }
+}
@@ -130,4 +130,8 @@ public class PropertyDTO implements Serializable {
 
     // --- STATUS ---
     private String status; // ACTIVE, DELETED, etc.
+
+    // Có giá trị: căn đã chuyển sang bảng archive (trang admin, chỉ khôi phục được)
+    @com.fasterxml.jackson.annotation.JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private java.time.LocalDateTime archivedAt;
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.taivillavungtau.backend.dto;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+/**
+ * Tập trường PropertyDTO client yêu cầu qua ?fields=id,code,name,images
+ *
+ * - Tên không thuộc PropertyDTO bị bỏ qua; "id" luôn có
+ * - Dạng chuẩn (canonical) = các tên đã sắp xếp, nối bằng dấu phẩy -> dùng làm
+ *   cache key, cùng tập trường nhưng khác thứ tự vẫn trúng 1 entry
+ * - Không có tham số (hoặc không còn tên hợp lệ nào) -> ALL, giữ nguyên hành vi cũ
+ *
+ * Dùng cho cả 2 phía: fetch plan (chỉ nạp images/amenities/labels khi được yêu
+ * cầu) và Jackson filter "propertyFields" (chỉ ghi các trường được yêu cầu).
+ */
+public final class PropertyFieldSet {
+
+    public static final String FILTER_ID = "propertyFields";
+
+    public static final String IMAGES = "images";
+    public static final String AMENITIES = "amenities";
+    public static final String LABELS = "labels";
+    public static final String LOCATION_NAME = "locationName";
+    public static final String PROPERTY_TYPE_NAME = "propertyTypeName";
+
+    private static final Set<String> KNOWN_FIELDS = Arrays.stream(PropertyDTO.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    public static final PropertyFieldSet ALL = new PropertyFieldSet(null);
+
+    // null = tất cả trường
+    private final Set<String> names;
+
+    private PropertyFieldSet(Set<String> names) {
+        this.names = names;
+    }
+
+    public static PropertyFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        SortedSet<String> names = new TreeSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (KNOWN_FIELDS.contains(trimmed)) {
+                names.add(trimmed);
+            }
+        }
+        if (names.isEmpty()) {
+            return ALL;
+        }
+        names.add("id");
+        return new PropertyFieldSet(Collections.unmodifiableSortedSet(names));
+    }
+
+    /**
+     * Dạng chuẩn của tham số fields, null nếu là ALL
+     */
+    public static String canonical(String fields) {
+        PropertyFieldSet fieldSet = parse(fields);
+        return fieldSet.isAll() ? null : fieldSet.toString();
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    /**
+     * Có cần nạp collection nào (images, amenities, labels) không
+     */
+    public boolean needsCollections() {
+        return includes(IMAGES) || includes(AMENITIES) || includes(LABELS);
+    }
+
+    public PropertyFilter filter() {
+        return names == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names);
+    }
+
+    @Override
+    public String toString() {
+        return names == null ? "*" : String.join(",", names);
+    }
+}
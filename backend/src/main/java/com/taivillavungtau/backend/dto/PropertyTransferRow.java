@@ -0,0 +1,71 @@
+package com.taivillavungtau.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.taivillavungtau.backend.enums.LocationType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 1 căn trong file import / export catalog (1 dòng CSV hoặc 1 dòng NDJSON).
+ *
+ * Khóa là code (upsert theo mã căn). Quan hệ theo tên / slug thay vì ID để file
+ * dùng được giữa các môi trường: amenities, labels theo tên; location,
+ * propertyType theo slug. Slug căn luôn sinh lại từ name + code như khi tạo qua API.
+ *
+ * Trường đơn = null (thiếu cột / thiếu key / ô trống) -> giữ nguyên khi cập nhật.
+ * images / amenities / labels = null -> giữ nguyên; rỗng -> xóa hết.
+ * CSV: các phần tử danh sách phân tách bởi "|".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({ "code", "name", "slug", "status", "propertyType", "location", "locationType", "area",
+        "address", "priceWeekday", "priceWeekend", "priceNote", "standardGuests", "maxGuests", "bedroomCount",
+        "bathroomCount", "bedCount", "bedConfig", "poolArea", "distanceToSea", "isFeatured", "description",
+        "mapUrl", "facebookLink", "metaTitle", "metaDescription", "googleSheetsUrl", "googleSheetsNote",
+        "thumbnail", "images", "amenities", "labels" })
+public class PropertyTransferRow {
+    private String code;
+    private String name;
+    private String slug; // Chỉ export, import bỏ qua
+    private String status;
+    private String propertyType; // slug PropertyType
+    private String location; // slug Location
+    private LocationType locationType; // Cột location (enum) cũ
+    private String area;
+    private String address;
+    private BigDecimal priceWeekday;
+    private BigDecimal priceWeekend;
+    private String priceNote;
+    private Integer standardGuests;
+    private Integer maxGuests;
+    private Integer bedroomCount;
+    private Integer bathroomCount;
+    private Integer bedCount;
+    private String bedConfig;
+    private String poolArea;
+    private String distanceToSea;
+    private Boolean isFeatured;
+    private String description;
+    private String mapUrl;
+    private String facebookLink;
+    private String metaTitle;
+    private String metaDescription;
+    private String googleSheetsUrl;
+    private String googleSheetsNote;
+    private String thumbnail; // URL ảnh đại diện (phải có trong images)
+    private List<String> images;
+    private List<String> amenities;
+    private List<String> labels;
+}
@@ -0,0 +1,47 @@
+package com.taivillavungtau.backend.dto.request;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.taivillavungtau.backend.enums.PropertyBulkOperation;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Thao tác hàng loạt: chọn căn theo ids HOẶC filter (giống GET /properties,
+ * không gửi statusList thì chỉ lấy căn ACTIVE), rồi áp 1 operation.
+ * Căn DELETED không bao giờ bị ảnh hưởng.
+ */
+@Data
+public class PropertyBulkRequest {
+
+    public enum PriceTarget {
+        WEEKDAY, WEEKEND, BOTH
+    }
+
+    @Size(max = 2000, message = "Tối đa 2000 ID mỗi lần")
+    private List<Long> ids;
+
+    @Valid
+    private PropertySearchRequest filter;
+
+    @NotNull(message = "Thiếu operation")
+    private PropertyBulkOperation operation;
+
+    private String status;     // SET_STATUS: ACTIVE / INACTIVE
+    private Boolean featured;  // SET_FEATURED
+
+    // ADJUST_PRICE: 10 = tăng 10%, -5 = giảm 5%
+    @DecimalMin(value = "-90", message = "Giảm giá tối đa 90%")
+    @DecimalMax(value = "200", message = "Tăng giá tối đa 200%")
+    private BigDecimal percent;
+    private PriceTarget priceTarget = PriceTarget.BOTH;
+
+    // true: chỉ trả về danh sách căn sẽ bị thay đổi, không ghi
+    private boolean dryRun;
+}
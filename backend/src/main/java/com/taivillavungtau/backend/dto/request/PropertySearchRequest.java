@@ -75,6 +75,10 @@ public class PropertySearchRequest {
     @Max(value = 500, message = "Kích thước trang tối đa là 500") // Updated: max 500 for homepage fetch
     private Integer size = 10; // Mặc định 10 căn/trang
 
+    // --- Sparse fieldset ---
+    // VD: "id,code,name,priceWeekday,images" - controller chuẩn hóa (PropertyFieldSet.canonical)
+    private String fields;
+
     @Override
     public String toString() {
         return "PropertySearchRequest{" +
@@ -98,6 +102,8 @@ public class PropertySearchRequest {
                 ", sort='" + sort + '\'' +
                 ", page=" + page +
                 ", size=" + size +
+                // Chỉ thêm khi có -> key cache của request đầy đủ giữ nguyên
+                (fields != null ? ", fields='" + fields + '\'' : "") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.taivillavungtau.backend.dto.response;
+
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.dto.LocationDTO;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyTypeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapResponse {
+    private String version;                         // Version catalog + danh mục (dùng làm ETag)
+    private String referenceVersion;                // Version danh mục - dùng cho ?v= ở các API danh mục
+    private PageResponse<PropertyDTO> featured;     // Villa nổi bật
+    private PageResponse<PropertyDTO> properties;   // Danh sách trang chủ
+    private List<AmenityDTO> amenities;
+    private List<LabelDTO> labels;
+    private List<LocationDTO> locations;
+    private List<PropertyTypeDTO> propertyTypes;
+}
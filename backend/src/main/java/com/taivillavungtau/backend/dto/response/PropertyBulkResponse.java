@@ -0,0 +1,25 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.util.List;
+
+import com.taivillavungtau.backend.enums.PropertyBulkOperation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kết quả POST /api/v1/properties/bulk - ids là các căn thực sự đổi (dry-run: sẽ đổi).
+ * Căn đã ở đúng giá trị đích (status, featured) hoặc không có giá thì không tính.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyBulkResponse {
+    private PropertyBulkOperation operation;
+    private boolean dryRun;
+    private int affected;
+    private List<Long> ids;
+}
@@ -0,0 +1,31 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Thay đổi mới nhất của 1 căn trong change feed.
+ * property = trạng thái hiện tại; null với PERMANENTLY_DELETED (tombstone).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChangeEntry {
+    private long token;
+    private Long propertyId;
+    private PropertyChangeType type;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime changedAt;
+
+    private PropertyDTO property;
+}
@@ -0,0 +1,24 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 1 trang change feed. Lần sau gọi ?since={nextSince}; hasMore = true thì gọi
+ * tiếp ngay, không thì chờ tới lần đồng bộ sau.
+ * nextSince có thể nhỏ hơn token của entry cuối (đang chờ transaction cũ hơn commit)
+ * -> lần sau có thể nhận lại entry đã thấy, client ghi đè theo propertyId.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChangesResponse {
+    private List<PropertyChangeEntry> changes; // Mỗi căn 1 entry (thay đổi mới nhất), theo token tăng dần
+    private long nextSince;
+    private boolean hasMore;
+}
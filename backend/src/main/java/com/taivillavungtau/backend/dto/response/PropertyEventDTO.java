@@ -0,0 +1,31 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 1 thay đổi property đẩy qua SSE cho dashboard admin (gọn - không kèm PropertyDTO)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PropertyEventDTO {
+    private Long id;
+    private PropertyChangeType type;
+    private Set<String> changedFields;
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tiến độ 1 lần import catalog (GET /api/v1/admin/properties/import/{jobId}).
+ * status: RUNNING -> COMPLETED | FAILED (lỗi đọc file / lỗi hệ thống).
+ * Dòng lỗi (thiếu code, tiện ích không tồn tại...) bị bỏ qua và ghi vào errors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyImportJobResponse {
+    private String jobId;
+    private String format;
+    private String status;
+    private long processed; // Số dòng đã đọc
+    private long inserted;
+    private long updated;
+    private long failed;
+    private List<String> errors; // Tối đa 100 lỗi đầu tiên, "dòng N: lý do"
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
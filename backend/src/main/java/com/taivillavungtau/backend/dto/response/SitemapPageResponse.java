@@ -0,0 +1,22 @@
+package com.taivillavungtau.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 1 trang sitemap phân trang theo keyset (id tăng dần).
+ * Trang kế tiếp: ?after={nextAfter}; nextAfter = null là trang cuối.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SitemapPageResponse {
+    private List<PropertySitemapEntry> items;
+    private Long nextAfter;   // ID cuối của trang này (null nếu hết)
+    private int size;         // Kích thước trang đã dùng
+}
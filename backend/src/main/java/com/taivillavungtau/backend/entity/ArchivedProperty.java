@@ -0,0 +1,152 @@
+package com.taivillavungtau.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.taivillavungtau.backend.enums.LocationType;
+
+/**
+ * Villa đã xóa mềm quá thời gian lưu giữ, chuyển sang properties_archive (chỉ đọc).
+ *
+ * Tên thuộc tính giống Property để PropertySpecification / Sort của trang admin
+ * dùng chung được; ghi / xóa qua PropertyArchiveRepository (JDBC).
+ */
+@Entity
+@Immutable
+@Table(name = "properties_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedProperty {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String slug;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private String address;
+    private String area;
+
+    @Column(name = "map_url", columnDefinition = "TEXT")
+    private String mapUrl;
+
+    @Column(name = "pool_area")
+    private String poolArea;
+
+    @Column(name = "price_weekday")
+    private BigDecimal priceWeekday;
+
+    @Column(name = "price_weekend")
+    private BigDecimal priceWeekend;
+
+    @Column(name = "standard_guests")
+    private Integer standardGuests;
+
+    @Column(name = "max_guests")
+    private Integer maxGuests;
+
+    @Column(name = "bedroom_count")
+    private Integer bedroomCount;
+
+    @Column(name = "bathroom_count")
+    private Integer bathroomCount;
+
+    @Column(name = "facebook_link")
+    private String facebookLink;
+
+    @Column(length = 20)
+    private String status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @OneToMany
+    @JoinColumn(name = "property_id")
+    @ToString.Exclude
+    @BatchSize(size = 50)
+    private Set<ArchivedPropertyImage> images = new HashSet<>();
+
+    @ManyToMany
+    @JoinTable(name = "property_amenities_archive", joinColumns = @JoinColumn(name = "property_id"), inverseJoinColumns = @JoinColumn(name = "amenity_id"))
+    @ToString.Exclude
+    @BatchSize(size = 50)
+    private Set<Amenity> amenities = new HashSet<>();
+
+    @ManyToMany
+    @JoinTable(name = "property_labels_archive", joinColumns = @JoinColumn(name = "property_id"), inverseJoinColumns = @JoinColumn(name = "label_id"))
+    @ToString.Exclude
+    @BatchSize(size = 50)
+    private Set<Label> labels = new HashSet<>();
+
+    // Slug cũ (property_slug_redirects) - trả lại khi khôi phục
+    @ElementCollection
+    @CollectionTable(name = "property_slug_redirects_archive", joinColumns = @JoinColumn(name = "property_id"))
+    @Column(name = "slug", nullable = false)
+    @ToString.Exclude
+    private Set<String> slugRedirects = new HashSet<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "location")
+    private LocationType location;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    private Location locationEntity;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "property_type_id")
+    private PropertyType propertyType;
+
+    @Column(name = "bed_count")
+    private Integer bedCount;
+
+    @Column(name = "bed_config")
+    private String bedConfig;
+
+    @Column(name = "distance_to_sea")
+    private String distanceToSea;
+
+    @Column(name = "price_note")
+    private String priceNote;
+
+    @Column(name = "is_featured")
+    private Boolean isFeatured;
+
+    // Sort theo số ảnh (imageCount_asc / _desc) như Property
+    @Formula("(SELECT count(*) FROM property_images_archive pi WHERE pi.property_id = id)")
+    private Integer imageCount;
+
+    @Column(name = "meta_title")
+    private String metaTitle;
+
+    @Column(name = "meta_description", length = 500)
+    private String metaDescription;
+
+    @Column(name = "google_sheets_url", columnDefinition = "TEXT")
+    private String googleSheetsUrl;
+
+    @Column(name = "google_sheets_note", columnDefinition = "TEXT")
+    private String googleSheetsNote;
+}
@@ -0,0 +1,25 @@
+package com.taivillavungtau.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Ảnh của căn đã archive (chỉ đọc) - ghi / xóa qua PropertyArchiveRepository
+ */
+@Entity
+@Immutable
+@Table(name = "property_images_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedPropertyImage {
+
+    @Id
+    private Long id;
+
+    @Column(name = "image_url", nullable = false)
+    private String imageUrl;
+
+    @Column(name = "is_thumbnail")
+    private Boolean isThumbnail;
+}
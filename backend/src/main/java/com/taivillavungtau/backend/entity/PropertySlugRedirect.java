@@ -0,0 +1,34 @@
+package com.taivillavungtau.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slug cũ của 1 căn (trước khi đổi tên / đổi mã) - lookup theo slug cũ vẫn ra căn hiện tại
+ */
+@Entity
+@Table(name = "property_slug_redirects")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertySlugRedirect {
+
+    @Id
+    @Column(nullable = false)
+    private String slug;
+
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
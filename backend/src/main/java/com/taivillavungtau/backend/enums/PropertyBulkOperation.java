@@ -0,0 +1,10 @@
+package com.taivillavungtau.backend.enums;
+
+/**
+ * Thao tác hàng loạt trên nhiều căn (POST /api/v1/properties/bulk)
+ */
+public enum PropertyBulkOperation {
+    SET_STATUS,   // Ẩn / hiện / đổi trạng thái (không dùng cho DELETED)
+    SET_FEATURED, // Bật / tắt nổi bật
+    ADJUST_PRICE  // Tăng / giảm giá theo %
+}
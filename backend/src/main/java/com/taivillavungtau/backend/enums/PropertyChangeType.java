@@ -0,0 +1,19 @@
+package com.taivillavungtau.backend.enums;
+
+/**
+ * Loại thay đổi của 1 Villa (dùng cho PropertyChangedEvent).
+ */
+public enum PropertyChangeType {
+    CREATED,
+    UPDATED,
+    DELETED, // Soft delete (status = DELETED)
+    PERMANENTLY_DELETED,
+    IMAGES_CHANGED; // Thêm/xóa ảnh, đổi thumbnail
+
+    /**
+     * Thay đổi này có làm cache property_search bị xóa hay không
+     */
+    public boolean evictsSearch() {
+        return this != IMAGES_CHANGED;
+    }
+}
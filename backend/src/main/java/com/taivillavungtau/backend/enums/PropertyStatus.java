@@ -0,0 +1,17 @@
+package com.taivillavungtau.backend.enums;
+
+/**
+ * Trạng thái của 1 Villa (cột properties.status vẫn là chuỗi).
+ */
+public enum PropertyStatus {
+    ACTIVE,
+    INACTIVE,
+    DELETED; // Soft delete - chỉ qua DELETE /properties/{id}
+
+    /**
+     * Trạng thái được phép gán trực tiếp khi import / thao tác hàng loạt (ACTIVE, INACTIVE)
+     */
+    public static boolean isAssignable(String status) {
+        return ACTIVE.name().equals(status) || INACTIVE.name().equals(status);
+    }
+}
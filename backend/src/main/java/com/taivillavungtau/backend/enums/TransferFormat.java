@@ -0,0 +1,31 @@
+package com.taivillavungtau.backend.enums;
+
+import lombok.Getter;
+
+/**
+ * Định dạng file import / export catalog (GET/POST /api/v1/admin/properties/export|import)
+ */
+@Getter
+public enum TransferFormat {
+
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String value;
+    private final String mediaType;
+
+    TransferFormat(String value, String mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    // null nếu không hỗ trợ
+    public static TransferFormat fromValue(String value) {
+        for (TransferFormat format : TransferFormat.values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.taivillavungtau.backend.event;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Event phát ra bởi PropertyServiceImpl sau mỗi thao tác ghi lên Villa.
+ * Listener nên dùng @TransactionalEventListener(AFTER_COMMIT) để chỉ phản ứng
+ * khi dữ liệu đã thực sự được lưu.
+ *
+ * propertyId = null: thay đổi hàng loạt (import catalog) - listener coi như mọi
+ * căn đều có thể đã đổi.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PropertyChangedEvent {
+
+    private final Long propertyId;
+    private final PropertyChangeType type;
+    // Tên trường (theo PropertyDTO) đã đổi - rỗng nếu không áp dụng / không xác định
+    private final Set<String> changedFields;
+    // Status sau thay đổi (null: không rõ hoặc đã xóa vĩnh viễn)
+    private final String status;
+    private final LocalDateTime occurredAt;
+
+    public PropertyChangedEvent(Long propertyId, PropertyChangeType type) {
+        this(propertyId, type, Set.of(), null, LocalDateTime.now());
+    }
+
+    public static PropertyChangedEvent catalogWide(PropertyChangeType type) {
+        return new PropertyChangedEvent(null, type);
+    }
+}
@@ -0,0 +1,18 @@
+package com.taivillavungtau.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Event phát ra sau mỗi thao tác ghi lên dữ liệu danh mục (amenity, label,
+ * location, property type). ReferenceDataStore nạp lại snapshot sau khi commit.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ReferenceDataChangedEvent {
+
+    // Tên loại dữ liệu bị thay đổi (VD: "amenity", "location") - chỉ để log
+    private final String dataType;
+}
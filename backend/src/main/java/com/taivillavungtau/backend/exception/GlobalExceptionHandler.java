@@ -106,6 +106,13 @@ public class GlobalExceptionHandler {
                                                 null));
         }
 
+        // 9.1 Tham số nghiệp vụ không hợp lệ do service kiểm tra (VD: thao tác hàng loạt sai status)
+        @ExceptionHandler(IllegalArgumentException.class)
+        public ResponseEntity<ApiResponse<Object>> handleIllegalArgument(IllegalArgumentException ex) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), null));
+        }
+
         // 10. Lỗi hệ thống chung (500)
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ApiResponse<Object>> handleGlobalException(Exception ex) {
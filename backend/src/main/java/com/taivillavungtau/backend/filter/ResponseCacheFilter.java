@@ -0,0 +1,426 @@
+package com.taivillavungtau.backend.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.taivillavungtau.backend.cache.HotQueryTracker;
+import com.taivillavungtau.backend.cache.SearchCacheAdmission;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.utils.ETagUtils;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cache response đã serialize cho các GET công khai (properties, amenities,
+ * locations, property-types, bootstrap).
+ *
+ * Cách hoạt động:
+ * 1. Key = Accept + ngôn ngữ + path + query string đã sắp xếp
+ * 2. Miss: chạy controller như bình thường, lưu lại bytes cuối cùng (raw + gzip)
+ * 3. Hit: ghi thẳng bytes ra output stream - không Redis, không Jackson
+ *    (If-None-Match khớp ETag đã lưu -> 304)
+ *
+ * Không cache: request có Authorization (admin), response khác 200, Cache-Control
+ * no-store/private (vd. danh sách admin có DELETED) hoặc no-cache không kèm ETag.
+ * Tìm kiếm /api/v1/properties chỉ được lưu khi truy vấn đã qua SearchCacheAdmission
+ * (cùng ngưỡng với property_search) - keyword / trang hiếm không chiếm chỗ.
+ *
+ * Giới hạn max-entries / max-bytes: đầy thì bỏ entry hết hạn rồi tới entry lâu nhất
+ * chưa được đọc (LRU); entry hết hạn còn được dọn định kỳ mỗi sweep-interval-seconds.
+ *
+ * Xóa toàn bộ khi: PropertyChangedEvent (cùng lúc với evict property_search /
+ * properties) hoặc bất kỳ request ghi thành công nào vào các API catalog
+ * (amenity, label, location... xuất hiện bên trong PropertyDTO).
+ *
+ * Chạy sau Spring Security (CORS + rate limit vẫn áp dụng cho cache hit).
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(name = "cache.response.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final List<String> CACHED_PREFIXES = List.of(
+            "/api/v1/properties",
+            "/api/v1/amenities",
+            "/api/v1/locations",
+            "/api/v1/property-types",
+            "/api/v1/bootstrap");
+
+    // Ghi thành công vào các API này làm cũ dữ liệu đã cache
+    private static final List<String> INVALIDATING_PREFIXES = List.of(
+            "/api/v1/properties",
+            "/api/v1/amenities",
+            "/api/v1/locations",
+            "/api/v1/property-types",
+            "/api/v1/labels",
+            "/api/v1/admin");
+
+    private static final String PROPERTY_SEARCH_PATH = "/api/v1/properties";
+
+    // Header của response gốc được phát lại khi hit
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.CONTENT_LANGUAGE);
+
+    @Value("${cache.response.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${cache.response.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${cache.response.max-bytes:33554432}")
+    private long maxBytes;
+
+    // Body nhỏ hơn ngưỡng này không nén (gzip không lợi)
+    @Value("${cache.response.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    @Value("${cache.response.sweep-interval-seconds:60}")
+    private long sweepIntervalSeconds;
+
+    private final ObjectProvider<HotQueryTracker> hotQueryTracker;
+    private final ObjectProvider<SearchCacheAdmission> searchCacheAdmission;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+    // Tăng mỗi lần xóa cache - response tính xong sau khi xóa sẽ không được lưu
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "response-cache-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResponseCacheFilter(ObjectProvider<HotQueryTracker> hotQueryTracker,
+            ObjectProvider<SearchCacheAdmission> searchCacheAdmission) {
+        this.hotQueryTracker = hotQueryTracker;
+        this.searchCacheAdmission = searchCacheAdmission;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduler.scheduleWithFixedDelay(this::purgeExpired, sweepIntervalSeconds, sweepIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !startsWithAny(uri, CACHED_PREFIXES) && !startsWithAny(uri, INVALIDATING_PREFIXES);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            if (isSuccessful(response.getStatus()) && !HttpMethod.HEAD.matches(request.getMethod())
+                    && !HttpMethod.OPTIONS.matches(request.getMethod())) {
+                invalidateAll();
+            }
+            return;
+        }
+
+        if (!isCacheable(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = cacheKey(request);
+        Entry entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && !entry.isExpired(now, ttlSeconds)) {
+            entry.lastAccessAt = now;
+            recordHotQuery(request);
+            writeHit(entry, request, response);
+            return;
+        }
+        if (entry != null) {
+            remove(key, entry);
+        }
+
+        long generationBefore = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isStorable(wrapper) && isAdmitted(request)) {
+                store(key, wrapper, generationBefore);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Xóa toàn bộ response đã cache
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.keySet().forEach(key -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    // Cùng thời điểm với @CacheEvict property_search / properties
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        invalidateAll();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bỏ các entry đã hết hạn (luồng dọn định kỳ và khi cache đầy)
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (entry.isExpired(now, ttlSeconds)) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    private boolean isCacheable(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && startsWithAny(request.getRequestURI(), CACHED_PREFIXES);
+    }
+
+    private boolean isStorable(ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpStatus.OK.value() || response.getContentSize() == 0) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null) {
+            return true;
+        }
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return false;
+        }
+        // no-cache + ETag (danh mục không ?v=): client vẫn hỏi lại server mỗi lần, cache này
+        // bị xóa cùng lúc với dữ liệu nên trả từ đây (kể cả 304) vẫn đúng
+        return !cacheControl.contains("no-cache") || response.getHeader(HttpHeaders.ETAG) != null;
+    }
+
+    // Tìm kiếm: chỉ lưu truy vấn đã được nhận vào property_search (SearchCacheAdmission)
+    private boolean isAdmitted(HttpServletRequest request) {
+        SearchCacheAdmission admission = searchCacheAdmission.getIfAvailable();
+        if (admission == null || !PROPERTY_SEARCH_PATH.equals(request.getRequestURI())) {
+            return true;
+        }
+        return admission.isAdmitted(bindSearchRequest(request));
+    }
+
+    private void store(String key, ContentCachingResponseWrapper response, long generationBefore) throws IOException {
+        byte[] raw = response.getContentAsByteArray();
+        byte[] gzip = raw.length >= gzipMinBytes ? gzip(raw) : null;
+        long size = raw.length + (gzip != null ? gzip.length : 0);
+        if (size > maxBytes || !makeRoom(size)) {
+            return;
+        }
+
+        String[] headers = new String[REPLAYED_HEADERS.size()];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = response.getHeader(REPLAYED_HEADERS.get(i));
+        }
+        Entry entry = new Entry(response.getContentType(), headers, raw, gzip, System.currentTimeMillis());
+
+        Entry previous = entries.put(key, entry);
+        storedBytes.addAndGet(entry.size() - (previous != null ? previous.size() : 0));
+        // Có invalidate trong lúc tính response -> dữ liệu có thể đã cũ
+        if (generation.get() != generationBefore) {
+            remove(key, entry);
+        }
+    }
+
+    // Đủ chỗ cho size bytes: bỏ entry hết hạn trước, còn thiếu thì bỏ entry lâu nhất chưa được đọc
+    private boolean makeRoom(long size) {
+        if (hasRoom(size)) {
+            return true;
+        }
+        purgeExpired();
+        if (hasRoom(size)) {
+            return true;
+        }
+        Iterator<Map.Entry<String, Entry>> leastRecentlyUsed = entries.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastAccessAt))
+                .toList().iterator();
+        while (!hasRoom(size) && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, Entry> oldest = leastRecentlyUsed.next();
+            remove(oldest.getKey(), oldest.getValue());
+        }
+        return hasRoom(size);
+    }
+
+    private boolean hasRoom(long size) {
+        return entries.size() < maxEntries && storedBytes.get() + size <= maxBytes;
+    }
+
+    private void writeHit(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Key có Accept (JSON / CBOR / Smile) - giống WebMvcConfig, không chạy khi hit
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        for (int i = 0; i < entry.headers.length; i++) {
+            if (entry.headers[i] != null) {
+                response.setHeader(REPLAYED_HEADERS.get(i), entry.headers[i]);
+            }
+        }
+        String eTag = entry.headers[REPLAYED_HEADERS.indexOf(HttpHeaders.ETAG)];
+        if (ETagUtils.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType);
+        byte[] body = entry.raw;
+        if (entry.gzip != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = entry.gzip;
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void recordHotQuery(HttpServletRequest request) {
+        HotQueryTracker tracker = hotQueryTracker.getIfAvailable();
+        if (tracker != null && PROPERTY_SEARCH_PATH.equals(request.getRequestURI())) {
+            // Response đã cache = request hợp lệ (đã qua @Valid ở lần miss)
+            tracker.record(bindSearchRequest(request));
+        }
+    }
+
+    // Giống PropertyController.getProperties: ?fields= chuẩn hóa để khớp key của HotQueryTracker / admission
+    private static PropertySearchRequest bindSearchRequest(HttpServletRequest request) {
+        PropertySearchRequest searchRequest = new PropertySearchRequest();
+        new ServletRequestDataBinder(searchRequest).bind(request);
+        searchRequest.setFields(PropertyFieldSet.canonical(searchRequest.getFields()));
+        return searchRequest;
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            storedBytes.addAndGet(-entry.size());
+        }
+    }
+
+    /**
+     * Key chuẩn hóa: thứ tự tham số query không ảnh hưởng
+     */
+    static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(128)
+                .append(request.getHeader(HttpHeaders.ACCEPT)).append('|')
+                .append(request.getLocale().toLanguageTag()).append('|')
+                .append(request.getRequestURI());
+        String[] names = request.getParameterMap().keySet().toArray(String[]::new);
+        Arrays.sort(names);
+        char separator = '?';
+        for (String name : names) {
+            for (String value : request.getParameterValues(name)) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static boolean isSuccessful(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static boolean startsWithAny(String path, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Entry {
+        final String contentType;
+        final String[] headers;
+        final byte[] raw;
+        final byte[] gzip;
+        final long createdAt;
+        // Cập nhật khi hit, không cần chính xác tuyệt đối (chỉ để chọn entry bỏ khi đầy)
+        volatile long lastAccessAt;
+
+        Entry(String contentType, String[] headers, byte[] raw, byte[] gzip, long createdAt) {
+            this.contentType = contentType;
+            this.headers = headers;
+            this.raw = raw;
+            this.gzip = gzip;
+            this.createdAt = createdAt;
+            this.lastAccessAt = createdAt;
+        }
+
+        boolean isExpired(long now, long ttlSeconds) {
+            return now - createdAt > ttlSeconds * 1000;
+        }
+
+        long size() {
+            return raw.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
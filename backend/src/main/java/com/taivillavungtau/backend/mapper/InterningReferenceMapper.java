@@ -0,0 +1,41 @@
+package com.taivillavungtau.backend.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.taivillavungtau.backend.cache.ReferenceDtoRegistry;
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Amenity / Label -> DTO cho PropertyMapper: trả instance dùng chung từ
+ * ReferenceDtoRegistry, chỉ tạo DTO mới khi registry chưa có (hoặc đã cũ).
+ * Chỉ để MapStruct gọi - không thêm method public khác (MapStruct sẽ chọn nhầm).
+ */
+@Component
+@RequiredArgsConstructor
+public class InterningReferenceMapper {
+
+    private final ReferenceDtoRegistry referenceDtoRegistry;
+    private final AmenityMapper amenityMapper;
+    private final LabelMapper labelMapper;
+
+    public AmenityDTO toDTO(Amenity amenity) {
+        if (amenity == null) {
+            return null;
+        }
+        AmenityDTO interned = referenceDtoRegistry.amenity(amenity);
+        return interned != null ? interned : amenityMapper.toDTO(amenity);
+    }
+
+    public LabelDTO toDTO(Label label) {
+        if (label == null) {
+            return null;
+        }
+        LabelDTO interned = referenceDtoRegistry.label(label);
+        return interned != null ? interned : labelMapper.toDTO(label);
+    }
+}
@@ -0,0 +1,11 @@
+package com.taivillavungtau.backend.mapper;
+
+import com.taivillavungtau.backend.dto.LocationDTO;
+import com.taivillavungtau.backend.entity.Location;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface LocationMapper {
+
+    LocationDTO toDTO(Location location);
+}
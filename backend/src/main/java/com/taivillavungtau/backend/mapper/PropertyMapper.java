@@ -1,13 +1,23 @@
 package com.taivillavungtau.backend.mapper;
 
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
 import com.taivillavungtau.backend.dto.PropertyDTO;
 import com.taivillavungtau.backend.dto.PropertyImageDTO;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.ArchivedProperty;
+import com.taivillavungtau.backend.entity.ArchivedPropertyImage;
+import com.taivillavungtau.backend.entity.Label;
 import com.taivillavungtau.backend.entity.Property;
 import com.taivillavungtau.backend.entity.PropertyImage;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", uses = { AmenityMapper.class, LabelMapper.class })
+import java.util.List;
+import java.util.Set;
+
+// Amenity / Label dùng instance dùng chung (flyweight) - xem ReferenceDtoRegistry
+@Mapper(componentModel = "spring", uses = InterningReferenceMapper.class)
 public interface PropertyMapper {
 
     // Entity -> DTO
@@ -19,8 +29,44 @@ public interface PropertyMapper {
     @Mapping(target = "locationName", source = "locationEntity.name")
     @Mapping(target = "propertyTypeId", source = "propertyType.id")
     @Mapping(target = "propertyTypeName", source = "propertyType.name")
+    @Mapping(target = "archivedAt", ignore = true)
     PropertyDTO toDTO(Property property);
 
+    // Căn trong bảng archive (trang admin) - cùng tên thuộc tính với Property
+    @Mapping(target = "amenityIds", ignore = true)
+    @Mapping(target = "labelIds", ignore = true)
+    @Mapping(target = "locationId", source = "locationEntity.id")
+    @Mapping(target = "locationName", source = "locationEntity.name")
+    @Mapping(target = "propertyTypeId", source = "propertyType.id")
+    @Mapping(target = "propertyTypeName", source = "propertyType.name")
+    PropertyDTO toDTO(ArchivedProperty property);
+
+    // Entity -> DTO không chạm vào collection LAZY (dùng cho ?fields=): service tự
+    // gán images/amenities/labels khi được yêu cầu. Tên location/type lấy từ snapshot.
+    @Mapping(target = "amenityIds", ignore = true)
+    @Mapping(target = "labelIds", ignore = true)
+    @Mapping(target = "images", ignore = true)
+    @Mapping(target = "amenities", ignore = true)
+    @Mapping(target = "labels", ignore = true)
+    @Mapping(target = "locationId", source = "locationEntity.id")
+    @Mapping(target = "locationName", ignore = true)
+    @Mapping(target = "propertyTypeId", source = "propertyType.id")
+    @Mapping(target = "propertyTypeName", ignore = true)
+    @Mapping(target = "archivedAt", ignore = true)
+    PropertyDTO toBasicDTO(Property property);
+
+    // Như toBasicDTO cho căn archive (?fields=); location/type đã fetch join cùng trang nên map luôn
+    @Mapping(target = "amenityIds", ignore = true)
+    @Mapping(target = "labelIds", ignore = true)
+    @Mapping(target = "images", ignore = true)
+    @Mapping(target = "amenities", ignore = true)
+    @Mapping(target = "labels", ignore = true)
+    @Mapping(target = "locationId", source = "locationEntity.id")
+    @Mapping(target = "locationName", source = "locationEntity.name")
+    @Mapping(target = "propertyTypeId", source = "propertyType.id")
+    @Mapping(target = "propertyTypeName", source = "propertyType.name")
+    PropertyDTO toBasicDTO(ArchivedProperty property);
+
     // DTO -> Entity
     @Mapping(target = "amenities", ignore = true) // Sẽ xử lý tay trong Service
     @Mapping(target = "labels", ignore = true) // Sẽ xử lý tay trong Service
@@ -34,4 +80,14 @@ public interface PropertyMapper {
 
     PropertyImageDTO toImageDTO(PropertyImage propertyImage);
 
+    PropertyImageDTO toImageDTO(ArchivedPropertyImage propertyImage);
+
+    List<PropertyImageDTO> toImageDTOs(Set<PropertyImage> images);
+
+    List<PropertyImageDTO> toArchivedImageDTOs(Set<ArchivedPropertyImage> images);
+
+    List<AmenityDTO> toAmenityDTOs(Set<Amenity> amenities);
+
+    List<LabelDTO> toLabelDTOs(Set<Label> labels);
+
 }
\ No newline at end of file
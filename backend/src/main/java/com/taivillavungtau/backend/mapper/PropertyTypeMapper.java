@@ -0,0 +1,11 @@
+package com.taivillavungtau.backend.mapper;
+
+import com.taivillavungtau.backend.dto.PropertyTypeDTO;
+import com.taivillavungtau.backend.entity.PropertyType;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface PropertyTypeMapper {
+
+    PropertyTypeDTO toDTO(PropertyType propertyType);
+}
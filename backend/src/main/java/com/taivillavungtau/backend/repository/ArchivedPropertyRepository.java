@@ -0,0 +1,21 @@
+package com.taivillavungtau.backend.repository;
+
+import com.taivillavungtau.backend.entity.ArchivedProperty;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedPropertyRepository
+                extends JpaRepository<ArchivedProperty, Long>, JpaSpecificationExecutor<ArchivedProperty> {
+
+        // Trang admin (statusList có DELETED): quan hệ N-1 fetch join, collection nạp theo lô (BatchSize)
+        @Override
+        @EntityGraph(attributePaths = { "locationEntity", "propertyType" })
+        Page<ArchivedProperty> findAll(Specification<ArchivedProperty> spec, Pageable pageable);
+}
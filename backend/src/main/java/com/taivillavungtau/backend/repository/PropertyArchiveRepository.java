@@ -0,0 +1,102 @@
+package com.taivillavungtau.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Chuyển Villa đã xóa mềm giữa bảng chính và bảng *_archive bằng INSERT ... SELECT
+ * + DELETE theo lô ID (không nạp entity). Đọc căn đã archive cho trang admin: ArchivedPropertyRepository.
+ *
+ * Không xóa cache / không phát event - việc của service gọi.
+ */
+@Repository
+public class PropertyArchiveRepository {
+
+    private static final String PROPERTY_COLUMNS = "id, code, " + String.join(", ", PropertyBulkRepository.COLUMNS)
+            + ", created_at";
+
+    // Bảng con: {bảng chính, bảng archive, cột chép (đều có property_id)}
+    private static final List<String[]> CHILD_TABLES = List.of(
+            new String[] { "property_images", "property_images_archive", "id, property_id, image_url, is_thumbnail" },
+            new String[] { "property_amenities", "property_amenities_archive", "property_id, amenity_id" },
+            new String[] { "property_labels", "property_labels_archive", "property_id, label_id" },
+            new String[] { "property_slug_redirects", "property_slug_redirects_archive", "property_id, slug" });
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PropertyArchiveRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public record ArchivedKey(long id, String code) {
+    }
+
+    /**
+     * Khóa (FOR UPDATE) tối đa limit căn DELETED có updated_at trước cutoff - gọi trong
+     * transaction của archive(): admin kích hoạt lại căn giữa chừng sẽ phải chờ lô này
+     */
+    public List<Long> lockExpired(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM properties WHERE status = 'DELETED' AND updated_at < ? "
+                + "ORDER BY id LIMIT ? FOR UPDATE", Long.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Chép căn + bảng con sang *_archive rồi xóa khỏi bảng chính (con trước, cha sau)
+     */
+    public void archive(List<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<String, Object> params = Map.of("ids", ids, "now", Timestamp.valueOf(now));
+        namedJdbcTemplate.update("INSERT INTO properties_archive (" + PROPERTY_COLUMNS + ", archived_at) SELECT "
+                + PROPERTY_COLUMNS + ", :now FROM properties WHERE id IN (:ids)", params);
+        for (String[] table : CHILD_TABLES) {
+            namedJdbcTemplate.update("INSERT INTO " + table[1] + " (" + table[2] + ") SELECT " + table[2]
+                    + " FROM " + table[0] + " WHERE property_id IN (:ids)", params);
+        }
+        for (String[] table : CHILD_TABLES) {
+            namedJdbcTemplate.update("DELETE FROM " + table[0] + " WHERE property_id IN (:ids)", params);
+        }
+        namedJdbcTemplate.update("DELETE FROM properties WHERE id IN (:ids)", params);
+    }
+
+    public Optional<ArchivedKey> findArchivedKey(long id) {
+        return jdbcTemplate.query("SELECT id, code FROM properties_archive WHERE id = ?",
+                (rs, rowNum) -> new ArchivedKey(rs.getLong("id"), rs.getString("code")), id).stream().findFirst();
+    }
+
+    /**
+     * Chuyển 1 căn từ archive về bảng chính (giữ nguyên ID, status), updated_at = now để
+     * archiver không chuyển lại ngay. Slug cũ đã được căn khác dùng làm redirect thì bỏ qua.
+     */
+    public void restore(long id, LocalDateTime now) {
+        Map<String, Object> params = Map.of("id", id, "now", Timestamp.valueOf(now));
+        namedJdbcTemplate.update("INSERT INTO properties (" + PROPERTY_COLUMNS + ") SELECT " + PROPERTY_COLUMNS
+                + " FROM properties_archive WHERE id = :id", params);
+        namedJdbcTemplate.update("UPDATE properties SET updated_at = :now WHERE id = :id", params);
+        for (String[] table : CHILD_TABLES) {
+            if (table[0].equals("property_slug_redirects")) {
+                namedJdbcTemplate.update("INSERT INTO property_slug_redirects (slug, property_id, created_at) "
+                        + "SELECT a.slug, a.property_id, :now FROM property_slug_redirects_archive a "
+                        + "WHERE a.property_id = :id AND NOT EXISTS "
+                        + "(SELECT 1 FROM property_slug_redirects r WHERE r.slug = a.slug)", params);
+            } else {
+                namedJdbcTemplate.update("INSERT INTO " + table[0] + " (" + table[2] + ") SELECT " + table[2]
+                        + " FROM " + table[1] + " WHERE property_id = :id", params);
+            }
+        }
+        for (String[] table : CHILD_TABLES) {
+            namedJdbcTemplate.update("DELETE FROM " + table[1] + " WHERE property_id = :id", params);
+        }
+        namedJdbcTemplate.update("DELETE FROM properties_archive WHERE id = :id", params);
+    }
+}
@@ -0,0 +1,441 @@
+package com.taivillavungtau.backend.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taivillavungtau.backend.dto.PropertyTransferRow;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.enums.LocationType;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Đọc / ghi property theo lô bằng JDBC cho import / export catalog và thao tác
+ * hàng loạt của admin (UPDATE ... WHERE id IN, không nạp entity), chèn ảnh khi tạo căn.
+ *
+ * Không đi qua Hibernate: mỗi lô là vài câu batch (INSERT / UPDATE properties,
+ * xóa + chèn lại ảnh, amenity, label, nhật ký thay đổi) thay vì 2 lần save +
+ * lookup quan hệ cho từng căn. Với MySQL cần rewriteBatchedStatements=true để
+ * driver gộp batch thành INSERT nhiều dòng.
+ *
+ * Không xóa cache / không phát event - việc của service gọi.
+ */
+@Repository
+public class PropertyBulkRepository {
+
+    // Cột chung cho INSERT và UPDATE (thứ tự khớp với bindColumns), cũng là cột chép sang properties_archive
+    static final List<String> COLUMNS = List.of("name", "slug", "status", "property_type_id", "location_id",
+            "location", "area", "address", "price_weekday", "price_weekend", "price_note", "standard_guests",
+            "max_guests", "bedroom_count", "bathroom_count", "bed_count", "bed_config", "pool_area",
+            "distance_to_sea", "is_featured", "description", "map_url", "facebook_link", "meta_title",
+            "meta_description", "google_sheets_url", "google_sheets_note", "updated_at");
+
+    private static final String INSERT_SQL = "INSERT INTO properties (code, " + String.join(", ", COLUMNS)
+            + ", created_at) VALUES (?, " + COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", "))
+            + ", ?)";
+    // Cột null (file thiếu cột hoặc ô trống) -> giữ giá trị đang có; import không xóa được giá trị
+    private static final String UPDATE_SQL = "UPDATE properties SET " + COLUMNS.stream()
+            .map(column -> column.equals("updated_at")
+                    ? column + " = ?"
+                    : column + " = COALESCE(?, " + column + ")")
+            .collect(Collectors.joining(", ")) + " WHERE id = ?";
+    // Giới hạn số phần tử trong 1 mệnh đề IN
+    private static final int IN_CHUNK_SIZE = 1000;
+    // Giá sau khi tăng / giảm % làm tròn đến nghìn đồng
+    private static final int PRICE_ROUNDING_SCALE = -3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManager entityManager;
+
+    public PropertyBulkRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 1 căn cần ghi. replace* = false: giữ nguyên quan hệ đang có (chỉ áp dụng khi cập nhật)
+     */
+    public record Upsert(Property property, boolean replaceImages, boolean replaceAmenities,
+            boolean replaceLabels) {
+    }
+
+    public record PropertyKey(long id, String slug) {
+    }
+
+    public record ExportChunk(List<PropertyTransferRow> rows, long lastId) {
+    }
+
+    /**
+     * code -> (id, slug) của toàn bộ catalog, để phân loại INSERT / UPDATE trong bộ nhớ
+     */
+    public Map<String, PropertyKey> findAllKeys() {
+        Map<String, PropertyKey> keys = new HashMap<>();
+        jdbcTemplate.query("SELECT id, code, slug FROM properties", (ResultSet rs) -> {
+            keys.put(rs.getString("code"), new PropertyKey(rs.getLong("id"), rs.getString("slug")));
+        });
+        return keys;
+    }
+
+    /**
+     * INSERT các căn mới (property.id == null), trả về code -> ID vừa sinh
+     */
+    public Map<String, Long> insertProperties(List<Property> properties, LocalDateTime now) {
+        if (properties.isEmpty()) {
+            return Map.of();
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, properties, properties.size(), (ps, property) -> {
+            ps.setString(1, property.getCode());
+            int next = bindColumns(ps, 2, property, now);
+            ps.setTimestamp(next, Timestamp.valueOf(now));
+        });
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, code FROM properties WHERE code IN (:codes)",
+                Map.of("codes", properties.stream().map(Property::getCode).toList()),
+                (ResultSet rs) -> {
+                    ids.put(rs.getString("code"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void updateProperties(List<Property> properties, LocalDateTime now) {
+        if (properties.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, properties, properties.size(), (ps, property) -> {
+            int next = bindColumns(ps, 1, property, now);
+            ps.setLong(next, property.getId());
+        });
+    }
+
+    /**
+     * Thay ảnh / amenity / label của các căn có cờ replace*. property.id phải đã có.
+     */
+    public void replaceAssociations(List<Upsert> upserts) {
+        List<Upsert> images = upserts.stream().filter(Upsert::replaceImages).toList();
+        List<Upsert> amenities = upserts.stream().filter(Upsert::replaceAmenities).toList();
+        List<Upsert> labels = upserts.stream().filter(Upsert::replaceLabels).toList();
+
+        deleteByPropertyIds("property_images", images);
+        deleteByPropertyIds("property_amenities", amenities);
+        deleteByPropertyIds("property_labels", labels);
+
+        List<PropertyImage> imageRows = new ArrayList<>();
+        images.forEach(upsert -> upsert.property().getImages().forEach(image -> {
+            image.setProperty(upsert.property());
+            imageRows.add(image);
+        }));
+        batchInsertImages(imageRows);
+
+        insertLinks("INSERT INTO property_amenities (property_id, amenity_id) VALUES (?, ?)", amenities.stream()
+                .flatMap(upsert -> upsert.property().getAmenities().stream()
+                        .map(amenity -> new long[] { upsert.property().getId(), amenity.getId() }))
+                .toList());
+        insertLinks("INSERT INTO property_labels (property_id, label_id) VALUES (?, ?)", labels.stream()
+                .flatMap(upsert -> upsert.property().getLabels().stream()
+                        .map(label -> new long[] { upsert.property().getId(), label.getId() }))
+                .toList());
+    }
+
+    /**
+     * Chèn ảnh của 1 căn (đã có ID) trong 1 batch thay vì 1 INSERT IDENTITY mỗi ảnh,
+     * trả về toàn bộ ảnh của căn kèm ID theo thứ tự chèn.
+     * Ảnh không được thêm vào Property.images đang managed (sẽ bị persist lần nữa).
+     */
+    public List<PropertyImage> insertImages(Property property, List<PropertyImage> images) {
+        images.forEach(image -> image.setProperty(property));
+        batchInsertImages(images);
+        return jdbcTemplate.query("SELECT id, image_url, is_thumbnail FROM property_images "
+                + "WHERE property_id = ? ORDER BY id", (rs, rowNum) -> PropertyImage.builder()
+                        .id(rs.getLong("id"))
+                        .imageUrl(rs.getString("image_url"))
+                        .isThumbnail(rs.getBoolean("is_thumbnail"))
+                        .property(property)
+                        .build(),
+                property.getId());
+    }
+
+    /**
+     * Slug cũ -> căn hiện tại (như PropertyKeyIndex.onKeysChanged), ghi đè redirect trùng slug
+     */
+    public void saveSlugRedirects(Map<String, Long> oldSlugs, LocalDateTime now) {
+        if (oldSlugs.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(oldSlugs.entrySet());
+        jdbcTemplate.batchUpdate("DELETE FROM property_slug_redirects WHERE slug = ?", entries, entries.size(),
+                (ps, entry) -> ps.setString(1, entry.getKey()));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO property_slug_redirects (slug, property_id, created_at) VALUES (?, ?, ?)",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setString(1, entry.getKey());
+                    ps.setLong(2, entry.getValue());
+                    ps.setTimestamp(3, Timestamp.valueOf(now));
+                });
+    }
+
+    /**
+     * Ghi nhật ký thay đổi (change feed) cùng transaction với lô
+     */
+    public void appendChanges(Map<Long, PropertyChangeType> changes, LocalDateTime now) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, PropertyChangeType>> entries = new ArrayList<>(changes.entrySet());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO property_changes (property_id, change_type, changed_at) VALUES (?, ?, ?)",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getKey());
+                    ps.setString(2, entry.getValue().name());
+                    ps.setTimestamp(3, Timestamp.valueOf(now));
+                });
+    }
+
+    /**
+     * ID (tăng dần) các căn khớp spec, tối đa limit - chỉ SELECT id, không nạp entity
+     */
+    public List<Long> findIds(Specification<Property> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Property> root = query.from(Property.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("id")).orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    public int updateStatus(List<Long> ids, String status, LocalDateTime now) {
+        return updateByIds("status = :status", Map.of("status", status), ids, now);
+    }
+
+    public int updateFeatured(List<Long> ids, boolean featured, LocalDateTime now) {
+        return updateByIds("is_featured = :featured", Map.of("featured", featured), ids, now);
+    }
+
+    /**
+     * Nhân giá với factor (1.1 = +10%), làm tròn đến nghìn đồng. Giá NULL giữ NULL.
+     */
+    public int adjustPrices(List<Long> ids, BigDecimal factor, boolean weekday, boolean weekend,
+            LocalDateTime now) {
+        List<String> assignments = new ArrayList<>();
+        if (weekday) {
+            assignments.add("price_weekday = ROUND(price_weekday * :factor, " + PRICE_ROUNDING_SCALE + ")");
+        }
+        if (weekend) {
+            assignments.add("price_weekend = ROUND(price_weekend * :factor, " + PRICE_ROUNDING_SCALE + ")");
+        }
+        return updateByIds(String.join(", ", assignments), Map.of("factor", factor), ids, now);
+    }
+
+    /**
+     * 1 trang export theo keyset (id > afterId), kèm ảnh / amenity / label của các căn trong trang
+     */
+    public ExportChunk findExportChunk(long afterId, int size) {
+        Map<Long, PropertyTransferRow> rows = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT p.*, l.slug AS location_slug, t.slug AS type_slug FROM properties p "
+                + "LEFT JOIN locations l ON l.id = p.location_id "
+                + "LEFT JOIN property_types t ON t.id = p.property_type_id "
+                + "WHERE p.id > ? ORDER BY p.id LIMIT ?", (ResultSet rs) -> {
+                    rows.put(rs.getLong("id"), toRow(rs));
+                }, afterId, size);
+        if (rows.isEmpty()) {
+            return new ExportChunk(List.of(), afterId);
+        }
+
+        Map<String, Object> params = Map.of("ids", rows.keySet());
+        namedJdbcTemplate.query("SELECT property_id, image_url, is_thumbnail FROM property_images "
+                + "WHERE property_id IN (:ids) ORDER BY id", params, (ResultSet rs) -> {
+                    PropertyTransferRow row = rows.get(rs.getLong("property_id"));
+                    row.getImages().add(rs.getString("image_url"));
+                    if (rs.getBoolean("is_thumbnail")) {
+                        row.setThumbnail(rs.getString("image_url"));
+                    }
+                });
+        namedJdbcTemplate.query("SELECT pa.property_id, a.name FROM property_amenities pa "
+                + "JOIN amenities a ON a.id = pa.amenity_id WHERE pa.property_id IN (:ids) ORDER BY a.id", params,
+                (ResultSet rs) -> {
+                    rows.get(rs.getLong("property_id")).getAmenities().add(rs.getString("name"));
+                });
+        namedJdbcTemplate.query("SELECT pl.property_id, lb.name FROM property_labels pl "
+                + "JOIN labels lb ON lb.id = pl.label_id WHERE pl.property_id IN (:ids) ORDER BY lb.id", params,
+                (ResultSet rs) -> {
+                    rows.get(rs.getLong("property_id")).getLabels().add(rs.getString("name"));
+                });
+
+        long lastId = 0;
+        for (Long id : rows.keySet()) {
+            lastId = id;
+        }
+        return new ExportChunk(new ArrayList<>(rows.values()), lastId);
+    }
+
+    private int bindColumns(PreparedStatement ps, int index, Property property, LocalDateTime now)
+            throws SQLException {
+        ps.setString(index++, property.getName());
+        ps.setString(index++, property.getSlug());
+        ps.setString(index++, property.getStatus());
+        setLong(ps, index++, property.getPropertyType() != null ? property.getPropertyType().getId() : null);
+        setLong(ps, index++, property.getLocationEntity() != null ? property.getLocationEntity().getId() : null);
+        ps.setString(index++, property.getLocation() != null ? property.getLocation().name() : null);
+        ps.setString(index++, property.getArea());
+        ps.setString(index++, property.getAddress());
+        ps.setBigDecimal(index++, property.getPriceWeekday());
+        ps.setBigDecimal(index++, property.getPriceWeekend());
+        ps.setString(index++, property.getPriceNote());
+        setInt(ps, index++, property.getStandardGuests());
+        setInt(ps, index++, property.getMaxGuests());
+        setInt(ps, index++, property.getBedroomCount());
+        setInt(ps, index++, property.getBathroomCount());
+        setInt(ps, index++, property.getBedCount());
+        ps.setString(index++, property.getBedConfig());
+        ps.setString(index++, property.getPoolArea());
+        ps.setString(index++, property.getDistanceToSea());
+        if (property.getIsFeatured() == null) {
+            ps.setNull(index++, Types.BOOLEAN);
+        } else {
+            ps.setBoolean(index++, property.getIsFeatured());
+        }
+        ps.setString(index++, property.getDescription());
+        ps.setString(index++, property.getMapUrl());
+        ps.setString(index++, property.getFacebookLink());
+        ps.setString(index++, property.getMetaTitle());
+        ps.setString(index++, property.getMetaDescription());
+        ps.setString(index++, property.getGoogleSheetsUrl());
+        ps.setString(index++, property.getGoogleSheetsNote());
+        ps.setTimestamp(index++, Timestamp.valueOf(now));
+        return index;
+    }
+
+    private void deleteByPropertyIds(String table, List<Upsert> upserts) {
+        if (upserts.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("DELETE FROM " + table + " WHERE property_id IN (:ids)",
+                Map.of("ids", ids(upserts)));
+    }
+
+    private void insertLinks(String sql, List<long[]> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    private static Collection<Long> ids(List<Upsert> upserts) {
+        return upserts.stream().map(upsert -> upsert.property().getId()).toList();
+    }
+
+    private static PropertyTransferRow toRow(ResultSet rs) throws SQLException {
+        String locationType = rs.getString("location");
+        return PropertyTransferRow.builder()
+                .code(rs.getString("code"))
+                .name(rs.getString("name"))
+                .slug(rs.getString("slug"))
+                .status(rs.getString("status"))
+                .propertyType(rs.getString("type_slug"))
+                .location(rs.getString("location_slug"))
+                .locationType(locationType != null ? LocationType.valueOf(locationType) : null)
+                .area(rs.getString("area"))
+                .address(rs.getString("address"))
+                .priceWeekday(rs.getBigDecimal("price_weekday"))
+                .priceWeekend(rs.getBigDecimal("price_weekend"))
+                .priceNote(rs.getString("price_note"))
+                .standardGuests(getInt(rs, "standard_guests"))
+                .maxGuests(getInt(rs, "max_guests"))
+                .bedroomCount(getInt(rs, "bedroom_count"))
+                .bathroomCount(getInt(rs, "bathroom_count"))
+                .bedCount(getInt(rs, "bed_count"))
+                .bedConfig(rs.getString("bed_config"))
+                .poolArea(rs.getString("pool_area"))
+                .distanceToSea(rs.getString("distance_to_sea"))
+                .isFeatured(rs.getBoolean("is_featured"))
+                .description(rs.getString("description"))
+                .mapUrl(rs.getString("map_url"))
+                .facebookLink(rs.getString("facebook_link"))
+                .metaTitle(rs.getString("meta_title"))
+                .metaDescription(rs.getString("meta_description"))
+                .googleSheetsUrl(rs.getString("google_sheets_url"))
+                .googleSheetsNote(rs.getString("google_sheets_note"))
+                .images(new ArrayList<>())
+                .amenities(new ArrayList<>())
+                .labels(new ArrayList<>())
+                .build();
+    }
+
+    private static Integer getInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private void batchInsertImages(List<PropertyImage> images) {
+        if (images.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO property_images (image_url, is_thumbnail, property_id) VALUES (?, ?, ?)",
+                images, images.size(), (ps, image) -> {
+                    ps.setString(1, image.getImageUrl());
+                    ps.setBoolean(2, Boolean.TRUE.equals(image.getIsThumbnail()));
+                    ps.setLong(3, image.getProperty().getId());
+                });
+    }
+
+    // 1 câu UPDATE cho mỗi IN_CHUNK_SIZE id, chạy trong transaction của service gọi
+    private int updateByIds(String assignments, Map<String, Object> values, List<Long> ids, LocalDateTime now) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            Map<String, Object> params = new HashMap<>(values);
+            params.put("ids", ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size())));
+            params.put("now", Timestamp.valueOf(now));
+            updated += namedJdbcTemplate.update("UPDATE properties SET " + assignments
+                    + ", updated_at = :now WHERE id IN (:ids)", params);
+        }
+        return updated;
+    }
+}
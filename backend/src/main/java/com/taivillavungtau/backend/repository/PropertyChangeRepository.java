@@ -0,0 +1,28 @@
+package com.taivillavungtau.backend.repository;
+
+import com.taivillavungtau.backend.entity.PropertyChange;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PropertyChangeRepository extends JpaRepository<PropertyChange, Long> {
+
+        /**
+         * Change feed: các dòng sau token since (quét theo khóa chính), chỉ lấy dòng
+         * ghi trước settledBefore - transaction đang chạy có thể commit id nhỏ hơn sau
+         */
+        @Query("""
+                        SELECT c FROM PropertyChange c
+                        WHERE c.id > :since AND c.changedAt < :settledBefore
+                        ORDER BY c.id
+                        LIMIT :limit
+                        """)
+        List<PropertyChange> findChangesSince(@Param("since") long since,
+                        @Param("settledBefore") LocalDateTime settledBefore, @Param("limit") int limit);
+}
@@ -1,5 +1,6 @@
 package com.taivillavungtau.backend.repository;
 
+import com.taivillavungtau.backend.dto.response.PropertySitemapEntry;
 import com.taivillavungtau.backend.entity.Property;
 
 import org.springframework.data.domain.Page;
@@ -8,7 +9,11 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -33,6 +38,38 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
         @EntityGraph(attributePaths = { "amenities", "images" })
         Optional<Property> findBySlug(String slug);
 
+        // Lấy nhiều căn theo ID trong 1 truy vấn (batch endpoint) - Fetch luôn amenities & images
+        @EntityGraph(attributePaths = { "amenities", "images", "locationEntity", "propertyType" })
+        List<Property> findByIdIn(Collection<Long> ids);
+
+        // Chỉ lấy ID theo slug / code (PropertyKeyIndex) - dùng index, không nạp entity
+        @Query("SELECT p.id FROM Property p WHERE p.slug = :slug ORDER BY p.id LIMIT 1")
+        Optional<Long> findIdBySlug(@Param("slug") String slug);
+
+        @Query("SELECT p.id FROM Property p WHERE p.code = :code")
+        Optional<Long> findIdByCode(@Param("code") String code);
+
+        // Chỉ lấy cột ID - dựng Bloom filter cho negative cache
+        @Query("SELECT p.id FROM Property p")
+        List<Long> findAllIds();
+
+        /**
+         * Sitemap: keyset theo id (WHERE id > :afterId), chỉ đọc cột trong index
+         * idx_properties_sitemap (status, id, updated_at, slug, code) -> index-only scan,
+         * chi phí không tăng theo số trang như OFFSET
+         */
+        @Query("""
+            SELECT new com.taivillavungtau.backend.dto.response.PropertySitemapEntry(
+                p.id, p.slug, p.code, p.updatedAt
+            )
+            FROM Property p
+            WHERE p.status = :status AND p.id > :afterId
+            ORDER BY p.id
+            LIMIT :limit
+        """)
+        List<PropertySitemapEntry> findSitemapPage(@Param("status") String status, @Param("afterId") long afterId,
+                        @Param("limit") int limit);
+
         // Kiểm tra mã đã tồn tại chưa
         boolean existsByCode(String code);
 
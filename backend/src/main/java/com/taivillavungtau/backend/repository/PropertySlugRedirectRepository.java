@@ -0,0 +1,26 @@
+package com.taivillavungtau.backend.repository;
+
+import com.taivillavungtau.backend.entity.PropertySlugRedirect;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PropertySlugRedirectRepository extends JpaRepository<PropertySlugRedirect, String> {
+
+        @Query("SELECT r.propertyId FROM PropertySlugRedirect r WHERE r.slug = :slug")
+        Optional<Long> findPropertyIdBySlug(@Param("slug") String slug);
+
+        @Query("SELECT r.slug FROM PropertySlugRedirect r WHERE r.propertyId = :propertyId")
+        List<String> findSlugsByPropertyId(@Param("propertyId") Long propertyId);
+
+        @Modifying
+        @Query("DELETE FROM PropertySlugRedirect r WHERE r.propertyId = :propertyId")
+        void deleteByPropertyId(@Param("propertyId") Long propertyId);
+}
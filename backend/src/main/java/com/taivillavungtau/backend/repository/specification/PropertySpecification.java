@@ -13,11 +13,14 @@ import org.springframework.util.StringUtils;
 
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.entity.Amenity;
-import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.Label;
 
 public class PropertySpecification {
 
-    public static Specification<Property> filter(PropertySearchRequest request) {
+    /**
+     * Dùng cho Property và ArchivedProperty (cùng tên thuộc tính)
+     */
+    public static <T> Specification<T> filter(PropertySearchRequest request) {
         return (root, query, criteriaBuilder) -> {
             if (query == null) {
                 return criteriaBuilder.conjunction();
@@ -126,8 +129,8 @@ public class PropertySpecification {
                     // Logic: Villa phải có ĐỦ TẤT CẢ các tiện ích
                     // Sử dụng Subquery với COUNT
                     Subquery<Long> subquery = query.subquery(Long.class);
-                    var subRoot = subquery.from(Property.class);
-                    Join<Property, Amenity> subJoin = subRoot.join("amenities");
+                    var subRoot = subquery.from(root.getJavaType());
+                    Join<?, Amenity> subJoin = subRoot.join("amenities");
 
                     subquery.select(criteriaBuilder.count(subJoin.get("id")))
                             .where(
@@ -140,7 +143,7 @@ public class PropertySpecification {
 
                 } else {
                     // Logic mặc định: Villa có ít nhất 1 trong các tiện ích (ANY)
-                    Join<Property, Amenity> amenitiesJoin = root.join("amenities", JoinType.INNER);
+                    Join<?, Amenity> amenitiesJoin = root.join("amenities", JoinType.INNER);
                     predicates.add(amenitiesJoin.get("id").in(request.getAmenityIds()));
                     query.distinct(true); // Loại bỏ duplicate
                 }
@@ -153,8 +156,8 @@ public class PropertySpecification {
                 if ("ALL".equalsIgnoreCase(matchMode)) {
                     // Logic: Villa phải có ĐỦ TẤT CẢ các labels
                     Subquery<Long> subquery = query.subquery(Long.class);
-                    var subRoot = subquery.from(Property.class);
-                    Join<Property, com.taivillavungtau.backend.entity.Label> subJoin = subRoot.join("labels");
+                    var subRoot = subquery.from(root.getJavaType());
+                    Join<?, Label> subJoin = subRoot.join("labels");
 
                     subquery.select(criteriaBuilder.count(subJoin.get("id")))
                             .where(
@@ -166,7 +169,7 @@ public class PropertySpecification {
 
                 } else {
                     // Logic mặc định: Villa có ít nhất 1 trong các labels (ANY)
-                    Join<Property, com.taivillavungtau.backend.entity.Label> labelsJoin = root.join("labels",
+                    Join<?, Label> labelsJoin = root.join("labels",
                             JoinType.INNER);
                     predicates.add(labelsJoin.get("id").in(request.getLabelIds()));
                     query.distinct(true);
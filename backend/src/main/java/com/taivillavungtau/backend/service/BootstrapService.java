@@ -0,0 +1,16 @@
+package com.taivillavungtau.backend.service;
+
+import com.taivillavungtau.backend.dto.response.BootstrapResponse;
+
+public interface BootstrapService {
+
+    /**
+     * Version hiện tại của dữ liệu trang chủ (đọc trong bộ nhớ, không truy vấn)
+     */
+    String currentVersion();
+
+    /**
+     * Toàn bộ dữ liệu ban đầu của trang chủ trong 1 document
+     */
+    BootstrapResponse getBootstrap();
+}
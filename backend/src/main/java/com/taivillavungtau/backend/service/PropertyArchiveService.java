@@ -0,0 +1,36 @@
+package com.taivillavungtau.backend.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Pageable;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.entity.Property;
+
+public interface PropertyArchiveService {
+
+    /**
+     * Chuyển các căn DELETED quá thời gian lưu giữ (kèm ảnh, tiện ích, label, slug cũ)
+     * sang bảng archive theo từng lô. Trả về số căn đã chuyển.
+     */
+    int archiveExpired();
+
+    /**
+     * Đưa 1 căn từ archive về bảng chính, vẫn ở trạng thái DELETED (admin kích hoạt lại sau)
+     * @throws com.taivillavungtau.backend.exception.ResourceNotFoundException nếu căn không có trong archive
+     * @throws com.taivillavungtau.backend.exception.DuplicateResourceException nếu mã căn đã được căn khác dùng
+     */
+    PropertyDTO restore(Long id);
+
+    /**
+     * Trang admin (statusList có DELETED): trộn căn trong archive (cùng bộ lọc, ?fields=)
+     * với căn bảng chính theo đúng thứ tự sắp xếp của trang
+     * @param liveWindow offset + size căn đầu tiên của bảng chính, cùng bộ lọc và Sort
+     * @param liveMapper map căn bảng chính sang DTO (chỉ gọi cho căn nằm trong trang)
+     */
+    PageResponse<PropertyDTO> mergeArchived(PropertySearchRequest request, List<Property> liveWindow,
+            long liveTotal, Function<Property, PropertyDTO> liveMapper, Pageable pageable);
+}
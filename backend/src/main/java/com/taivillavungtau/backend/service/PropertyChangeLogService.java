@@ -0,0 +1,11 @@
+package com.taivillavungtau.backend.service;
+
+import com.taivillavungtau.backend.dto.response.PropertyChangesResponse;
+
+public interface PropertyChangeLogService {
+
+    /**
+     * Các căn thay đổi sau change token since (0 = từ đầu), tối đa limit dòng nhật ký
+     */
+    PropertyChangesResponse getChangesSince(long since, int limit);
+}
@@ -0,0 +1,19 @@
+package com.taivillavungtau.backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PropertyEventStreamService {
+
+    /**
+     * Mở 1 kết nối SSE nhận thay đổi property. lastEventId (header Last-Event-ID)
+     * khác null thì phát lại các event sau ID đó trước, hoặc event "reset" nếu
+     * không còn đủ để phát lại (client tải lại danh sách).
+     * Trả về null khi đã đủ số kết nối tối đa.
+     */
+    SseEmitter subscribe(String lastEventId);
+
+    /**
+     * Số kết nối đang mở
+     */
+    int connectionCount();
+}
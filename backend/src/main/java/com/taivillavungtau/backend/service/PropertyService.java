@@ -1,8 +1,12 @@
 package com.taivillavungtau.backend.service;
 
 import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertyBulkRequest;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertyBulkResponse;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
 
 import java.util.List;
 
@@ -13,6 +17,12 @@ public interface PropertyService {
 
     PageResponse<PropertyDTO> searchProperties(PropertySearchRequest request);
 
+    /**
+     * Chạy truy vấn tìm kiếm trực tiếp trên DB, bỏ qua cache property_search.
+     * Dùng cho cache warm-up (ghi kết quả vào Redis theo lô).
+     */
+    PageResponse<PropertyDTO> loadSearchPage(PropertySearchRequest request);
+
     void addImageToProperty(Long propertyId, String imageUrl);
 
     void deleteImageFromProperty(Long propertyId, Long imageId);
@@ -21,10 +31,35 @@ public interface PropertyService {
 
     PropertyDTO getPropertyById(Long id); // Xem chi tiết 1 căn
 
+    /**
+     * Chi tiết 1 căn chỉ với các trường được yêu cầu (?fields=).
+     * Collection không được yêu cầu thì không nạp; ALL tương đương getPropertyById(id).
+     */
+    PropertyDTO getPropertyById(Long id, PropertyFieldSet fields);
+
+    /**
+     * Lấy nhiều căn theo danh sách ID (wishlist, so sánh, đã xem gần đây).
+     * Trả về theo đúng thứ tự ID yêu cầu, bỏ qua ID trùng hoặc không tồn tại.
+     */
+    List<PropertyDTO> getPropertiesByIds(List<Long> ids);
+
+    /**
+     * 1 trang sitemap (id, slug, code, updatedAt) của các căn ACTIVE, sau ID afterId
+     */
+    SitemapPageResponse getSitemapPage(long afterId, int size);
+
     PropertyDTO updateProperty(Long id, PropertyDTO propertyDTO); // Sửa
 
     PropertyDTO patchProperty(Long id, PropertyDTO propertyDTO); // Partial update (PATCH)
 
+    /**
+     * Ẩn / đổi trạng thái, nổi bật, tăng giảm giá cho nhiều căn bằng UPDATE theo tập
+     * trong 1 transaction. dryRun: chỉ trả về các căn sẽ bị đổi.
+     *
+     * @throws IllegalArgumentException request không hợp lệ hoặc vượt số căn cho phép
+     */
+    PropertyBulkResponse bulkUpdate(PropertyBulkRequest request);
+
     void deleteProperty(Long id);
 
     /**
@@ -0,0 +1,28 @@
+package com.taivillavungtau.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.taivillavungtau.backend.dto.response.PropertyImportJobResponse;
+import com.taivillavungtau.backend.enums.TransferFormat;
+
+public interface PropertyTransferService {
+
+    /**
+     * Nhận file import (CSV / NDJSON), chép ra file tạm rồi chạy nền.
+     * Upsert theo code; tiến độ xem qua getImportJob.
+     */
+    PropertyImportJobResponse startImport(InputStream input, TransferFormat format) throws IOException;
+
+    /**
+     * Tiến độ / kết quả 1 lần import
+     * @throws com.taivillavungtau.backend.exception.ResourceNotFoundException nếu không có job
+     */
+    PropertyImportJobResponse getImportJob(String jobId);
+
+    /**
+     * Ghi toàn bộ catalog (mọi trạng thái, kèm ảnh, amenity, label) ra output theo từng lô
+     */
+    void export(OutputStream output, TransferFormat format) throws IOException;
+}
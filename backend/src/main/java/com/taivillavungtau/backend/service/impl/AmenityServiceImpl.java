@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.taivillavungtau.backend.dto.AmenityDTO;
 import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.mapper.AmenityMapper;
 import com.taivillavungtau.backend.repository.AmenityRepository;
@@ -24,6 +26,7 @@ public class AmenityServiceImpl implements AmenityService {
 
     private final AmenityRepository amenityRepository;
     private final AmenityMapper amenityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -38,7 +41,9 @@ public class AmenityServiceImpl implements AmenityService {
             throw new DuplicateResourceException("Tiện ích này đã tồn tại");
         }
         Amenity amenity = amenityMapper.toEntity(amenityDTO);
-        return amenityMapper.toDTO(amenityRepository.save(Objects.requireNonNull(amenity)));
+        AmenityDTO created = amenityMapper.toDTO(amenityRepository.save(Objects.requireNonNull(amenity)));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("amenity"));
+        return created;
     }
 
     @Override
@@ -62,6 +67,7 @@ public class AmenityServiceImpl implements AmenityService {
 
         // 2. Sau đó mới xóa amenity
         amenityRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("amenity"));
     }
 
 }
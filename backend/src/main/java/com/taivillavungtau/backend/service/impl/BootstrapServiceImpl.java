@@ -0,0 +1,132 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.cache.CacheWarmer;
+import com.taivillavungtau.backend.cache.CatalogVersion;
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.BootstrapResponse;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.service.BootstrapService;
+import com.taivillavungtau.backend.service.PropertyService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gom dữ liệu ban đầu của trang chủ: villa nổi bật + danh sách + 4 danh mục.
+ *
+ * - 2 truy vấn tìm kiếm chạy song song trên executor riêng (số luồng và hàng
+ *   đợi giới hạn; đầy thì chạy ngay trên luồng request)
+ * - Danh mục lấy từ ReferenceDataSnapshot (bộ nhớ)
+ * - Document đã dựng được giữ lại cho tới khi catalog hoặc danh mục thay đổi
+ */
+@Service
+@Slf4j
+public class BootstrapServiceImpl implements BootstrapService {
+
+    @Value("${bootstrap.featured-query:isFeatured=true&page=0&size=12}")
+    private String featuredQuery;
+
+    // Trùng với request đầu tiên của trang chủ -> dùng chung entry property_search
+    @Value("${bootstrap.listing-query:page=0&size=500}")
+    private String listingQuery;
+
+    @Value("${bootstrap.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final PropertyService propertyService;
+    private final ReferenceDataStore referenceDataStore;
+    private final CatalogVersion catalogVersion;
+    private final ThreadPoolExecutor executor;
+
+    private volatile BootstrapResponse cached;
+
+    public BootstrapServiceImpl(PropertyService propertyService, ReferenceDataStore referenceDataStore,
+            CatalogVersion catalogVersion, @Value("${bootstrap.threads:2}") int threads,
+            @Value("${bootstrap.queue-capacity:20}") int queueCapacity) {
+        this.propertyService = propertyService;
+        this.referenceDataStore = referenceDataStore;
+        this.catalogVersion = catalogVersion;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bootstrap-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public String currentVersion() {
+        return version(referenceDataStore.current());
+    }
+
+    @Override
+    public BootstrapResponse getBootstrap() {
+        // Lấy version TRƯỚC khi load: ghi xen giữa -> document gắn version cũ, lần sau dựng lại
+        ReferenceDataSnapshot snapshot = referenceDataStore.current();
+        String version = version(snapshot);
+        BootstrapResponse current = cached;
+        if (current != null && current.getVersion().equals(version)) {
+            return current;
+        }
+
+        Future<PageResponse<PropertyDTO>> featured = executor.submit(
+                () -> propertyService.searchProperties(CacheWarmer.parseQuery(featuredQuery)));
+        Future<PageResponse<PropertyDTO>> properties = executor.submit(
+                () -> propertyService.searchProperties(CacheWarmer.parseQuery(listingQuery)));
+
+        BootstrapResponse response = BootstrapResponse.builder()
+                .version(version)
+                .referenceVersion(snapshot.version())
+                .featured(await(featured))
+                .properties(await(properties))
+                .amenities(snapshot.amenities())
+                .labels(snapshot.labels())
+                .locations(snapshot.locations())
+                .propertyTypes(snapshot.propertyTypes())
+                .build();
+        cached = response;
+        return response;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Bootstrap query failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Bootstrap query timed out after " + timeoutMs + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bootstrap interrupted", e);
+        }
+    }
+
+    // searchETag() = "c-epoch-version" -> bỏ dấu nháy, ghép với version danh mục
+    private String version(ReferenceDataSnapshot snapshot) {
+        String catalog = catalogVersion.searchETag();
+        return "b-" + catalog.substring(1, catalog.length() - 1) + "-" + snapshot.version();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
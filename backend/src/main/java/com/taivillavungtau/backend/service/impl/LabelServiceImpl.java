@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.taivillavungtau.backend.dto.LabelDTO;
 import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.mapper.LabelMapper;
@@ -27,6 +29,7 @@ public class LabelServiceImpl implements LabelService {
 
     private final LabelRepository labelRepository;
     private final LabelMapper labelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -46,6 +49,7 @@ public class LabelServiceImpl implements LabelService {
         Label label = labelMapper.toEntity(labelDTO);
         Label saved = labelRepository.save(Objects.requireNonNull(label));
         log.info("Label created successfully with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("label"));
         return labelMapper.toDTO(saved);
     }
 
@@ -83,6 +87,7 @@ public class LabelServiceImpl implements LabelService {
 
         Label updated = labelRepository.save(existing);
         log.info("Label updated successfully. ID: {}", id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("label"));
         return labelMapper.toDTO(updated);
     }
 
@@ -102,5 +107,6 @@ public class LabelServiceImpl implements LabelService {
         // 2. Then delete the label
         labelRepository.deleteById(id);
         log.info("Label deleted successfully. ID: {}", id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("label"));
     }
 }
@@ -2,6 +2,7 @@ package com.taivillavungtau.backend.service.impl;
 
 import com.taivillavungtau.backend.dto.LocationDTO;
 import com.taivillavungtau.backend.entity.Location;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
 import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.repository.LocationRepository;
@@ -9,6 +10,7 @@ import com.taivillavungtau.backend.service.LocationService;
 import com.taivillavungtau.backend.utils.SlugUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
 public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<LocationDTO> getAllLocations() {
@@ -56,6 +59,7 @@ public class LocationServiceImpl implements LocationService {
 
         Location saved = locationRepository.save(location);
         log.info("Created location: {}", saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("location"));
         return toDTO(saved);
     }
 
@@ -75,6 +79,7 @@ public class LocationServiceImpl implements LocationService {
 
         Location saved = locationRepository.save(existing);
         log.info("Updated location: {}", saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("location"));
         return toDTO(saved);
     }
 
@@ -86,6 +91,7 @@ public class LocationServiceImpl implements LocationService {
         }
         locationRepository.deleteById(id);
         log.info("Deleted location ID: {}", id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("location"));
     }
 
     private LocationDTO toDTO(Location entity) {
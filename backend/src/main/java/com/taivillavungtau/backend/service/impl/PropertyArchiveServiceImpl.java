@@ -0,0 +1,332 @@
+package com.taivillavungtau.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taivillavungtau.backend.cache.RedisBatchCache;
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.entity.ArchivedProperty;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.exception.DuplicateResourceException;
+import com.taivillavungtau.backend.exception.ResourceNotFoundException;
+import com.taivillavungtau.backend.mapper.PropertyMapper;
+import com.taivillavungtau.backend.repository.ArchivedPropertyRepository;
+import com.taivillavungtau.backend.repository.PropertyArchiveRepository;
+import com.taivillavungtau.backend.repository.PropertyArchiveRepository.ArchivedKey;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.repository.specification.PropertySpecification;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ bảng properties nhỏ: căn DELETED quá retention-days ngày được chuyển sang
+ * *_archive theo lô batch-size căn, mỗi lô 1 transaction (khóa FOR UPDATE các căn của lô).
+ * Chạy nền mỗi interval-minutes phút khi property-archive.enabled=true.
+ *
+ * Trang admin vẫn thấy căn đã archive (PropertyServiceImpl.loadSearchPage trộn theo thứ tự
+ * sắp xếp qua mergeArchived); căn public không đổi vì chỉ căn DELETED bị chuyển.
+ * Xong mỗi lần chạy: xóa cache chi tiết của các căn, property_search, property_keys và phát
+ * PropertyChangedEvent.catalogWide (Bloom filter dựng lại, SSE "reset", ETag mới).
+ */
+@Service
+@Slf4j
+public class PropertyArchiveServiceImpl implements PropertyArchiveService {
+
+    // Chạy lần đầu sau khi khởi động xong (để warm-up cache chạy trước)
+    private static final long INITIAL_DELAY_MINUTES = 5;
+
+    private final PropertyArchiveRepository archiveRepository;
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<RedisBatchCache> batchCache;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ArchivedPropertyRepository archivedPropertyRepository;
+
+    @Value("${property-archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${property-archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${property-archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${property-archive.interval-minutes:360}")
+    private long intervalMinutes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "property-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PropertyArchiveServiceImpl(PropertyArchiveRepository archiveRepository,
+            PropertyRepository propertyRepository, PropertyMapper propertyMapper,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+            ObjectProvider<RedisBatchCache> batchCache, ObjectProvider<CacheManager> cacheManager,
+            ArchivedPropertyRepository archivedPropertyRepository) {
+        this.archiveRepository = archiveRepository;
+        this.propertyRepository = propertyRepository;
+        this.propertyMapper = propertyMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchCache = batchCache;
+        this.cacheManager = cacheManager;
+        this.archivedPropertyRepository = archivedPropertyRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, INITIAL_DELAY_MINUTES, intervalMinutes,
+                TimeUnit.MINUTES);
+        log.info("Property archiver scheduled: retention {} days, batch {}, every {} minutes", retentionDays,
+                batchSize, intervalMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void archiveQuietly() {
+        try {
+            archiveExpired();
+        } catch (Exception e) {
+            log.error("Property archiving failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int archiveExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        List<Long> archived = new ArrayList<>();
+        List<Long> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = archiveRepository.lockExpired(cutoff, batchSize);
+                archiveRepository.archive(ids, LocalDateTime.now());
+                return ids;
+            });
+            archived.addAll(chunk);
+        } while (chunk.size() == batchSize);
+
+        if (!archived.isEmpty()) {
+            log.info("Archived {} properties deleted before {}", archived.size(), cutoff);
+            afterArchive(archived);
+        }
+        return archived.size();
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "properties", key = "#id"),
+            @CacheEvict(value = "property_search", allEntries = true)
+    })
+    public PropertyDTO restore(Long id) {
+        ArchivedKey key = archiveRepository.findArchivedKey(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy Villa đã lưu trữ với ID: " + id));
+        if (propertyRepository.existsById(id)) {
+            throw new DuplicateResourceException("Villa với ID " + id + " đã có trong danh sách");
+        }
+        if (propertyRepository.findIdByCode(key.code()).isPresent()) {
+            throw new DuplicateResourceException(
+                    "Mã căn " + key.code() + " đã được dùng cho Villa khác, đổi mã Villa đó trước khi khôi phục");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        archiveRepository.restore(id, now);
+        Property restored = propertyRepository.findById(id).orElseThrow();
+        log.info("Restored archived property {} ({})", id, key.code());
+
+        // Căn xuất hiện lại trong bảng chính: CREATED để Bloom filter / nhật ký thay đổi biết ID này
+        eventPublisher.publishEvent(new PropertyChangedEvent(id, PropertyChangeType.CREATED, Set.of(),
+                restored.getStatus(), now));
+        return propertyMapper.toDTO(restored);
+    }
+
+    /**
+     * Trộn 2 luồng đã sắp xếp: đọc offset + size căn đầu của archive (cùng Sort như bảng
+     * chính) rồi merge theo pageOrder, chỉ map DTO cho căn nằm trong trang.
+     * Phần đầu của kết quả trộn chỉ phụ thuộc phần đầu mỗi luồng -> các trang liên tiếp
+     * không trùng / không sót căn, kể cả khi so sánh chuỗi hơi khác collation của DB.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PropertyDTO> mergeArchived(PropertySearchRequest request, List<Property> liveWindow,
+            long liveTotal, Function<Property, PropertyDTO> liveMapper, Pageable pageable) {
+        Specification<ArchivedProperty> spec = PropertySpecification.filter(request);
+        PropertyFieldSet fields = PropertyFieldSet.parse(request.getFields());
+        int page = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        int window = (int) Math.min(offset + size, Integer.MAX_VALUE);
+
+        Page<ArchivedProperty> archivedWindow = archivedPropertyRepository.findAll(spec,
+                PageRequest.of(0, window, pageable.getSort()));
+        List<ArchivedProperty> archived = archivedWindow.getContent();
+        Comparator<Object> order = pageOrder(request.getSort(), pageable.getSort());
+
+        List<PropertyDTO> content = new ArrayList<>(size);
+        int live = 0;
+        int arch = 0;
+        for (long position = 0; position < offset + size; position++) {
+            boolean hasLive = live < liveWindow.size();
+            boolean hasArchived = arch < archived.size();
+            if (!hasLive && !hasArchived) {
+                break;
+            }
+            // Bằng nhau: căn bảng chính trước (giữ ổn định giữa các trang)
+            boolean takeLive = hasLive && (!hasArchived || order.compare(liveWindow.get(live), archived.get(arch)) <= 0);
+            if (takeLive) {
+                if (position >= offset) {
+                    content.add(liveMapper.apply(liveWindow.get(live)));
+                }
+                live++;
+            } else {
+                if (position >= offset) {
+                    content.add(toDTO(archived.get(arch), fields));
+                }
+                arch++;
+            }
+        }
+
+        long totalElements = liveTotal + archivedWindow.getTotalElements();
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        return PageResponse.<PropertyDTO>builder()
+                .content(content)
+                .pageNo(page)
+                .pageSize(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .last(page + 1 >= totalPages)
+                .build();
+    }
+
+    // Cùng thứ tự DB dùng cho cả 2 bảng: Sort của Pageable, không có thì thứ tự mặc định
+    // của PropertySpecification. Property và ArchivedProperty cùng tên thuộc tính.
+    private static Comparator<Object> pageOrder(String sortParam, Sort sort) {
+        if (sort.isUnsorted()) {
+            if ("updatedAt_desc".equalsIgnoreCase(sortParam)) {
+                return byProperty("updatedAt").reversed();
+            }
+            if ("updatedAt_asc".equalsIgnoreCase(sortParam)) {
+                return byProperty("updatedAt");
+            }
+            // Mã tự nhiên: độ dài rồi mã (MS9 < MS10)
+            Comparator<Object> byCode = Comparator.comparing((Object row) -> ((String) value(row, "code")).length())
+                    .thenComparing(row -> (String) value(row, "code"), String.CASE_INSENSITIVE_ORDER);
+            return "code_asc".equalsIgnoreCase(sortParam) ? byCode : byCode.reversed();
+        }
+        Comparator<Object> order = null;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<Object> next = byProperty(sortOrder.getProperty());
+            if (sortOrder.isDescending()) {
+                next = next.reversed();
+            }
+            order = order == null ? next : order.thenComparing(next);
+        }
+        return order;
+    }
+
+    // NULL đứng đầu khi tăng dần, cuối khi giảm dần (như MySQL)
+    private static Comparator<Object> byProperty(String path) {
+        return Comparator.comparing(row -> value(row, path),
+                Comparator.nullsFirst(PropertyArchiveServiceImpl::compareValues));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof String a && right instanceof String b) {
+            return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    // Đường dẫn lồng nhau (propertyType.name): quan hệ null -> giá trị null
+    private static Object value(Object row, String path) {
+        Object current = row;
+        for (String property : path.split("\\.")) {
+            if (current == null) {
+                return null;
+            }
+            current = PropertyAccessorFactory.forBeanPropertyAccess(current).getPropertyValue(property);
+        }
+        return current;
+    }
+
+    // Cùng ?fields= như căn bảng chính: chỉ chạm vào collection được yêu cầu
+    private PropertyDTO toDTO(ArchivedProperty property, PropertyFieldSet fields) {
+        if (fields.isAll()) {
+            return propertyMapper.toDTO(property);
+        }
+        PropertyDTO dto = propertyMapper.toBasicDTO(property);
+        if (fields.includes(PropertyFieldSet.IMAGES)) {
+            dto.setImages(propertyMapper.toArchivedImageDTOs(property.getImages()));
+        }
+        if (fields.includes(PropertyFieldSet.AMENITIES)) {
+            dto.setAmenities(propertyMapper.toAmenityDTOs(property.getAmenities()));
+        }
+        if (fields.includes(PropertyFieldSet.LABELS)) {
+            dto.setLabels(propertyMapper.toLabelDTOs(property.getLabels()));
+        }
+        return dto;
+    }
+
+    private void afterArchive(List<Long> ids) {
+        batchCache.ifAvailable(cache -> cache.evictAll(CacheNames.PROPERTIES, ids));
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager != null) {
+            for (String name : List.of(CacheNames.PROPERTY_SEARCH, CacheNames.PROPERTY_KEYS)) {
+                try {
+                    Cache cache = manager.getCache(name);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Could not clear cache {} after archiving: {}", name, e.getMessage());
+                }
+            }
+        }
+        eventPublisher.publishEvent(PropertyChangedEvent.catalogWide(PropertyChangeType.DELETED));
+    }
+}
@@ -0,0 +1,128 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.PropertyChangeEntry;
+import com.taivillavungtau.backend.dto.response.PropertyChangesResponse;
+import com.taivillavungtau.backend.entity.PropertyChange;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.PropertyChangeRepository;
+import com.taivillavungtau.backend.service.PropertyChangeLogService;
+import com.taivillavungtau.backend.service.PropertyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Nhật ký thay đổi property (bảng property_changes) và change feed đọc từ nó.
+ *
+ * - Ghi: nghe PropertyChangedEvent đồng bộ (KHÔNG phải AFTER_COMMIT) -> dòng nhật
+ *   ký nằm chung transaction với thao tác của PropertyServiceImpl, rollback cùng nhau
+ * - Đọc: quét theo id > since, gộp nhiều thay đổi của cùng 1 căn thành 1 entry,
+ *   trạng thái hiện tại lấy qua getPropertiesByIds (cache "properties" MGET)
+ *
+ * Token là id AUTO_INCREMENT: transaction chạy lâu có thể commit id nhỏ hơn sau
+ * khi client đã đọc qua.
+ * - Chỉ trả các dòng cũ hơn settle-seconds (transaction ngắn)
+ * - Lỗ hổng id (id bị cấp nhưng chưa thấy) mà dòng ngay sau nó còn trẻ hơn
+ *   gap-timeout-seconds: nextSince dừng trước lỗ hổng, các dòng sau vẫn trả về
+ *   (client nhận lại ở lần đọc sau - entry là trạng thái hiện tại nên đọc lại vô hại).
+ *   Lỗ hổng già hơn coi như rollback, bỏ qua.
+ * Ghi property ngoài PropertyService (SQL trực tiếp) sẽ không có trong feed.
+ */
+@Service
+@Slf4j
+public class PropertyChangeLogServiceImpl implements PropertyChangeLogService {
+
+    private final PropertyChangeRepository propertyChangeRepository;
+    private final PropertyService propertyService;
+
+    @Value("${property-changes.settle-seconds:5}")
+    private long settleSeconds;
+
+    @Value("${property-changes.gap-timeout-seconds:300}")
+    private long gapTimeoutSeconds;
+
+    public PropertyChangeLogServiceImpl(PropertyChangeRepository propertyChangeRepository,
+            PropertyService propertyService) {
+        this.propertyChangeRepository = propertyChangeRepository;
+        this.propertyService = propertyService;
+    }
+
+    @EventListener
+    @Transactional
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.getPropertyId() == null) {
+            return;
+        }
+        propertyChangeRepository.save(PropertyChange.builder()
+                .propertyId(event.getPropertyId())
+                .changeType(event.getType())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyChangesResponse getChangesSince(long since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PropertyChange> rows = propertyChangeRepository.findChangesSince(since,
+                now.minusSeconds(settleSeconds), limit);
+        long nextSince = safeToken(since, rows, now.minusSeconds(gapTimeoutSeconds));
+
+        // Giữ thay đổi cuối của mỗi căn, theo thứ tự token của thay đổi đó
+        Map<Long, PropertyChange> latest = new LinkedHashMap<>();
+        for (PropertyChange row : rows) {
+            latest.remove(row.getPropertyId());
+            latest.put(row.getPropertyId(), row);
+        }
+
+        List<Long> liveIds = latest.values().stream()
+                .filter(change -> change.getChangeType() != PropertyChangeType.PERMANENTLY_DELETED)
+                .map(PropertyChange::getPropertyId)
+                .toList();
+        Map<Long, PropertyDTO> states = propertyService.getPropertiesByIds(liveIds).stream()
+                .collect(Collectors.toMap(PropertyDTO::getId, Function.identity()));
+
+        List<PropertyChangeEntry> changes = latest.values().stream()
+                .map(change -> PropertyChangeEntry.builder()
+                        .token(change.getId())
+                        .propertyId(change.getPropertyId())
+                        .type(change.getChangeType())
+                        .changedAt(change.getChangedAt())
+                        .property(states.get(change.getPropertyId())) // null: tombstone hoặc đã xóa sau đó
+                        .build())
+                .toList();
+
+        return PropertyChangesResponse.builder()
+                .changes(changes)
+                .nextSince(nextSince)
+                .hasMore(rows.size() == limit && nextSince == lastId(since, rows))
+                .build();
+    }
+
+    // Token xa nhất client có thể nhảy tới: dừng trước id đầu tiên bị thiếu mà
+    // dòng sau nó ghi sau gapCutoff (id thiếu được cấp trước dòng đó -> có thể còn đang chạy)
+    private static long safeToken(long since, List<PropertyChange> rows, LocalDateTime gapCutoff) {
+        long previous = since;
+        for (PropertyChange row : rows) {
+            if (row.getId() > previous + 1 && row.getChangedAt().isAfter(gapCutoff)) {
+                return previous;
+            }
+            previous = row.getId();
+        }
+        return previous;
+    }
+
+    private static long lastId(long since, List<PropertyChange> rows) {
+        return rows.isEmpty() ? since : rows.get(rows.size() - 1).getId();
+    }
+}
@@ -0,0 +1,272 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taivillavungtau.backend.dto.response.PropertyEventDTO;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.service.PropertyEventStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Luồng SSE thay đổi property cho dashboard admin (/api/v1/admin/properties/events).
+ *
+ * - Event phát AFTER_COMMIT, serialize JSON 1 lần rồi dùng chung cho mọi kết nối
+ * - Mỗi kết nối có hàng đợi giới hạn, gửi trên executor riêng (luồng commit
+ *   không bao giờ ghi socket); đầy hàng đợi (client chậm) -> đóng kết nối,
+ *   client tự nối lại với Last-Event-ID
+ * - Giữ replay-size event gần nhất (kể cả "reset" khi import hàng loạt) để phát lại
+ *   theo Last-Event-ID; xa hơn (hoặc server đã khởi động lại) -> event "reset",
+ *   client tải lại danh sách
+ * - Heartbeat (comment SSE) giữ kết nối qua proxy / load balancer
+ *
+ * ID event bắt đầu từ thời điểm khởi động (ms) nên luôn tăng qua các lần restart.
+ */
+@Service
+@Slf4j
+public class PropertyEventStreamServiceImpl implements PropertyEventStreamService {
+
+    static final String EVENT_NAME = "property";
+    static final String RESET_EVENT_NAME = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Chỉ đọc / ghi trong synchronized (lock): giữ đúng thứ tự giữa phát lại và event mới
+    private final Deque<Replayable> replay = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private long sequence = System.currentTimeMillis();
+
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+
+    public PropertyEventStreamServiceImpl(ObjectMapper objectMapper,
+            @Value("${admin-events.max-connections:200}") int maxConnections,
+            @Value("${admin-events.buffer-size:256}") int bufferSize,
+            @Value("${admin-events.replay-size:1000}") int replaySize,
+            @Value("${admin-events.timeout-ms:1800000}") long timeoutMs,
+            @Value("${admin-events.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${admin-events.sender-threads:2}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "admin-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admin-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxConnections) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                enqueueReplay(subscriber, parseId(lastEventId));
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public int connectionCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.getPropertyId() == null) {
+            broadcastReset(); // Import hàng loạt: client tải lại danh sách thay vì nhận từng căn
+            return;
+        }
+        PropertyEventDTO payload = PropertyEventDTO.builder()
+                .id(event.getPropertyId())
+                .type(event.getType())
+                .changedFields(event.getChangedFields())
+                .status(event.getStatus())
+                .updatedAt(event.getOccurredAt())
+                .build();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize admin property event {}: {}", event, e.getMessage());
+            return;
+        }
+
+        broadcast(EVENT_NAME, json);
+    }
+
+    // Reset cũng có id và nằm trong bộ đệm phát lại: client mất kết nối đúng lúc
+    // import vẫn nhận được khi nối lại theo Last-Event-ID
+    private void broadcastReset() {
+        broadcast(RESET_EVENT_NAME, "{}");
+    }
+
+    private void broadcast(String name, String json) {
+        synchronized (lock) {
+            long id = ++sequence;
+            Replayable item = new Replayable(id, SseEmitter.event().id(Long.toString(id)).name(name)
+                    .data(json, MediaType.APPLICATION_JSON).build());
+            replay.addLast(item);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> offer(subscriber, item.data));
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    // Gọi trong synchronized (lock)
+    private void enqueueReplay(Subscriber subscriber, Long lastId) {
+        long oldestReplayable = replay.isEmpty() ? sequence + 1 : replay.peekFirst().id;
+        if (lastId == null || lastId > sequence || lastId < oldestReplayable - 1) {
+            offer(subscriber, resetEvent(sequence)); // Tải lại xong là đã có mọi thứ tới sequence
+            return;
+        }
+        for (Replayable item : replay) {
+            if (item.id > lastId && !offer(subscriber, item.data)) {
+                return;
+            }
+        }
+    }
+
+    private static Set<DataWithMediaType> resetEvent(long id) {
+        return SseEmitter.event().id(Long.toString(id)).name(RESET_EVENT_NAME)
+                .data("{}", MediaType.APPLICATION_JSON).build();
+    }
+
+    private void sendHeartbeats() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Subscriber subscriber : subscribers) {
+            // Hàng đợi còn event chưa gửi thì không cần heartbeat
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(ping)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Hàng đợi đầy = client không theo kịp -> đóng, client nối lại và phát lại theo Last-Event-ID
+    private boolean offer(Subscriber subscriber, Set<DataWithMediaType> data) {
+        if (subscriber.queue.offer(data)) {
+            return true;
+        }
+        log.debug("Admin SSE client too slow, closing connection");
+        subscriber.overflowed = true;
+        return false;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> data;
+            while ((data = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(data);
+            }
+            if (subscriber.overflowed) {
+                close(subscriber);
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client đã ngắt kết nối
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.complete();
+    }
+
+    private static Long parseId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Replayable(long id, Set<DataWithMediaType> data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -1,31 +1,51 @@
 package com.taivillavungtau.backend.service.impl;
 
+import com.taivillavungtau.backend.cache.PropertyKeyIndex;
+import com.taivillavungtau.backend.cache.RedisBatchCache;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.constant.CacheNames;
 import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
+import com.taivillavungtau.backend.dto.request.PropertyBulkRequest;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertyBulkResponse;
+import com.taivillavungtau.backend.dto.response.PropertySitemapEntry;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
 import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Location;
 import com.taivillavungtau.backend.entity.Property;
 import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.entity.PropertyType;
+import com.taivillavungtau.backend.enums.PropertyBulkOperation;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.enums.PropertyStatus;
 import com.taivillavungtau.backend.enums.SortType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.mapper.PropertyMapper;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository;
 import com.taivillavungtau.backend.repository.PropertyRepository;
 import com.taivillavungtau.backend.repository.specification.PropertySpecification;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
 import com.taivillavungtau.backend.service.PropertyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
 
-import com.taivillavungtau.backend.repository.AmenityRepository;
-import com.taivillavungtau.backend.repository.LabelRepository;
-import com.taivillavungtau.backend.repository.LocationRepository;
 import com.taivillavungtau.backend.repository.PropertyImageRepository;
-import com.taivillavungtau.backend.repository.PropertyTypeRepository;
 import com.taivillavungtau.backend.service.CloudinaryService;
 import com.taivillavungtau.backend.entity.Label;
 
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -34,11 +54,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.taivillavungtau.backend.utils.SlugUtils;
@@ -51,11 +84,24 @@ public class PropertyServiceImpl implements PropertyService {
     private final PropertyRepository propertyRepository;
     private final PropertyMapper propertyMapper;
     private final PropertyImageRepository propertyImageRepository;
-    private final AmenityRepository amenityRepository;
-    private final LabelRepository labelRepository;
-    private final LocationRepository locationRepository;
-    private final PropertyTypeRepository propertyTypeRepository;
     private final CloudinaryService cloudinaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<RedisBatchCache> batchCache;
+    private final ReferenceDataStore referenceDataStore;
+    private final PropertyKeyIndex propertyKeyIndex;
+    private final PropertyBulkRepository propertyBulkRepository;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final PropertyArchiveService propertyArchiveService;
+
+    // Số căn tối đa 1 thao tác hàng loạt được phép ảnh hưởng
+    @Value("${property-bulk.max-affected:2000}")
+    private int bulkMaxAffected;
+
+    private static final Set<String> IMAGE_FIELDS = Set.of("images");
+    private static final Set<String> STATUS_FIELDS = Set.of("status");
+    // updatedAt chỉ đổi khi flush; collection so sánh riêng theo ID
+    private static final Set<String> IGNORED_DIFF_FIELDS = Set.of("class", "createdAt", "updatedAt", "images",
+            "amenities", "labels", "amenityIds", "labelIds");
 
     @Override
     @Transactional
@@ -78,7 +124,7 @@ public class PropertyServiceImpl implements PropertyService {
 
         // 3. Xử lý Amenities (Tiện ích)
         if (dto.getAmenityIds() != null && !dto.getAmenityIds().isEmpty()) {
-            List<Amenity> amenities = amenityRepository.findAllById(Objects.requireNonNull(dto.getAmenityIds()));
+            List<Amenity> amenities = referenceDataStore.findAmenities(Objects.requireNonNull(dto.getAmenityIds()));
             property.setAmenities(new HashSet<>(amenities));
         }
 
@@ -88,44 +134,52 @@ public class PropertyServiceImpl implements PropertyService {
 
         // 4. Xử lý Location mới (dynamic)
         if (dto.getLocationId() != null) {
-            locationRepository.findById(dto.getLocationId())
+            referenceDataStore.findLocation(dto.getLocationId())
                     .ifPresent(property::setLocationEntity);
         }
 
         // 5. Xử lý Property Type
         if (dto.getPropertyTypeId() != null) {
-            propertyTypeRepository.findById(dto.getPropertyTypeId())
+            referenceDataStore.findPropertyType(dto.getPropertyTypeId())
                     .ifPresent(property::setPropertyType);
         }
 
         // 6. Xử lý Labels (VD: "Sát biển", "View biển")
         if (dto.getLabelIds() != null && !dto.getLabelIds().isEmpty()) {
-            List<Label> labels = labelRepository.findAllById(Objects.requireNonNull(dto.getLabelIds()));
+            List<Label> labels = referenceDataStore.findLabels(Objects.requireNonNull(dto.getLabelIds()));
             property.setLabels(new HashSet<>(labels));
         }
 
         property.setStatus("ACTIVE");
         Property savedProperty = propertyRepository.save(property);
+        // Slug / code mới có thể còn trong property_keys, trỏ tới căn khác (redirect slug cũ)
+        propertyKeyIndex.onKeysChanged(savedProperty.getId(), null, savedProperty.getSlug(), null,
+                savedProperty.getCode());
 
         // 7. Xử lý Images - Nhận URL từ frontend (đã upload lên Cloudinary)
-        if (dto.getImages() != null && !dto.getImages().isEmpty()) {
+        // Chèn bằng 1 batch JDBC: PropertyImage dùng IDENTITY nên Hibernate không gộp được
+        List<PropertyImage> images = new ArrayList<>();
+        if (dto.getImages() != null) {
             for (var imageDTO : dto.getImages()) {
                 if (imageDTO.getImageUrl() != null && !imageDTO.getImageUrl().isEmpty()) {
-                    PropertyImage image = PropertyImage.builder()
+                    images.add(PropertyImage.builder()
                             .imageUrl(imageDTO.getImageUrl())
                             .isThumbnail(imageDTO.getIsThumbnail() != null ? imageDTO.getIsThumbnail() : false)
-                            .property(savedProperty)
-                            .build();
-                    savedProperty.getImages().add(image);
+                            .build());
                 }
             }
-            // Save property again to persist images
-            savedProperty = propertyRepository.save(savedProperty);
+        }
+        if (!images.isEmpty()) {
+            images = propertyBulkRepository.insertImages(savedProperty, images);
         }
 
-        log.info("Property created successfully with ID: {} and {} images", savedProperty.getId(),
-                savedProperty.getImages().size());
-        return propertyMapper.toDTO(savedProperty);
+        log.info("Property created successfully with ID: {} and {} images", savedProperty.getId(), images.size());
+        publishChange(savedProperty, PropertyChangeType.CREATED, Set.of());
+        PropertyDTO created = propertyMapper.toDTO(savedProperty);
+        if (!images.isEmpty()) {
+            created.setImages(propertyMapper.toImageDTOs(new LinkedHashSet<>(images)));
+        }
+        return created;
     }
 
     @Override
@@ -137,9 +191,17 @@ public class PropertyServiceImpl implements PropertyService {
 
     @Override
     // Cache kết quả tìm kiếm. Key tự động sinh dựa trên tham số request
-    @Cacheable(value = "property_search", key = "#request.toString()")
+    // Chỉ ghi vào cache khi truy vấn đủ "nóng" (SearchCacheAdmission) - tránh rác từ keyword hiếm
+    @Cacheable(value = "property_search", key = "#request.toString()",
+            unless = "!@searchCacheAdmission.admit(#request)")
     @Transactional(readOnly = true)
     public PageResponse<PropertyDTO> searchProperties(PropertySearchRequest request) {
+        return loadSearchPage(request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PropertyDTO> loadSearchPage(PropertySearchRequest request) {
         log.debug("Searching properties with request: {}", request);
 
         // 1. Xây dựng Specification từ request
@@ -239,13 +301,29 @@ public class PropertyServiceImpl implements PropertyService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // 4. Gọi Repository với Specification
-        Page<Property> propertyPage = propertyRepository.findAll(spec, pageable);
+        // ?fields= -> bỏ EntityGraph, collection nào được yêu cầu mới nạp (BatchSize, theo lô)
+        PropertyFieldSet fields = PropertyFieldSet.parse(request.getFields());
+
+        // Admin xem căn đã xóa: trộn với căn đã chuyển sang bảng archive theo cùng thứ tự
+        // -> đọc offset + size căn đầu của bảng chính thay vì chỉ trang hiện tại
+        if (request.getStatusList() != null && request.getStatusList().contains("DELETED")) {
+            Pageable window = PageRequest.of(0, (int) Math.min(pageable.getOffset() + size, Integer.MAX_VALUE), sort);
+            Page<Property> liveWindow = fields.isAll()
+                    ? propertyRepository.findAll(spec, window)
+                    : propertyRepository.findBy(spec, query -> query.page(window));
+            return propertyArchiveService.mergeArchived(request, liveWindow.getContent(),
+                    liveWindow.getTotalElements(), property -> toDTO(property, fields), pageable);
+        }
+
+        Page<Property> propertyPage = fields.isAll()
+                ? propertyRepository.findAll(spec, pageable)
+                : propertyRepository.findBy(spec, query -> query.page(pageable));
 
         log.debug("Found {} properties matching search criteria", propertyPage.getTotalElements());
 
         // 5. Map Entity sang DTO
         List<PropertyDTO> dtos = propertyPage.getContent().stream()
-                .map(propertyMapper::toDTO)
+                .map(property -> toDTO(property, fields))
                 .collect(Collectors.toList());
 
         // 6. Đóng gói vào PageResponse
@@ -286,6 +364,7 @@ public class PropertyServiceImpl implements PropertyService {
                 .build();
 
         propertyImageRepository.save(Objects.requireNonNull(image));
+        publishChange(property, PropertyChangeType.IMAGES_CHANGED, IMAGE_FIELDS);
     }
 
     @Override
@@ -299,18 +378,90 @@ public class PropertyServiceImpl implements PropertyService {
         return propertyMapper.toDTO(property);
     }
 
+    @Override
+    // Không cache: entry "properties" luôn là bản đầy đủ
+    @Transactional(readOnly = true)
+    public PropertyDTO getPropertyById(Long id, PropertyFieldSet fields) {
+        Objects.requireNonNull(id, "Property ID must not be null");
+        if (fields.isAll()) {
+            return getPropertyById(id);
+        }
+        Specification<Property> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        Property property = propertyRepository.findBy(byId, FluentQuery.FetchableFluentQuery::oneValue);
+        if (property == null) {
+            throw new ResourceNotFoundException(Translator.toLocale("error.villa.not_found"));
+        }
+        return toDTO(property, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> getPropertiesByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Đọc tất cả từ cache "properties" bằng 1 lệnh MGET
+        RedisBatchCache cache = batchCache.getIfAvailable();
+        Map<Long, PropertyDTO> found = new HashMap<>();
+        if (cache != null) {
+            try {
+                found.putAll(cache.getAll(CacheNames.PROPERTIES, distinctIds, PropertyDTO.class));
+            } catch (RuntimeException e) {
+                log.warn("Batch cache read failed, loading {} properties from DB: {}", distinctIds.size(),
+                        e.getMessage());
+            }
+        }
+
+        // 2. Chỉ load các ID còn thiếu - 1 truy vấn WHERE id IN (...)
+        List<Long> missing = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Map<Long, PropertyDTO> loaded = new HashMap<>();
+            propertyRepository.findByIdIn(missing)
+                    .forEach(property -> loaded.put(property.getId(), propertyMapper.toDTO(property)));
+            found.putAll(loaded);
+
+            // 3. Ghi lại vào cache (pipeline) cho lần sau
+            if (cache != null) {
+                try {
+                    cache.putAll(CacheNames.PROPERTIES, loaded);
+                } catch (RuntimeException e) {
+                    log.warn("Batch cache back-fill failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        // Giữ đúng thứ tự ID yêu cầu
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SitemapPageResponse getSitemapPage(long afterId, int size) {
+        List<PropertySitemapEntry> items = propertyRepository.findSitemapPage("ACTIVE", afterId, size);
+        // Đủ size dòng -> có thể còn trang sau (trang rỗng cuối cùng là chấp nhận được)
+        Long nextAfter = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return SitemapPageResponse.builder()
+                .items(items)
+                .nextAfter(nextAfter)
+                .size(size)
+                .build();
+    }
+
     @Override
     @Transactional
-    // Khi update -> Xóa cache của chính căn đó VÀ xóa cache tìm kiếm
-    @Caching(evict = {
-            @CacheEvict(value = "properties", key = "#id"),
-            @CacheEvict(value = "property_search", allEntries = true)
-    })
+    // Có thay đổi thật -> xóa cache của chính căn đó VÀ cache tìm kiếm (sau commit)
     public PropertyDTO updateProperty(Long id, PropertyDTO dto) {
         Objects.requireNonNull(id, "Property ID must not be null");
         log.info("Updating property ID: {}", id);
         Property existing = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale("error.villa.not_found")));
+        PropertyDTO before = propertyMapper.toBasicDTO(existing);
+        Set<Long> amenityIdsBefore = ids(existing.getAmenities(), Amenity::getId);
+        Set<Long> labelIdsBefore = ids(existing.getLabels(), Label::getId);
+        String oldSlug = existing.getSlug();
+        String oldCode = existing.getCode();
 
         // --- CẬP NHẬT MÃ (CODE) nếu có thay đổi ---
         if (dto.getCode() != null && !dto.getCode().equals(existing.getCode())) {
@@ -364,38 +515,48 @@ public class PropertyServiceImpl implements PropertyService {
         String slugRaw = dto.getName() + "-" + existing.getCode();
         existing.setSlug(SlugUtils.toSlug(slugRaw));
 
-        // Cập nhật Tiện ích
+        // Cập nhật Tiện ích (chỉ thêm / bỏ phần chênh lệch)
         if (dto.getAmenityIds() != null) {
-            existing.getAmenities().clear();
-            if (!dto.getAmenityIds().isEmpty()) {
-                List<Amenity> amenities = amenityRepository.findAllById(Objects.requireNonNull(dto.getAmenityIds()));
-                existing.getAmenities().addAll(amenities);
-            }
+            syncById(existing.getAmenities(), dto.getAmenityIds(), Amenity::getId, referenceDataStore::findAmenities);
         }
 
         // Cập nhật Location mới (dynamic)
         if (dto.getLocationId() != null) {
-            locationRepository.findById(dto.getLocationId())
+            referenceDataStore.findLocation(dto.getLocationId())
                     .ifPresent(existing::setLocationEntity);
         }
 
         // Cập nhật Property Type
         if (dto.getPropertyTypeId() != null) {
-            propertyTypeRepository.findById(dto.getPropertyTypeId())
+            referenceDataStore.findPropertyType(dto.getPropertyTypeId())
                     .ifPresent(existing::setPropertyType);
         }
 
-        // Cập nhật Labels
+        // Cập nhật Labels (chỉ thêm / bỏ phần chênh lệch)
         if (dto.getLabelIds() != null) {
-            existing.getLabels().clear();
-            if (!dto.getLabelIds().isEmpty()) {
-                List<Label> labels = labelRepository.findAllById(Objects.requireNonNull(dto.getLabelIds()));
-                existing.getLabels().addAll(labels);
-            }
+            syncById(existing.getLabels(), dto.getLabelIds(), Label::getId, referenceDataStore::findLabels);
+        }
+
+        PropertyDTO after = propertyMapper.toBasicDTO(existing);
+        Set<String> changedFields = changedFields(before, after);
+        if (!amenityIdsBefore.equals(ids(existing.getAmenities(), Amenity::getId))) {
+            changedFields.add("amenities");
+        }
+        if (!labelIdsBefore.equals(ids(existing.getLabels(), Label::getId))) {
+            changedFields.add("labels");
+        }
+        if (unchanged(before, after, changedFields)) {
+            // Form lưu lại y nguyên: không UPDATE, không xóa cache, không event
+            log.info("Property {} unchanged, skipping save", id);
+            return propertyMapper.toDTO(existing);
         }
 
         Property updated = propertyRepository.save(existing);
-        log.info("Property updated successfully. ID: {}", id);
+        // Slug cũ -> redirect, bỏ key slug/code cũ khỏi index
+        propertyKeyIndex.onKeysChanged(id, oldSlug, updated.getSlug(), oldCode, updated.getCode());
+        log.info("Property updated successfully. ID: {} ({})", id, changedFields);
+        evictPropertyCaches(id);
+        publishChange(updated, PropertyChangeType.UPDATED, changedFields);
         return propertyMapper.toDTO(updated);
     }
 
@@ -421,20 +582,18 @@ public class PropertyServiceImpl implements PropertyService {
         propertyRepository.save(property);
 
         log.info("Property soft-deleted successfully. ID: {}", id);
+        publishChange(property, PropertyChangeType.DELETED, STATUS_FIELDS);
     }
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "properties", key = "#id"),
-            @CacheEvict(value = "property_search", allEntries = true)
-    })
     public PropertyDTO patchProperty(Long id, PropertyDTO dto) {
         Objects.requireNonNull(id, "Property ID must not be null");
         log.info("Patching property ID: {} with partial data", id);
 
         Property existing = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale("error.villa.not_found")));
+        PropertyDTO before = propertyMapper.toBasicDTO(existing);
 
         // Only update fields that are explicitly provided (not null)
         if (dto.getIsFeatured() != null) {
@@ -457,11 +616,108 @@ public class PropertyServiceImpl implements PropertyService {
             existing.setStatus(dto.getStatus());
         }
 
+        PropertyDTO after = propertyMapper.toBasicDTO(existing);
+        Set<String> changedFields = changedFields(before, after);
+        if (unchanged(before, after, changedFields)) {
+            log.info("Property {} unchanged, skipping patch", id);
+            return propertyMapper.toDTO(existing);
+        }
         Property updated = propertyRepository.save(existing);
         log.info("Property patched successfully. ID: {}", id);
+        evictPropertyCaches(id);
+        publishChange(updated, PropertyChangeType.UPDATED, changedFields);
         return propertyMapper.toDTO(updated);
     }
 
+    @Override
+    @Transactional
+    @CacheEvict(value = "property_search", allEntries = true, condition = "!#request.dryRun")
+    public PropertyBulkResponse bulkUpdate(PropertyBulkRequest request) {
+        validateBulkRequest(request);
+        Specification<Property> target = bulkTarget(request).and(bulkChangesValue(request));
+        List<Long> ids = propertyBulkRepository.findIds(target, bulkMaxAffected + 1);
+        if (ids.size() > bulkMaxAffected) {
+            throw new IllegalArgumentException(
+                    "Thao tác ảnh hưởng hơn " + bulkMaxAffected + " căn, hãy thu hẹp bộ lọc");
+        }
+
+        PropertyBulkResponse response = PropertyBulkResponse.builder()
+                .operation(request.getOperation())
+                .dryRun(request.isDryRun())
+                .affected(ids.size())
+                .ids(ids)
+                .build();
+        if (request.isDryRun() || ids.isEmpty()) {
+            return response;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        switch (request.getOperation()) {
+            case SET_STATUS -> propertyBulkRepository.updateStatus(ids, request.getStatus(), now);
+            case SET_FEATURED -> propertyBulkRepository.updateFeatured(ids, request.getFeatured(), now);
+            case ADJUST_PRICE -> propertyBulkRepository.adjustPrices(ids,
+                    BigDecimal.ONE.add(request.getPercent().movePointLeft(2)),
+                    request.getPriceTarget() != PropertyBulkRequest.PriceTarget.WEEKEND,
+                    request.getPriceTarget() != PropertyBulkRequest.PriceTarget.WEEKDAY, now);
+        }
+        Map<Long, PropertyChangeType> changes = new HashMap<>();
+        ids.forEach(id -> changes.put(id, PropertyChangeType.UPDATED));
+        propertyBulkRepository.appendChanges(changes, now);
+        log.info("Bulk {} applied to {} properties", request.getOperation(), ids.size());
+
+        // 1 lệnh DEL cho cache chi tiết; property_search xóa 1 lần qua @CacheEvict
+        batchCache.ifAvailable(cache -> cache.evictAll(CacheNames.PROPERTIES, ids));
+        // 1 event cho cả lô (như import): listener làm mới toàn catalog, SSE gửi "reset"
+        eventPublisher.publishEvent(PropertyChangedEvent.catalogWide(PropertyChangeType.UPDATED));
+        return response;
+    }
+
+    private static void validateBulkRequest(PropertyBulkRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Cần gửi ids hoặc filter (chỉ 1 trong 2)");
+        }
+        PropertyBulkOperation operation = Objects.requireNonNull(request.getOperation());
+        // Chỉ ACTIVE / INACTIVE: gõ sai (VD "activ") sẽ ẩn cả tập căn khỏi trang public
+        if (operation == PropertyBulkOperation.SET_STATUS && !PropertyStatus.isAssignable(request.getStatus())) {
+            throw new IllegalArgumentException(
+                    "status phải là ACTIVE hoặc INACTIVE (xóa dùng DELETE /properties/{id})");
+        }
+        if (operation == PropertyBulkOperation.SET_FEATURED && request.getFeatured() == null) {
+            throw new IllegalArgumentException("Thiếu featured");
+        }
+        if (operation == PropertyBulkOperation.ADJUST_PRICE
+                && (request.getPercent() == null || request.getPercent().signum() == 0
+                        || request.getPriceTarget() == null)) {
+            throw new IllegalArgumentException("Thiếu percent hoặc priceTarget");
+        }
+    }
+
+    // Tập căn được chọn (ids hoặc filter như trang tìm kiếm), không bao giờ gồm căn đã xóa
+    private static Specification<Property> bulkTarget(PropertyBulkRequest request) {
+        Specification<Property> selected = request.getFilter() != null
+                ? PropertySpecification.filter(request.getFilter())
+                : (root, query, cb) -> root.get("id").in(request.getIds());
+        Specification<Property> notDeleted = (root, query, cb) -> cb.or(cb.isNull(root.get("status")),
+                cb.notEqual(root.get("status"), "DELETED"));
+        return selected.and(notDeleted);
+    }
+
+    // Chỉ các căn mà giá trị thực sự đổi -> ids trả về (kể cả dry-run) đúng số căn bị ghi
+    private static Specification<Property> bulkChangesValue(PropertyBulkRequest request) {
+        return (root, query, cb) -> switch (request.getOperation()) {
+            case SET_STATUS -> cb.or(cb.isNull(root.get("status")),
+                    cb.notEqual(root.get("status"), request.getStatus()));
+            case SET_FEATURED -> cb.or(cb.isNull(root.get("isFeatured")),
+                    cb.notEqual(root.get("isFeatured"), request.getFeatured()));
+            case ADJUST_PRICE -> switch (request.getPriceTarget()) {
+                case WEEKDAY -> cb.isNotNull(root.get("priceWeekday"));
+                case WEEKEND -> cb.isNotNull(root.get("priceWeekend"));
+                case BOTH -> cb.or(cb.isNotNull(root.get("priceWeekday")), cb.isNotNull(root.get("priceWeekend")));
+            };
+        };
+    }
+
     @Override
     @Transactional
     @CacheEvict(value = "properties", key = "#propertyId")
@@ -488,6 +744,7 @@ public class PropertyServiceImpl implements PropertyService {
         property.getImages().remove(image);
         propertyImageRepository.delete(image);
         log.info("Image deleted from database. ID: {}", imageId);
+        publishChange(property, PropertyChangeType.IMAGES_CHANGED, IMAGE_FIELDS);
     }
 
     @Override
@@ -512,6 +769,7 @@ public class PropertyServiceImpl implements PropertyService {
         targetImage.setIsThumbnail(true);
         propertyRepository.save(property);
         log.info("Thumbnail set successfully for property ID: {}", propertyId);
+        publishChange(property, PropertyChangeType.IMAGES_CHANGED, IMAGE_FIELDS);
     }
 
     @Override
@@ -548,11 +806,13 @@ public class PropertyServiceImpl implements PropertyService {
         // 4. Flush to execute DELETE on images before property delete
         propertyRepository.saveAndFlush(property);
 
-        // 5. Delete the property entity
+        // 5. Delete the property entity (kèm slug cũ + key trong index slug/code)
+        propertyKeyIndex.forget(id, property.getSlug(), property.getCode());
         propertyRepository.delete(property);
         propertyRepository.flush(); // Force immediate execution
 
         log.info("Property deleted from database. ID: {}", id);
+        publishChange(property, PropertyChangeType.PERMANENTLY_DELETED, Set.of());
 
         // 6. Delete images from Cloudinary AFTER DB transaction succeeds
         // This is done last to avoid holding DB locks during network calls
@@ -569,4 +829,115 @@ public class PropertyServiceImpl implements PropertyService {
         log.warn("Property PERMANENTLY DELETED. ID: {}", id);
     }
 
-}
\ No newline at end of file
+    // Chỉ chạm vào collection LAZY được yêu cầu; tên location/type lấy từ snapshot
+    private PropertyDTO toDTO(Property property, PropertyFieldSet fields) {
+        if (fields.isAll()) {
+            return propertyMapper.toDTO(property);
+        }
+        PropertyDTO dto = propertyMapper.toBasicDTO(property);
+        if (fields.includes(PropertyFieldSet.IMAGES)) {
+            dto.setImages(propertyMapper.toImageDTOs(property.getImages()));
+        }
+        if (fields.includes(PropertyFieldSet.AMENITIES)) {
+            dto.setAmenities(propertyMapper.toAmenityDTOs(property.getAmenities()));
+        }
+        if (fields.includes(PropertyFieldSet.LABELS)) {
+            dto.setLabels(propertyMapper.toLabelDTOs(property.getLabels()));
+        }
+        if (fields.includes(PropertyFieldSet.LOCATION_NAME) && dto.getLocationId() != null) {
+            dto.setLocationName(referenceDataStore.findLocation(dto.getLocationId()).map(Location::getName).orElse(null));
+        }
+        if (fields.includes(PropertyFieldSet.PROPERTY_TYPE_NAME) && dto.getPropertyTypeId() != null) {
+            dto.setPropertyTypeName(referenceDataStore.findPropertyType(dto.getPropertyTypeId()).map(PropertyType::getName).orElse(null));
+        }
+        return dto;
+    }
+
+    /**
+     * Phát PropertyChangedEvent - các listener AFTER_COMMIT (cache warm-up, ...) sẽ
+     * nhận được sau khi transaction commit
+     */
+    private void publishChange(Property property, PropertyChangeType type, Set<String> changedFields) {
+        String status = type == PropertyChangeType.PERMANENTLY_DELETED ? null : property.getStatus();
+        eventPublisher.publishEvent(new PropertyChangedEvent(property.getId(), type, Set.copyOf(changedFields),
+                status, LocalDateTime.now()));
+    }
+
+    // Các trường cơ bản (không gồm collection) khác nhau giữa 2 bản - cho SSE admin
+    private static Set<String> changedFields(PropertyDTO before, PropertyDTO after) {
+        Set<String> changed = new HashSet<>();
+        if (before == null || after == null) {
+            return changed;
+        }
+        BeanWrapper beforeBean = new BeanWrapperImpl(before);
+        BeanWrapper afterBean = new BeanWrapperImpl(after);
+        for (PropertyDescriptor descriptor : beforeBean.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            if (descriptor.getReadMethod() == null || IGNORED_DIFF_FIELDS.contains(name)) {
+                continue;
+            }
+            if (!sameValue(beforeBean.getPropertyValue(name), afterBean.getPropertyValue(name))) {
+                changed.add(name);
+            }
+        }
+        return changed;
+    }
+
+    private static <T> Set<Long> ids(Set<T> items, Function<T, Long> id) {
+        return items == null ? Set.of() : items.stream().map(id).collect(Collectors.toSet());
+    }
+
+    // Không so sánh được (thiếu bản trước / sau) -> coi như có đổi
+    private static boolean unchanged(PropertyDTO before, PropertyDTO after, Set<String> changedFields) {
+        return before != null && after != null && changedFields.isEmpty();
+    }
+
+    // Giá từ DB có scale 2 (5000000.00), từ form thì không -> so theo giá trị
+    private static boolean sameValue(Object before, Object after) {
+        if (before instanceof BigDecimal b && after instanceof BigDecimal a) {
+            return b.compareTo(a) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    /**
+     * Đưa collection ManyToMany về đúng tập ID mong muốn bằng cách chỉ bỏ phần tử
+     * thừa và thêm phần tử thiếu. Phần tử giữ nguyên là cùng instance trong
+     * snapshot của Hibernate nên flush chỉ DELETE / INSERT đúng các dòng join table
+     * đổi (clear() + addAll() với instance từ ReferenceDataStore làm xóa và chèn lại
+     * toàn bộ).
+     */
+    private static <T> void syncById(Set<T> current, List<Long> wantedIds, Function<T, Long> id,
+            Function<List<Long>, List<T>> loader) {
+        Set<Long> wanted = wantedIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        current.removeIf(item -> !wanted.contains(id.apply(item)));
+        Set<Long> present = ids(current, id);
+        List<Long> missing = wanted.stream().filter(wantedId -> !present.contains(wantedId)).toList();
+        if (!missing.isEmpty()) {
+            current.addAll(loader.apply(missing));
+        }
+    }
+
+    // Như @CacheEvict(properties #id) + @CacheEvict(property_search allEntries) nhưng chỉ
+    // khi thực sự có thay đổi, và sau commit để request đọc song song không nạp lại bản cũ
+    private void evictPropertyCaches(Long id) {
+        Runnable evict = () -> {
+            CacheManager manager = cacheManager.getIfAvailable();
+            if (manager == null) {
+                return;
+            }
+            Optional.ofNullable(manager.getCache(CacheNames.PROPERTIES)).ifPresent(cache -> cache.evict(id));
+            Optional.ofNullable(manager.getCache(CacheNames.PROPERTY_SEARCH)).ifPresent(Cache::clear);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
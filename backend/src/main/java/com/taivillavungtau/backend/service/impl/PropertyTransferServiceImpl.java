@@ -0,0 +1,556 @@
+package com.taivillavungtau.backend.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.dto.PropertyTransferRow;
+import com.taivillavungtau.backend.dto.response.PropertyImportJobResponse;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Location;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.entity.PropertyType;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.enums.PropertyStatus;
+import com.taivillavungtau.backend.enums.TransferFormat;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.exception.ResourceNotFoundException;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository.ExportChunk;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository.PropertyKey;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository.Upsert;
+import com.taivillavungtau.backend.service.PropertyTransferService;
+import com.taivillavungtau.backend.utils.SlugUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import / export toàn bộ catalog (CSV hoặc NDJSON).
+ *
+ * Import:
+ * - File được chép ra đĩa rồi đọc dạng stream (MappingIterator), không nạp cả file vào bộ nhớ
+ * - Amenity / label / location / property type tra trong ReferenceDataSnapshot,
+ *   code -> ID của catalog hiện có nạp 1 lần -> không truy vấn DB theo từng dòng
+ * - Mỗi batch-size dòng ghi bằng PropertyBulkRepository trong 1 transaction;
+ *   lô lỗi DB bị rollback và tính là failed, các lô khác vẫn được ghi
+ * - Xong: xóa cache properties / property_search / property_keys và phát
+ *   PropertyChangedEvent.catalogWide (ETag, Bloom filter, SSE, snapshot, warm-up)
+ * Các job chạy tuần tự trên 1 luồng nền; giữ max-jobs kết quả gần nhất trong bộ nhớ.
+ */
+@Service
+@Slf4j
+public class PropertyTransferServiceImpl implements PropertyTransferService {
+
+    static final int MAX_ERRORS = 100;
+    private static final String ARRAY_SEPARATOR = "|";
+
+    private final PropertyBulkRepository bulkRepository;
+    private final ReferenceDataStore referenceDataStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Value("${property-transfer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${property-transfer.max-jobs:20}")
+    private int maxJobs;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "property-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PropertyTransferServiceImpl(PropertyBulkRepository bulkRepository, ReferenceDataStore referenceDataStore,
+            ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, ObjectProvider<CacheManager> cacheManager) {
+        this.bulkRepository = bulkRepository;
+        this.referenceDataStore = referenceDataStore;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public PropertyImportJobResponse startImport(InputStream input, TransferFormat format) throws IOException {
+        Path file = Files.createTempFile("property-import-", "." + format.getValue());
+        try {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = register(new ImportJob(UUID.randomUUID().toString(), format));
+        executor.execute(() -> {
+            try {
+                runImport(file, job);
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete import file {}: {}", file, e.getMessage());
+                }
+            }
+        });
+        return job.toResponse();
+    }
+
+    @Override
+    public PropertyImportJobResponse getImportJob(String jobId) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Không tìm thấy lượt import " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public void export(OutputStream output, TransferFormat format) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long exported = 0;
+        try (SequenceWriter writer = writer(format).writeValues(output)) {
+            long after = 0;
+            while (true) {
+                ExportChunk chunk = bulkRepository.findExportChunk(after, batchSize);
+                writer.writeAll(chunk.rows());
+                exported += chunk.rows().size();
+                if (chunk.rows().size() < batchSize) {
+                    break;
+                }
+                after = chunk.lastId();
+            }
+        }
+        log.info("Exported {} properties as {} in {}ms", exported, format, System.currentTimeMillis() - startedAt);
+    }
+
+    void runImport(Path file, ImportJob job) {
+        job.start();
+        try {
+            References references = new References(referenceDataStore.reload());
+            // Cùng collation với UNIQUE(code) của MySQL: "ms01" và "MS01" là 1 căn
+            Map<String, PropertyKey> keys = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            keys.putAll(bulkRepository.findAllKeys());
+
+            try (MappingIterator<PropertyTransferRow> rows = reader(job.format).readValues(file.toFile())) {
+                Map<String, Pending> chunk = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                long record = 0;
+                while (rows.hasNextValue()) {
+                    record++;
+                    PropertyTransferRow row;
+                    try {
+                        row = rows.nextValue();
+                    } catch (JsonMappingException e) {
+                        // Sai kiểu dữ liệu (VD: giá là chữ) - bỏ dòng, đọc tiếp
+                        job.rowFailed(record, e.getOriginalMessage());
+                        continue;
+                    }
+                    try {
+                        Upsert upsert = toUpsert(row, keys, references);
+                        // Trùng code trong cùng file: dòng sau thắng
+                        chunk.put(upsert.property().getCode(), new Pending(record, upsert));
+                    } catch (IllegalArgumentException e) {
+                        job.rowFailed(record, e.getMessage());
+                        continue;
+                    }
+                    job.rowRead();
+                    if (chunk.size() >= batchSize) {
+                        flush(chunk.values(), keys, job);
+                        chunk.clear();
+                    }
+                }
+                flush(chunk.values(), keys, job);
+            }
+            job.complete();
+        } catch (Exception e) {
+            log.warn("Property import {} failed: {}", job.id, e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            if (job.written() > 0) {
+                afterImport();
+            }
+            log.info("Property import {} {}: {} inserted, {} updated, {} failed", job.id, job.status,
+                    job.inserted, job.updated, job.failed);
+        }
+    }
+
+    private void flush(Collection<Pending> pending, Map<String, PropertyKey> keys, ImportJob job) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Upsert> upserts = pending.stream().map(Pending::upsert).toList();
+        List<Property> inserts = upserts.stream().map(Upsert::property).filter(p -> p.getId() == null).toList();
+        List<Property> updates = upserts.stream().map(Upsert::property).filter(p -> p.getId() != null).toList();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Map<String, Long> newIds = transactionTemplate.execute(status -> {
+                Map<String, Long> ids = bulkRepository.insertProperties(inserts, now);
+                inserts.forEach(property -> property.setId(ids.get(property.getCode())));
+                bulkRepository.updateProperties(updates, now);
+
+                Map<String, Long> oldSlugs = new HashMap<>();
+                updates.forEach(property -> {
+                    String oldSlug = keys.get(property.getCode()).slug();
+                    if (oldSlug != null && !oldSlug.equals(property.getSlug())) {
+                        oldSlugs.put(oldSlug, property.getId());
+                    }
+                });
+                bulkRepository.saveSlugRedirects(oldSlugs, now);
+                bulkRepository.replaceAssociations(upserts);
+
+                Map<Long, PropertyChangeType> changes = new LinkedHashMap<>();
+                inserts.forEach(property -> changes.put(property.getId(), PropertyChangeType.CREATED));
+                updates.forEach(property -> changes.put(property.getId(), PropertyChangeType.UPDATED));
+                bulkRepository.appendChanges(changes, now);
+                return ids;
+            });
+            inserts.forEach(property -> keys.put(property.getCode(),
+                    new PropertyKey(newIds.get(property.getCode()), property.getSlug())));
+            updates.forEach(property -> keys.put(property.getCode(),
+                    new PropertyKey(property.getId(), property.getSlug())));
+            job.written(inserts.size(), updates.size());
+        } catch (RuntimeException e) {
+            // Cả lô đã rollback - ID vừa gán cho căn mới không còn giá trị
+            inserts.forEach(property -> property.setId(null));
+            long first = pending.stream().mapToLong(Pending::record).min().orElse(0);
+            long last = pending.stream().mapToLong(Pending::record).max().orElse(0);
+            log.warn("Property import {} batch {}-{} failed: {}", job.id, first, last, e.getMessage());
+            job.batchFailed(first, last, pending.size(), e.getMessage());
+        }
+    }
+
+    private Upsert toUpsert(PropertyTransferRow row, Map<String, PropertyKey> keys, References references) {
+        String code = trimToNull(row.getCode());
+        String name = trimToNull(row.getName());
+        if (code == null) {
+            throw new IllegalArgumentException("thiếu code");
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("thiếu name (" + code + ")");
+        }
+        PropertyKey existing = keys.get(code);
+        String status = trimToNull(row.getStatus());
+        if (status != null) {
+            // Ghi thẳng bằng JDBC -> chỉ nhận trạng thái app dùng (gõ sai "activ" sẽ ẩn căn khỏi trang public)
+            status = status.toUpperCase(Locale.ROOT);
+            if (!PropertyStatus.isAssignable(status)) {
+                throw new IllegalArgumentException("status không hợp lệ: " + row.getStatus() + " (" + code
+                        + "), chỉ nhận ACTIVE / INACTIVE");
+            }
+        }
+
+        Property property = Property.builder()
+                .id(existing != null ? existing.id() : null)
+                .code(code)
+                .name(name)
+                .slug(SlugUtils.toSlug(name + "-" + code)) // Giống createProperty / updateProperty
+                .status(status != null ? status : existing == null ? PropertyStatus.ACTIVE.name() : null)
+                .propertyType(references.find(references.propertyTypes, row.getPropertyType(), "propertyType"))
+                .locationEntity(references.find(references.locations, row.getLocation(), "location"))
+                .location(row.getLocationType())
+                .area(row.getArea())
+                .address(row.getAddress())
+                .priceWeekday(row.getPriceWeekday())
+                .priceWeekend(row.getPriceWeekend())
+                .priceNote(row.getPriceNote())
+                .standardGuests(row.getStandardGuests())
+                .maxGuests(row.getMaxGuests())
+                .bedroomCount(row.getBedroomCount())
+                .bathroomCount(row.getBathroomCount())
+                .bedCount(row.getBedCount())
+                .bedConfig(row.getBedConfig())
+                .poolArea(row.getPoolArea())
+                .distanceToSea(row.getDistanceToSea())
+                .isFeatured(row.getIsFeatured() != null ? row.getIsFeatured() : existing == null ? false : null)
+                .description(row.getDescription())
+                .mapUrl(row.getMapUrl())
+                .facebookLink(row.getFacebookLink())
+                .metaTitle(row.getMetaTitle())
+                .metaDescription(row.getMetaDescription())
+                .googleSheetsUrl(row.getGoogleSheetsUrl())
+                .googleSheetsNote(row.getGoogleSheetsNote())
+                .build();
+
+        // Căn mới luôn "thay" quan hệ (đang rỗng); căn có sẵn chỉ khi file có cột / key đó
+        boolean isNew = existing == null;
+        if (row.getImages() != null) {
+            property.setImages(toImages(row.getImages(), trimToNull(row.getThumbnail()), code));
+        }
+        if (row.getAmenities() != null) {
+            property.setAmenities(new LinkedHashSet<>(
+                    references.findAll(references.amenities, row.getAmenities(), "amenities")));
+        }
+        if (row.getLabels() != null) {
+            property.setLabels(new LinkedHashSet<>(references.findAll(references.labels, row.getLabels(), "labels")));
+        }
+        return new Upsert(property, isNew || row.getImages() != null, isNew || row.getAmenities() != null,
+                isNew || row.getLabels() != null);
+    }
+
+    // Thumbnail trống -> ảnh đầu tiên
+    private static Set<PropertyImage> toImages(List<String> urls, String thumbnail, String code) {
+        List<String> cleaned = clean(urls);
+        if (thumbnail != null && !cleaned.contains(thumbnail)) {
+            throw new IllegalArgumentException("thumbnail không có trong images (" + code + ")");
+        }
+        String effectiveThumbnail = thumbnail != null ? thumbnail : cleaned.isEmpty() ? null : cleaned.get(0);
+        Set<PropertyImage> images = new LinkedHashSet<>();
+        for (String url : cleaned) {
+            images.add(PropertyImage.builder().imageUrl(url).isThumbnail(url.equals(effectiveThumbnail)).build());
+        }
+        return images;
+    }
+
+    private void afterImport() {
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager != null) {
+            for (String name : List.of(CacheNames.PROPERTIES, CacheNames.PROPERTY_SEARCH, CacheNames.PROPERTY_KEYS)) {
+                try {
+                    Cache cache = manager.getCache(name);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Could not clear cache {} after import: {}", name, e.getMessage());
+                }
+            }
+        }
+        eventPublisher.publishEvent(PropertyChangedEvent.catalogWide(PropertyChangeType.UPDATED));
+    }
+
+    private ObjectReader reader(TransferFormat format) {
+        if (format == TransferFormat.CSV) {
+            // Header quyết định cột; thiếu cột -> null (giữ nguyên), ô trống -> null
+            return csvMapper.readerFor(PropertyTransferRow.class)
+                    .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(ARRAY_SEPARATOR))
+                    .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                    .with(CsvParser.Feature.TRIM_SPACES);
+        }
+        return objectMapper.readerFor(PropertyTransferRow.class);
+    }
+
+    private ObjectWriter writer(TransferFormat format) {
+        if (format == TransferFormat.CSV) {
+            return csvMapper.writer(csvMapper.schemaFor(PropertyTransferRow.class).withHeader()
+                    .withArrayElementSeparator(ARRAY_SEPARATOR));
+        }
+        return objectMapper.writerFor(PropertyTransferRow.class).withRootValueSeparator("\n");
+    }
+
+    private ImportJob register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            // Bỏ job cũ nhất đã xong khi vượt max-jobs
+            var iterator = jobs.values().iterator();
+            while (jobs.size() > maxJobs && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private static List<String> clean(List<String> values) {
+        return values.stream().map(PropertyTransferServiceImpl::trimToNull).filter(value -> value != null)
+                .distinct().toList();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Pending(long record, Upsert upsert) {
+    }
+
+    /**
+     * Tra danh mục theo tên / slug (không phân biệt hoa thường) từ snapshot trong bộ nhớ
+     */
+    private static final class References {
+        private final Map<String, Amenity> amenities;
+        private final Map<String, Label> labels;
+        private final Map<String, Location> locations;
+        private final Map<String, PropertyType> propertyTypes;
+
+        private References(ReferenceDataSnapshot snapshot) {
+            this.amenities = index(snapshot.amenitiesById().values(), Amenity::getName);
+            this.labels = index(snapshot.labelsById().values(), Label::getName);
+            this.locations = index(snapshot.locationsById().values(), Location::getSlug);
+            this.propertyTypes = index(snapshot.propertyTypesById().values(), PropertyType::getSlug);
+        }
+
+        private <T> T find(Map<String, T> byKey, String key, String field) {
+            String cleaned = trimToNull(key);
+            if (cleaned == null) {
+                return null;
+            }
+            T value = byKey.get(cleaned.toLowerCase(Locale.ROOT));
+            if (value == null) {
+                throw new IllegalArgumentException(field + " không tồn tại: " + cleaned);
+            }
+            return value;
+        }
+
+        private <T> List<T> findAll(Map<String, T> byKey, List<String> keys, String field) {
+            List<T> values = new ArrayList<>();
+            for (String key : clean(keys)) {
+                values.add(find(byKey, key, field));
+            }
+            return values;
+        }
+
+        private static <T> Map<String, T> index(Collection<T> values, Function<T, String> key) {
+            return values.stream()
+                    .filter(value -> key.apply(value) != null)
+                    .collect(Collectors.toMap(value -> key.apply(value).trim().toLowerCase(Locale.ROOT),
+                            Function.identity(), (first, second) -> first));
+        }
+    }
+
+    static final class ImportJob {
+        private final String id;
+        private final TransferFormat format;
+        private final List<String> errors = new ArrayList<>();
+        private volatile String status = "QUEUED";
+        private volatile long processed;
+        private volatile long inserted;
+        private volatile long updated;
+        private volatile long failed;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, TransferFormat format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        void rowRead() {
+            processed++;
+        }
+
+        void rowFailed(long record, String reason) {
+            processed++;
+            failed++;
+            error("bản ghi " + record + ": " + reason);
+        }
+
+        void batchFailed(long first, long last, int rows, String reason) {
+            failed += rows;
+            error("bản ghi " + first + "-" + last + ": lỗi ghi DB - " + reason);
+        }
+
+        void written(int newRows, int updatedRows) {
+            inserted += newRows;
+            updated += updatedRows;
+        }
+
+        long written() {
+            return inserted + updated;
+        }
+
+        void complete() {
+            finishedAt = LocalDateTime.now();
+            status = "COMPLETED";
+        }
+
+        void fail(String reason) {
+            error("import dừng: " + reason);
+            finishedAt = LocalDateTime.now();
+            status = "FAILED";
+        }
+
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private void error(String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(message);
+                }
+            }
+        }
+
+        PropertyImportJobResponse toResponse() {
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            return PropertyImportJobResponse.builder()
+                    .jobId(id)
+                    .format(format.getValue())
+                    .status(status)
+                    .processed(processed)
+                    .inserted(inserted)
+                    .updated(updated)
+                    .failed(failed)
+                    .errors(errorsCopy)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
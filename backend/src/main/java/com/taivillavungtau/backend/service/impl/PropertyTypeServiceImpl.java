@@ -2,6 +2,7 @@ package com.taivillavungtau.backend.service.impl;
 
 import com.taivillavungtau.backend.dto.PropertyTypeDTO;
 import com.taivillavungtau.backend.entity.PropertyType;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
 import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.repository.PropertyTypeRepository;
@@ -9,6 +10,7 @@ import com.taivillavungtau.backend.service.PropertyTypeService;
 import com.taivillavungtau.backend.utils.SlugUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
 public class PropertyTypeServiceImpl implements PropertyTypeService {
 
     private final PropertyTypeRepository propertyTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<PropertyTypeDTO> getAllPropertyTypes() {
@@ -56,6 +59,7 @@ public class PropertyTypeServiceImpl implements PropertyTypeService {
 
         PropertyType saved = propertyTypeRepository.save(propertyType);
         log.info("Created property type: {}", saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("propertyType"));
         return toDTO(saved);
     }
 
@@ -75,6 +79,7 @@ public class PropertyTypeServiceImpl implements PropertyTypeService {
 
         PropertyType saved = propertyTypeRepository.save(existing);
         log.info("Updated property type: {}", saved.getName());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("propertyType"));
         return toDTO(saved);
     }
 
@@ -86,6 +91,7 @@ public class PropertyTypeServiceImpl implements PropertyTypeService {
         }
         propertyTypeRepository.deleteById(id);
         log.info("Deleted property type ID: {}", id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("propertyType"));
     }
 
     private PropertyTypeDTO toDTO(PropertyType entity) {
@@ -0,0 +1,77 @@
+package com.taivillavungtau.backend.utils;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public class ETagUtils {
+
+    // Thứ tự giống các converter Jackson đã đăng ký (JacksonConfig): JSON trước -> Accept */* ra JSON
+    private static final List<MediaType> REPRESENTATIONS = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+    private static final List<String> REPRESENTATION_NAMES = List.of("json", "cbor", "smile");
+
+    /**
+     * So khớp header If-None-Match với ETag hiện tại (so sánh yếu theo RFC 9110:
+     * bỏ tiền tố W/ - nginx đổi ETag thành weak khi nén gzip)
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String current = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = stripWeak(candidate.trim());
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hậu tố ETag cho 1 representation: định dạng sẽ được chọn theo Accept (json / cbor /
+     * smile) + tập trường ?fields= dạng canonical (null = đầy đủ). Dấu phẩy đổi thành dấu
+     * chấm vì If-None-Match được tách theo dấu phẩy.
+     */
+    public static String variant(String accept, String canonicalFields) {
+        String representation = representation(accept);
+        return canonicalFields == null ? representation : representation + "-f." + canonicalFields.replace(',', '.');
+    }
+
+    /**
+     * Định dạng content negotiation sẽ chọn cho header Accept (mặc định json)
+     */
+    public static String representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return REPRESENTATION_NAMES.get(0);
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return REPRESENTATION_NAMES.get(0);
+        }
+        // q cao trước; cùng q thì giữ thứ tự client gửi
+        List<MediaType> byQuality = accepted.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList();
+        for (MediaType type : byQuality) {
+            for (int i = 0; i < REPRESENTATIONS.size(); i++) {
+                if (type.isCompatibleWith(REPRESENTATIONS.get(i))) {
+                    return REPRESENTATION_NAMES.get(i);
+                }
+            }
+        }
+        return REPRESENTATION_NAMES.get(0);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,6 @@
+-- V17: Covering index for GET /api/v1/properties/sitemap
+-- Query: SELECT id, slug, code, updated_at FROM properties
+--        WHERE status = 'ACTIVE' AND id > ? ORDER BY id LIMIT ?
+-- Mọi cột đều nằm trong index -> index-only scan, keyset theo id không cần sort
+
+CREATE INDEX idx_properties_sitemap ON properties (status, id, updated_at, slug, code);
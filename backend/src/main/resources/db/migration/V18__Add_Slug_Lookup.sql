@@ -0,0 +1,13 @@
+-- V18: Lookup theo slug / code (GET /api/v1/properties/slug/{slug}, /code/{code})
+-- code đã có UNIQUE index; slug chưa có index -> findBySlug phải quét cả bảng
+CREATE INDEX idx_properties_slug ON properties (slug);
+
+-- Slug cũ -> căn hiện tại: đổi tên sinh slug mới, link cũ (Google, Zalo...) vẫn mở được
+CREATE TABLE property_slug_redirects (
+    slug VARCHAR(255) NOT NULL PRIMARY KEY,
+    property_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    FOREIGN KEY (property_id) REFERENCES properties(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_slug_redirects_property ON property_slug_redirects(property_id);
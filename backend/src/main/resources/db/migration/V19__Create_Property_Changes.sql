@@ -0,0 +1,10 @@
+-- V19: Nhật ký thay đổi property (append-only) cho GET /api/v1/properties/changes?since=
+-- id tăng dần chính là change token; ghi cùng transaction với thao tác trên properties.
+-- Không FK tới properties: dòng PERMANENTLY_DELETED (tombstone) phải còn sau khi căn bị xóa.
+
+CREATE TABLE property_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    property_id BIGINT NOT NULL,
+    change_type VARCHAR(30) NOT NULL,
+    changed_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,52 @@
+-- V20: Bảng archive cho Villa đã xóa mềm (status = 'DELETED') quá thời gian lưu giữ
+-- PropertyArchiveServiceImpl chuyển căn + ảnh / tiện ích / label / slug cũ sang đây theo lô,
+-- bảng chính chỉ còn căn đang dùng. Khôi phục: POST /api/v1/admin/properties/{id}/restore
+
+-- Cùng cột / index với properties tại thời điểm này, id giữ nguyên khi chuyển.
+-- LIKE chỉ chép cấu trúc 1 lần: migration sau có ALTER TABLE properties thì phải ALTER
+-- properties_archive tương ứng và thêm cột vào PropertyBulkRepository.COLUMNS, nếu không
+-- archive / restore (PropertyArchiveRepository) sẽ bỏ mất cột mới
+CREATE TABLE properties_archive LIKE properties;
+
+-- Mã căn có thể được dùng lại sau khi căn cũ bị archive -> bỏ UNIQUE; id không tự tăng
+ALTER TABLE properties_archive
+    DROP INDEX code,
+    MODIFY id BIGINT NOT NULL,
+    ADD COLUMN archived_at DATETIME(6) NOT NULL,
+    ADD INDEX idx_properties_archive_code (code),
+    ADD INDEX idx_properties_archive_archived_at (archived_at);
+
+CREATE TABLE property_images_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    property_id BIGINT NOT NULL,
+    image_url VARCHAR(255) NOT NULL,
+    is_thumbnail BOOLEAN DEFAULT 0,
+    FOREIGN KEY (property_id) REFERENCES properties_archive(id) ON DELETE CASCADE
+);
+
+-- Xóa amenity / label không bị chặn bởi căn đã archive
+CREATE TABLE property_amenities_archive (
+    property_id BIGINT NOT NULL,
+    amenity_id BIGINT NOT NULL,
+    PRIMARY KEY (property_id, amenity_id),
+    FOREIGN KEY (property_id) REFERENCES properties_archive(id) ON DELETE CASCADE,
+    FOREIGN KEY (amenity_id) REFERENCES amenities(id) ON DELETE CASCADE
+);
+
+CREATE TABLE property_labels_archive (
+    property_id BIGINT NOT NULL,
+    label_id BIGINT NOT NULL,
+    PRIMARY KEY (property_id, label_id),
+    FOREIGN KEY (property_id) REFERENCES properties_archive(id) ON DELETE CASCADE,
+    FOREIGN KEY (label_id) REFERENCES labels(id) ON DELETE CASCADE
+);
+
+CREATE TABLE property_slug_redirects_archive (
+    property_id BIGINT NOT NULL,
+    slug VARCHAR(255) NOT NULL,
+    PRIMARY KEY (property_id, slug),
+    FOREIGN KEY (property_id) REFERENCES properties_archive(id) ON DELETE CASCADE
+);
+
+-- Archiver: WHERE status = 'DELETED' AND updated_at < ?
+CREATE INDEX idx_properties_status_updated ON properties (status, updated_at);
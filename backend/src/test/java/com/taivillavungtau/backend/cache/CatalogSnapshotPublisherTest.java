@@ -0,0 +1,144 @@
+package com.taivillavungtau.backend.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertySitemapEntry;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
+import com.taivillavungtau.backend.service.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CatalogSnapshotPublisher Tests")
+class CatalogSnapshotPublisherTest {
+
+    @TempDir
+    Path baseDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private PropertyService propertyService;
+    private CatalogSnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        propertyService = mock(PropertyService.class);
+        publisher = new CatalogSnapshotPublisher(propertyService, objectMapper);
+        ReflectionTestUtils.setField(publisher, "baseDir", baseDir);
+        ReflectionTestUtils.setField(publisher, "listingQueries", List.of("size=500&page=0", "size=500&page=1"));
+        ReflectionTestUtils.setField(publisher, "keepVersions", 2);
+
+        when(propertyService.getSitemapPage(anyLong(), anyInt())).thenReturn(SitemapPageResponse.builder()
+                .items(List.of(entry(1L), entry(2L))).nextAfter(null).size(500).build());
+        when(propertyService.getPropertiesByIds(List.of(1L, 2L))).thenReturn(List.of(
+                PropertyDTO.builder().id(1L).code("MS01").slug("villa-bai-sau-ms01").name("Villa 1").build(),
+                PropertyDTO.builder().id(2L).code("MS02").slug("../khong-hop-le").name("Villa 2").build()));
+        when(propertyService.searchProperties(argThat(request -> request != null && request.getPage() == 0)))
+                .thenReturn(page(List.of(PropertyDTO.builder().id(1L).build())));
+        when(propertyService.searchProperties(argThat((PropertySearchRequest request) ->
+                request != null && request.getPage() == 1))).thenReturn(page(List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write detail and listing JSON with gzip siblings under the current link")
+    void shouldPublishSnapshot() throws IOException {
+        publisher.publish();
+
+        Path properties = baseDir.resolve(CatalogSnapshotPublisher.CURRENT_LINK)
+                .resolve(CatalogSnapshotPublisher.PROPERTIES_PATH);
+        JsonNode detail = objectMapper.readTree(properties.resolve("1.json").toFile());
+        assertThat(detail.at("/data/code").asText()).isEqualTo("MS01");
+        assertThat(detail.at("/status").asInt()).isEqualTo(200);
+        try (InputStream gzip = new GZIPInputStream(Files.newInputStream(properties.resolve("1.json.gz")))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(Files.readAllBytes(properties.resolve("1.json")));
+        }
+
+        assertThat(properties.resolve("slug/villa-bai-sau-ms01.json")).hasSameBinaryContentAs(properties.resolve("1.json"));
+        assertThat(properties.resolve("code/MS02.json.gz")).exists();
+        // Slug không an toàn làm tên file -> không xuất, để backend xử lý
+        try (Stream<Path> slugs = Files.list(properties.resolve("slug"))) {
+            assertThat(slugs).hasSize(2);
+        }
+
+        assertThat(objectMapper.readTree(properties.resolve("list/size=500&page=0.json").toFile())
+                .at("/data/content/0/id").asLong()).isEqualTo(1L);
+        // Trang rỗng vượt tổng số trang -> không xuất
+        assertThat(properties.resolve("list/size=500&page=1.json")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should switch the current link atomically and keep only recent versions")
+    void shouldRotateVersions() throws Exception {
+        Path first = publisher.publish();
+        Thread.sleep(5);
+        Path second = publisher.publish();
+        Thread.sleep(5);
+        Path third = publisher.publish();
+
+        assertThat(baseDir.resolve(CatalogSnapshotPublisher.CURRENT_LINK).toRealPath())
+                .isEqualTo(third.toRealPath());
+        assertThat(second).exists();
+        assertThat(first).doesNotExist();
+        try (Stream<Path> files = Files.list(baseDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .noneMatch(name -> name.startsWith(".current-"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the previous snapshot in place when rendering fails")
+    void shouldKeepPreviousVersionOnFailure() throws IOException {
+        Path published = publisher.publish();
+        when(propertyService.searchProperties(any())).thenThrow(new IllegalStateException("db down"));
+
+        try {
+            publisher.publish();
+        } catch (IllegalStateException expected) {
+            // publishQuietly chỉ log lỗi này
+        }
+
+        assertThat(baseDir.resolve(CatalogSnapshotPublisher.CURRENT_LINK).toRealPath())
+                .isEqualTo(published.toRealPath());
+        try (Stream<Path> files = Files.list(baseDir)) {
+            assertThat(files).hasSize(2); // current + phiên bản đã publish, bản dở dang đã bị xóa
+        }
+    }
+
+    private static PropertySitemapEntry entry(long id) {
+        return PropertySitemapEntry.builder().id(id).build();
+    }
+
+    private static PageResponse<PropertyDTO> page(List<PropertyDTO> content) {
+        PageResponse<PropertyDTO> page = new PageResponse<>();
+        page.setContent(content);
+        page.setTotalPages(1);
+        return page;
+    }
+}
@@ -0,0 +1,103 @@
+package com.taivillavungtau.backend.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.taivillavungtau.backend.config.RedisConfig;
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer legacy = RedisConfig.legacyJsonSerializer();
+    private final JavaType pageType = TypeFactory.defaultInstance()
+            .constructParametricType(PageResponse.class, PropertyDTO.class);
+
+    @Test
+    void roundTrip_SmallValue_IsStoredUncompressed() {
+        CompactRedisSerializer<PropertyDTO> serializer = new CompactRedisSerializer<>(
+                TypeFactory.defaultInstance().constructType(PropertyDTO.class), 4096, legacy);
+        PropertyDTO dto = TestDataBuilder.validPropertyDTO().id(7L)
+                .updatedAt(LocalDateTime.of(2024, 5, 1, 10, 30))
+                .build();
+
+        byte[] bytes = serializer.serialize(dto);
+
+        assertThat(bytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(bytes[2]).isEqualTo(CompactRedisSerializer.FLAG_NONE);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(dto);
+    }
+
+    @Test
+    void roundTrip_LargePage_IsCompressed() {
+        CompactRedisSerializer<PageResponse<PropertyDTO>> serializer = new CompactRedisSerializer<>(pageType, 1024,
+                legacy);
+        PageResponse<PropertyDTO> page = page(50);
+
+        byte[] bytes = serializer.serialize(page);
+
+        assertThat(bytes[2]).isEqualTo(CompactRedisSerializer.FLAG_LZ4);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(page);
+    }
+
+    @Test
+    void deserialize_LegacyJsonEntry_FallsBackToLegacySerializer() {
+        CompactRedisSerializer<PageResponse<PropertyDTO>> serializer = new CompactRedisSerializer<>(pageType, 1024,
+                legacy);
+        PageResponse<PropertyDTO> page = page(3);
+
+        byte[] legacyBytes = legacy.serialize(page);
+
+        assertThat(serializer.deserialize(legacyBytes)).isEqualTo(page);
+    }
+
+    @Test
+    void jsonWriteFormat_WritesLegacyJson_AndStillReadsSmileEntries() {
+        CompactRedisSerializer<PageResponse<PropertyDTO>> smile = new CompactRedisSerializer<>(pageType, 1024,
+                legacy);
+        CompactRedisSerializer<PageResponse<PropertyDTO>> json = new CompactRedisSerializer<>(pageType, 1024,
+                legacy, CacheValueFormat.JSON);
+        PageResponse<PropertyDTO> page = page(50);
+
+        byte[] jsonBytes = json.serialize(page);
+
+        assertThat(jsonBytes[0]).isNotEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(legacy.deserialize(jsonBytes)).isEqualTo(page);
+        // Rollback SMILE -> JSON: entry Smile cũ vẫn đọc được
+        assertThat(json.deserialize(smile.serialize(page))).isEqualTo(page);
+    }
+
+    static PageResponse<PropertyDTO> page(int size) {
+        List<PropertyDTO> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            List<AmenityDTO> amenities = new ArrayList<>();
+            for (long a = 1; a <= 10; a++) {
+                amenities.add(new AmenityDTO(a, "Tiện ích " + a, "icon-" + a));
+            }
+            content.add(TestDataBuilder.validPropertyDTO()
+                    .id((long) i)
+                    .code("MS" + i)
+                    .amenities(amenities)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .updatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                    .build());
+        }
+        return PageResponse.<PropertyDTO>builder()
+                .content(content)
+                .pageNo(0)
+                .pageSize(size)
+                .totalElements(size)
+                .totalPages(1)
+                .last(true)
+                .build();
+    }
+}
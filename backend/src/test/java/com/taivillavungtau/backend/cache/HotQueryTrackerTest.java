@@ -0,0 +1,81 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotQueryTrackerTest {
+
+    private HotQueryTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new HotQueryTracker();
+        ReflectionTestUtils.setField(tracker, "maxTrackedQueries", 3);
+    }
+
+    @Test
+    void topQueries_ShouldOrderByFrequency() {
+        PropertySearchRequest homepage = CacheWarmer.parseQuery("page=0&size=500");
+        PropertySearchRequest featured = CacheWarmer.parseQuery("isFeatured=true&size=12");
+
+        tracker.record(featured);
+        tracker.record(homepage);
+        tracker.record(homepage);
+
+        assertThat(tracker.topQueries(1)).extracting(PropertySearchRequest::toString)
+                .containsExactly(homepage.toString());
+    }
+
+    @Test
+    void record_ShouldIgnoreAdminRequests() {
+        PropertySearchRequest admin = new PropertySearchRequest();
+        admin.setStatusList(List.of("ACTIVE", "DELETED"));
+
+        tracker.record(admin);
+
+        assertThat(tracker.size()).isZero();
+    }
+
+    @Test
+    void record_ShouldPruneOneHitQueriesWhenFull() {
+        PropertySearchRequest hot = CacheWarmer.parseQuery("size=500");
+        tracker.record(hot);
+        tracker.record(hot);
+        tracker.record(CacheWarmer.parseQuery("keyword=a"));
+        tracker.record(CacheWarmer.parseQuery("keyword=ab"));
+
+        tracker.record(CacheWarmer.parseQuery("keyword=abc"));
+
+        assertThat(tracker.size()).isEqualTo(2);
+        assertThat(tracker.topQueries(1).get(0).toString()).isEqualTo(hot.toString());
+    }
+
+    @Test
+    void decay_ShouldHalveCountsAndDropColdQueries() {
+        PropertySearchRequest hot = CacheWarmer.parseQuery("size=500");
+        tracker.record(hot);
+        tracker.record(hot);
+        tracker.record(CacheWarmer.parseQuery("keyword=villa"));
+
+        tracker.decay();
+
+        assertThat(tracker.size()).isEqualTo(1);
+    }
+
+    @Test
+    void parseQuery_ShouldBindLikeModelAttribute() {
+        PropertySearchRequest request = CacheWarmer.parseQuery("isFeatured=true&locationId=3&amenityIds=1,2&size=12");
+
+        assertThat(request.getIsFeatured()).isTrue();
+        assertThat(request.getLocationId()).isEqualTo(3L);
+        assertThat(request.getAmenityIds()).containsExactly(1L, 2L);
+        assertThat(request.getSize()).isEqualTo(12);
+        assertThat(request.getPage()).isZero();
+    }
+}
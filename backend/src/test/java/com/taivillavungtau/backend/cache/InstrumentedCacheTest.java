@@ -0,0 +1,120 @@
+package com.taivillavungtau.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InstrumentedCache Tests")
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // sampleRate = 1: đếm mọi hit để kiểm tra top key chính xác
+        cache = new InstrumentedCache(new ConcurrentMapCache("properties"), registry, 1);
+    }
+
+    @Test
+    @DisplayName("Should count hits, misses, puts and evictions")
+    void shouldCountLookups() {
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "villa-1");
+        assertThat(cache.get(1L).get()).isEqualTo("villa-1");
+        cache.get(1L);
+        cache.evict(1L);
+        cache.clear();
+
+        InstrumentedCache.Snapshot snapshot = cache.snapshot(10);
+        assertThat(snapshot.hits()).isEqualTo(2);
+        assertThat(snapshot.misses()).isEqualTo(1);
+        assertThat(snapshot.puts()).isEqualTo(1);
+        assertThat(snapshot.evictions()).isEqualTo(2);
+        assertThat(registry.get("app.cache.gets").tag("cache", "properties").tag("result", "hit")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should time the load between a miss and the following put")
+    void shouldRecordLoadTime() {
+        cache.get(5L);
+        cache.put(5L, "villa-5");
+        // put không đi sau miss -> không tính là load
+        cache.put(6L, "villa-6");
+
+        assertThat(cache.snapshot(10).loads()).isEqualTo(1);
+        assertThat(registry.get("app.cache.load").tag("cache", "properties").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a pending load that never ended in a put")
+    void shouldDropStalePendingLoad() {
+        // Miss 5 nhưng kết quả không được cache (unless) -> lần put 6 rồi put 5 sau đó không phải load
+        cache.get(5L);
+        cache.put(6L, "villa-6");
+        cache.put(5L, "villa-5");
+        // Miss 7 rồi hit 8 trên cùng thread -> bản ghi miss 7 bị bỏ
+        cache.get(7L);
+        cache.put(8L, "villa-8");
+        cache.get(8L);
+        cache.put(7L, "villa-7");
+
+        assertThat(cache.snapshot(10).loads()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count evictIfPresent only when the key existed")
+    void shouldCountEvictIfPresentOnlyWhenPresent() {
+        cache.put(1L, "villa-1");
+
+        assertThat(cache.evictIfPresent(1L)).isTrue();
+        assertThat(cache.evictIfPresent(1L)).isFalse();
+
+        assertThat(cache.snapshot(10).evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time value loaders and treat cached values as hits")
+    void shouldTrackValueLoader() {
+        assertThat(cache.get(7L, () -> "villa-7")).isEqualTo("villa-7");
+        assertThat(cache.get(7L, () -> "other")).isEqualTo("villa-7");
+
+        InstrumentedCache.Snapshot snapshot = cache.snapshot(10);
+        assertThat(snapshot.misses()).isEqualTo(1);
+        assertThat(snapshot.hits()).isEqualTo(1);
+        assertThat(snapshot.loads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rank keys by hit count")
+    void shouldRankTopKeys() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        for (int i = 0; i < 5; i++) {
+            cache.get("b");
+        }
+        cache.get("a");
+
+        assertThat(cache.snapshot(1).topKeysByHits()).containsOnlyKeys("b");
+        assertThat(cache.snapshot(10).topKeysByHits()).containsEntry("b", 5L).containsEntry("a", 1L);
+    }
+
+    @Test
+    @DisplayName("Manager should wrap each cache once")
+    void managerShouldReuseDecorators() {
+        InstrumentedCacheManager manager = new InstrumentedCacheManager(
+                new ConcurrentMapCacheManager("properties"), registry, 16);
+
+        Cache first = manager.getCache("properties");
+        assertThat(first).isInstanceOf(InstrumentedCache.class);
+        assertThat(manager.getCache("properties")).isSameAs(first);
+    }
+}
@@ -0,0 +1,95 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.cache.MissingPropertyCache.LookupType;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MissingPropertyCache Tests")
+class MissingPropertyCacheTest {
+
+    private PropertyRepository propertyRepository;
+    private MissingPropertyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        when(propertyRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+
+        cache = new MissingPropertyCache(propertyRepository);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxMarkers", 100);
+        ReflectionTestUtils.setField(cache, "bloomFpp", 0.01);
+        ReflectionTestUtils.setField(cache, "bloomMinCapacity", 100);
+    }
+
+    @Test
+    @DisplayName("Should not block anything before the bloom filter is built")
+    void shouldAllowEverythingBeforeBuild() {
+        assertThat(cache.isKnownMissing(LookupType.ID, 999L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report ids absent from the bloom filter as missing")
+    void shouldUseBloomFilterForIds() {
+        cache.rebuild();
+
+        assertThat(cache.isKnownMissing(LookupType.ID, 1L)).isFalse();
+        assertThat(cache.isKnownMissing(LookupType.ID, 3L)).isFalse();
+        long knownMissing = LongStream.rangeClosed(1000, 1999)
+                .filter(id -> cache.isKnownMissing(LookupType.ID, id))
+                .count();
+        // fpp 1% -> gần như toàn bộ ID lạ bị chặn
+        assertThat(knownMissing).isGreaterThan(950);
+    }
+
+    @Test
+    @DisplayName("Should add created ids and rebuild after permanent delete")
+    void shouldFollowPropertyChanges() {
+        cache.rebuild();
+        cache.onPropertyChanged(new PropertyChangedEvent(4000L, PropertyChangeType.CREATED));
+        assertThat(cache.isKnownMissing(LookupType.ID, 4000L)).isFalse();
+
+        when(propertyRepository.findAllIds()).thenReturn(List.of(1L, 3L));
+        cache.onPropertyChanged(new PropertyChangedEvent(2L, PropertyChangeType.PERMANENTLY_DELETED));
+
+        verify(propertyRepository, times(2)).findAllIds();
+        assertThat(cache.isKnownMissing(LookupType.ID, 1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should remember missing slugs and codes until a property is created or updated")
+    void shouldMarkMissingKeys() {
+        cache.markMissing(LookupType.SLUG, "villa-khong-ton-tai");
+        cache.markMissing(LookupType.CODE, "MS999");
+
+        assertThat(cache.isKnownMissing(LookupType.SLUG, "villa-khong-ton-tai")).isTrue();
+        assertThat(cache.isKnownMissing(LookupType.CODE, "MS999")).isTrue();
+        assertThat(cache.isKnownMissing(LookupType.CODE, "MS998")).isFalse();
+
+        cache.onPropertyChanged(new PropertyChangedEvent(5L, PropertyChangeType.UPDATED));
+        assertThat(cache.isKnownMissing(LookupType.SLUG, "villa-khong-ton-tai")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expire markers after the TTL")
+    void shouldExpireMarkers() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", -1L);
+        cache.markMissing(LookupType.ID, 42L);
+
+        assertThat(cache.isKnownMissing(LookupType.ID, 42L)).isFalse();
+    }
+}
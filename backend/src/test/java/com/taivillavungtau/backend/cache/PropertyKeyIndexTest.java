@@ -0,0 +1,113 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.cache.MissingPropertyCache.LookupType;
+import com.taivillavungtau.backend.constant.CacheNames;
+import com.taivillavungtau.backend.entity.PropertySlugRedirect;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.repository.PropertySlugRedirectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PropertyKeyIndex Tests")
+class PropertyKeyIndexTest {
+
+    private PropertyRepository propertyRepository;
+    private PropertySlugRedirectRepository slugRedirectRepository;
+    private CacheManager cacheManager;
+    private PropertyKeyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        slugRedirectRepository = mock(PropertySlugRedirectRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.PROPERTY_KEYS);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("cacheManager", cacheManager));
+        index = new PropertyKeyIndex(propertyRepository, slugRedirectRepository,
+                beans.getBeanProvider(CacheManager.class));
+    }
+
+    @Test
+    @DisplayName("Should hit the database once, then answer from the cache")
+    void shouldCacheResolvedIds() {
+        when(propertyRepository.findIdByCode("MS01")).thenReturn(Optional.of(1L));
+
+        assertThat(index.findId(LookupType.CODE, "MS01")).isEqualTo(1L);
+        assertThat(index.findId(LookupType.CODE, "MS01")).isEqualTo(1L);
+        verify(propertyRepository, times(1)).findIdByCode("MS01");
+    }
+
+    @Test
+    @DisplayName("Should fall back to old slugs and not cache unknown keys")
+    void shouldResolveOldSlugs() {
+        when(propertyRepository.findIdBySlug(any())).thenReturn(Optional.empty());
+        when(slugRedirectRepository.findPropertyIdBySlug("villa-cu-ms01")).thenReturn(Optional.of(1L));
+        when(slugRedirectRepository.findPropertyIdBySlug("khong-co")).thenReturn(Optional.empty());
+
+        assertThat(index.findId(LookupType.SLUG, "villa-cu-ms01")).isEqualTo(1L);
+        assertThat(index.findId(LookupType.SLUG, "khong-co")).isNull();
+        assertThat(index.findId(LookupType.SLUG, "khong-co")).isNull();
+        verify(slugRedirectRepository, times(2)).findPropertyIdBySlug("khong-co");
+    }
+
+    @Test
+    @DisplayName("Should store the old slug as a redirect and evict stale keys on rename")
+    void shouldRecordRedirectOnRename() {
+        cacheManager.getCache(CacheNames.PROPERTY_KEYS).put("CODE:MS01", 1L);
+        cacheManager.getCache(CacheNames.PROPERTY_KEYS).put("SLUG:villa-moi-ms02", 9L);
+
+        index.onKeysChanged(1L, "villa-cu-ms01", "villa-moi-ms02", "MS01", "MS02");
+
+        verify(slugRedirectRepository).save(argThat((PropertySlugRedirect redirect) ->
+                redirect.getSlug().equals("villa-cu-ms01") && redirect.getPropertyId().equals(1L)));
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("SLUG:villa-cu-ms01", Long.class))
+                .isEqualTo(1L);
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("CODE:MS01")).isNull();
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("SLUG:villa-moi-ms02")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict keys a new property takes over from another property")
+    void shouldEvictKeysOfCreatedProperty() {
+        // Căn 1 đổi MS01 -> MS99: slug cũ thành redirect về căn 1
+        cacheManager.getCache(CacheNames.PROPERTY_KEYS).put("SLUG:villa-ms01", 1L);
+        cacheManager.getCache(CacheNames.PROPERTY_KEYS).put("CODE:MS01", 1L);
+
+        index.onKeysChanged(2L, null, "villa-ms01", null, "MS01");
+
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("SLUG:villa-ms01")).isNull();
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("CODE:MS01")).isNull();
+        verify(slugRedirectRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not touch redirects when nothing changed, and drop them on permanent delete")
+    void shouldForgetAllKeys() {
+        index.onKeysChanged(1L, "villa-ms01", "villa-ms01", "MS01", "MS01");
+        verify(slugRedirectRepository, never()).save(any());
+
+        cacheManager.getCache(CacheNames.PROPERTY_KEYS).put("SLUG:villa-cu-ms01", 1L);
+        when(slugRedirectRepository.findSlugsByPropertyId(1L)).thenReturn(List.of("villa-cu-ms01"));
+
+        index.forget(1L, "villa-ms01", "MS01");
+
+        verify(slugRedirectRepository).deleteByPropertyId(1L);
+        assertThat(cacheManager.getCache(CacheNames.PROPERTY_KEYS).get("SLUG:villa-cu-ms01")).isNull();
+    }
+}
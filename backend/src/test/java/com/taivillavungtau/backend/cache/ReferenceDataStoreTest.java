@@ -0,0 +1,119 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Location;
+import com.taivillavungtau.backend.entity.PropertyType;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
+import com.taivillavungtau.backend.mapper.AmenityMapperImpl;
+import com.taivillavungtau.backend.mapper.LabelMapperImpl;
+import com.taivillavungtau.backend.mapper.LocationMapperImpl;
+import com.taivillavungtau.backend.mapper.PropertyTypeMapperImpl;
+import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.LabelRepository;
+import com.taivillavungtau.backend.repository.LocationRepository;
+import com.taivillavungtau.backend.repository.PropertyTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReferenceDataStore Tests")
+class ReferenceDataStoreTest {
+
+    private AmenityRepository amenityRepository;
+    private LabelRepository labelRepository;
+    private LocationRepository locationRepository;
+    private PropertyTypeRepository propertyTypeRepository;
+    private ReferenceDataStore store;
+
+    @BeforeEach
+    void setUp() {
+        amenityRepository = mock(AmenityRepository.class);
+        labelRepository = mock(LabelRepository.class);
+        locationRepository = mock(LocationRepository.class);
+        propertyTypeRepository = mock(PropertyTypeRepository.class);
+        store = new ReferenceDataStore(amenityRepository, labelRepository, locationRepository,
+                propertyTypeRepository, new AmenityMapperImpl(), new LabelMapperImpl(),
+                new LocationMapperImpl(), new PropertyTypeMapperImpl());
+
+        when(amenityRepository.findAll()).thenReturn(List.of(
+                Amenity.builder().id(1L).name("Hồ bơi").build(),
+                Amenity.builder().id(2L).name("Karaoke").build()));
+        when(labelRepository.findAll()).thenReturn(List.of(Label.builder().id(5L).name("Sát biển").build()));
+        when(locationRepository.findAll()).thenReturn(List.of(
+                Location.builder().id(3L).name("Bãi Sau").slug("bai-sau").build()));
+        when(propertyTypeRepository.findAll()).thenReturn(List.of(
+                PropertyType.builder().id(4L).name("Villa").slug("villa").build()));
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot once and serve later reads from memory")
+    void shouldLoadLazilyOnce() {
+        ReferenceDataSnapshot first = store.current();
+        ReferenceDataSnapshot second = store.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.amenities()).extracting("name").containsExactly("Hồ bơi", "Karaoke");
+        assertThat(first.locations()).extracting("slug").containsExactly("bai-sau");
+        assertThat(first.propertyTypesById().get(4L).getName()).isEqualTo("Villa");
+        verify(amenityRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should swap in a new snapshot with a new version after a change")
+    void shouldReloadOnChange() {
+        ReferenceDataSnapshot before = store.current();
+        when(locationRepository.findAll()).thenReturn(List.of());
+
+        store.onReferenceDataChanged(new ReferenceDataChangedEvent("location"));
+        ReferenceDataSnapshot after = store.current();
+
+        assertThat(after.version()).isNotEqualTo(before.version());
+        assertThat(after.eTag()).isEqualTo("\"" + after.version() + "\"");
+        assertThat(after.locations()).isEmpty();
+        assertThat(before.locations()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve entities by id only when all ids are known")
+    void shouldResolveEntitiesById() {
+        ReferenceDataSnapshot snapshot = store.current();
+
+        assertThat(snapshot.amenitiesOrNull(List.of(2L, 1L))).extracting("id").containsExactly(2L, 1L);
+        assertThat(snapshot.amenitiesOrNull(List.of(1L, 99L))).isNull();
+        assertThat(snapshot.labelsOrNull(List.of(5L))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the repository for ids missing from the snapshot")
+    void shouldFindMissingIdsInRepository() {
+        Amenity bbq = Amenity.builder().id(9L).name("BBQ").build();
+        when(amenityRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(bbq));
+
+        assertThat(store.findLocation(3L)).map(Location::getName).contains("Bãi Sau");
+        assertThat(store.findAmenities(List.of(2L))).extracting("name").containsExactly("Karaoke");
+        assertThat(store.findAmenities(List.of(1L, 9L))).containsExactly(bbq);
+        assertThat(store.findPropertyType(7L)).isEmpty();
+        verify(locationRepository, never()).findById(3L);
+        verify(propertyTypeRepository).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should expose unmodifiable lists")
+    void shouldBeImmutable() {
+        ReferenceDataSnapshot snapshot = store.current();
+
+        assertThatThrownBy(() -> snapshot.labels().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.locationsById().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
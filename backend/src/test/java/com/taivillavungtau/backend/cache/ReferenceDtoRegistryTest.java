@@ -0,0 +1,89 @@
+package com.taivillavungtau.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReferenceDtoRegistry Tests")
+class ReferenceDtoRegistryTest {
+
+    private final AmenityDTO pool = new AmenityDTO(1L, "Hồ bơi", "pool");
+    private final LabelDTO beach = new LabelDTO(5L, "Sát biển", "#FF6B6B", "waves");
+
+    private ReferenceDataStore store;
+    private ReferenceDtoRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(ReferenceDataStore.class);
+        registry = new ReferenceDtoRegistry(store);
+        when(store.current()).thenReturn(snapshot("r-1", pool));
+    }
+
+    @Test
+    @DisplayName("Should hand out the snapshot instance for matching entities")
+    void shouldInternMatchingEntities() {
+        Amenity entity = Amenity.builder().id(1L).name("Hồ bơi").iconCode("pool").build();
+
+        assertThat(registry.amenity(entity)).isSameAs(pool);
+        assertThat(registry.amenity(entity)).isSameAs(registry.amenity(entity));
+        assertThat(registry.label(Label.builder().id(5L).name("Sát biển").color("#FF6B6B").iconCode("waves").build()))
+                .isSameAs(beach);
+    }
+
+    @Test
+    @DisplayName("Should not intern entities that differ from the snapshot or are unknown")
+    void shouldSkipStaleOrUnknownEntities() {
+        assertThat(registry.amenity(Amenity.builder().id(1L).name("Hồ bơi mới").iconCode("pool").build())).isNull();
+        assertThat(registry.amenity(Amenity.builder().id(99L).name("Xông hơi").build())).isNull();
+        assertThat(registry.amenity(Amenity.builder().name("Chưa lưu").build())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should switch to the new instances when the snapshot version changes")
+    void shouldFollowSnapshotVersion() {
+        AmenityDTO renamed = new AmenityDTO(1L, "Hồ bơi vô cực", "pool");
+        when(store.current()).thenReturn(snapshot("r-2", renamed));
+
+        assertThat(registry.internedOrNull(new AmenityDTO(1L, "Hồ bơi vô cực", "pool"))).isSameAs(renamed);
+        assertThat(registry.internedOrNull(pool)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON through pre-serialized fragments, and leave binary formats alone")
+    void shouldWriteIdenticalOutput() throws Exception {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("registry", registry));
+        ObjectMapper plain = new ObjectMapper();
+        ObjectMapper interned = new ObjectMapper()
+                .registerModule(new InternedReferenceJsonModule(beans.getBeanProvider(ReferenceDtoRegistry.class)));
+        // Bản sao đọc từ Redis (không phải instance dùng chung) vẫn dùng fragment
+        List<Object> value = List.of(pool, beach, new AmenityDTO(1L, "Hồ bơi", "pool"),
+                new AmenityDTO(2L, "Karaoke", null));
+
+        assertThat(interned.writeValueAsString(value)).isEqualTo(plain.writeValueAsString(value));
+        assertThat(interned.writeValueAsString(value)).isEqualTo(plain.writeValueAsString(value));
+
+        ObjectMapper smile = new ObjectMapper(new SmileFactory())
+                .registerModule(new InternedReferenceJsonModule(beans.getBeanProvider(ReferenceDtoRegistry.class)));
+        assertThat(smile.readTree(smile.writeValueAsBytes(value))).isEqualTo(plain.readTree(plain.writeValueAsBytes(value)));
+    }
+
+    private ReferenceDataSnapshot snapshot(String version, AmenityDTO amenity) {
+        return new ReferenceDataSnapshot(version, List.of(amenity), List.of(beach), List.of(), List.of(),
+                Map.of(), Map.of(), Map.of(), Map.of());
+    }
+}
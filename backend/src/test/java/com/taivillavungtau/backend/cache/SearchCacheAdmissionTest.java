@@ -0,0 +1,72 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchCacheAdmission Tests")
+class SearchCacheAdmissionTest {
+
+    private SimpleMeterRegistry registry;
+    private SearchCacheAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        admission = new SearchCacheAdmission(registry, 64);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        ReflectionTestUtils.setField(admission, "minFrequency", 1);
+    }
+
+    @Test
+    @DisplayName("Should reject one-hit queries and admit repeated ones")
+    void shouldAdmitRepeatedQueries() {
+        PropertySearchRequest request = keyword("villa bãi sau");
+
+        assertThat(admission.admit(request)).isFalse();
+        assertThat(admission.admit(request)).isTrue();
+
+        assertThat(registry.get("app.cache.admission").tag("result", "rejected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("app.cache.admission").tag("result", "admitted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count keyword variants as the same canonical query")
+    void shouldCanonicalizeKeyword() {
+        assertThat(admission.admit(keyword("Villa  Bãi Sau "))).isFalse();
+        assertThat(admission.admit(keyword("villa bãi sau"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should halve counters after each sample window")
+    void shouldAgeCounters() {
+        PropertySearchRequest request = keyword("homestay");
+
+        // width 64 -> chia đôi sau 640 lượt đếm
+        for (int i = 0; i < 639; i++) {
+            admission.admit(request);
+        }
+        assertThat(admission.frequency(request)).isEqualTo(639);
+
+        admission.admit(request);
+        assertThat(admission.frequency(request)).isEqualTo(320);
+    }
+
+    @Test
+    @DisplayName("Should admit everything when disabled")
+    void shouldAdmitWhenDisabled() {
+        ReflectionTestUtils.setField(admission, "enabled", false);
+        assertThat(admission.admit(keyword("once"))).isTrue();
+    }
+
+    private PropertySearchRequest keyword(String keyword) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setKeyword(keyword);
+        return request;
+    }
+}
@@ -0,0 +1,167 @@
+package com.taivillavungtau.backend.cache;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.service.PropertyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SearchPrefetcher Tests")
+class SearchPrefetcherTest {
+
+    private PropertyService propertyService;
+    private RedisBatchCache batchCache;
+    private SearchCacheAdmission searchCacheAdmission;
+    private SimpleMeterRegistry registry;
+    private SearchPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        propertyService = mock(PropertyService.class);
+        batchCache = mock(RedisBatchCache.class);
+        registry = new SimpleMeterRegistry();
+        searchCacheAdmission = mock(SearchCacheAdmission.class);
+        when(searchCacheAdmission.isAdmitted(any())).thenReturn(true);
+        prefetcher = new SearchPrefetcher(propertyService, batchCache, searchCacheAdmission, registry, 1, 20);
+        ReflectionTestUtils.setField(prefetcher, "enabled", true);
+        ReflectionTestUtils.setField(prefetcher, "maxPage", 10);
+        ReflectionTestUtils.setField(prefetcher, "usageWindowSeconds", 120L);
+        ReflectionTestUtils.setField(prefetcher, "maxPending", 100);
+        ReflectionTestUtils.setField(prefetcher, "minSamples", 2);
+        ReflectionTestUtils.setField(prefetcher, "minHitRatio", 0.5);
+        ReflectionTestUtils.setField(prefetcher, "probeEvery", 1000);
+
+        when(batchCache.existingKeys(eq("property_search"), anyCollection())).thenReturn(Set.of());
+        when(propertyService.loadSearchPage(any())).thenReturn(page(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should prefetch the next page into property_search")
+    void shouldPrefetchNextPage() {
+        prefetcher.onPageServed(request("villa", 0), page(false));
+
+        PropertySearchRequest next = request("villa", 1);
+        verify(batchCache, timeout(2000)).putAll(eq("property_search"), eq(Map.of(next.toString(), page(false))));
+        verify(propertyService).loadSearchPage(next);
+    }
+
+    @Test
+    @DisplayName("Should not prefetch after the last page or for admin requests")
+    void shouldSkipLastPageAndAdminRequests() {
+        prefetcher.onPageServed(request("villa", 0), page(true));
+
+        PropertySearchRequest admin = request(null, 0);
+        admin.setStatusList(List.of("ACTIVE", "DELETED"));
+        prefetcher.onPageServed(admin, page(false));
+
+        verify(propertyService, timeout(200).times(0)).loadSearchPage(any());
+    }
+
+    @Test
+    @DisplayName("Should not prefetch after a page the search cache admission has not admitted")
+    void shouldSkipPagesNotAdmitted() {
+        PropertySearchRequest rare = request("villa hiếm", 0);
+        when(searchCacheAdmission.isAdmitted(rare)).thenReturn(false);
+
+        prefetcher.onPageServed(rare, page(false));
+
+        verify(propertyService, timeout(200).times(0)).loadSearchPage(any());
+        verify(batchCache, times(0)).putAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count a prefetched page as used when it is requested")
+    void shouldTrackUsage() {
+        prefetcher.onPageServed(request("villa", 0), page(false));
+        awaitPrefetched(1);
+
+        prefetcher.onPageServed(request("villa", 1), page(true));
+
+        assertThat(registry.get("app.cache.prefetch").tag("result", "used").counter().count()).isEqualTo(1);
+        assertThat(prefetcher.hitRatios()).containsValue(1.0);
+    }
+
+    @Test
+    @DisplayName("Should stop prefetching request shapes whose prefetches are never used")
+    void shouldDisableUnusedShapes() {
+        // 2 lần prefetch (min-samples) không được dùng -> dạng "keyword|size=10" bị tắt
+        prefetcher.onPageServed(request("a", 0), page(false));
+        awaitPrefetched(1);
+        prefetcher.onPageServed(request("b", 0), page(false));
+        awaitPrefetched(2);
+
+        prefetcher.onPageServed(request("c", 0), page(false));
+
+        verify(propertyService, timeout(200).times(0)).loadSearchPage(request("c", 1));
+        assertThat(registry.get("app.cache.prefetch").tag("result", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget pending prefetches when the catalog changes")
+    void shouldClearPendingOnCatalogChange() {
+        prefetcher.onPageServed(request("villa", 0), page(false));
+        awaitPrefetched(1);
+
+        prefetcher.onPropertyChanged(new PropertyChangedEvent(1L, PropertyChangeType.UPDATED));
+        prefetcher.onPageServed(request("villa", 1), page(true));
+
+        assertThat(registry.get("app.cache.prefetch").tag("result", "used").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should group requests by filters, size and sort")
+    void shouldComputeShape() {
+        PropertySearchRequest request = request("villa", 3);
+        request.setLocationId(2L);
+        request.setSort("price_asc");
+
+        assertThat(SearchPrefetcher.shapeOf(request)).isEqualTo("keyword,location|size=10|sort=price_asc");
+    }
+
+    private void awaitPrefetched(int count) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (registry.get("app.cache.prefetch").tag("result", "prefetched").counter().count() < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(registry.get("app.cache.prefetch").tag("result", "prefetched").counter().count())
+                .isEqualTo(count);
+    }
+
+    private PropertySearchRequest request(String keyword, int page) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setKeyword(keyword);
+        request.setPage(page);
+        return request;
+    }
+
+    private PageResponse<PropertyDTO> page(boolean last) {
+        return PageResponse.<PropertyDTO>builder().content(List.of()).pageSize(10).totalPages(5).last(last).build();
+    }
+}
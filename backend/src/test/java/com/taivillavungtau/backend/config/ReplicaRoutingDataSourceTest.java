@@ -0,0 +1,142 @@
+package com.taivillavungtau.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2 H2 in-memory độc lập đóng vai primary / replica, mỗi bên có bảng node ghi tên của nó
+ */
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final DriverManagerDataSource primary = new DriverManagerDataSource(
+            "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private final SwitchableDataSource replica = new SwitchableDataSource(new DriverManagerDataSource(
+            "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        setUpNode(primary, "primary");
+        setUpNode(replica, "replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                "SELECT seconds FROM replica_lag", 5, 200, 1);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    private static void setUpNode(DataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to a checked replica and writes to the primary")
+    void shouldRouteByTransactionReadOnlyFlag() {
+        // Chưa kiểm tra replica nào -> đọc primary
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        routing.checkReplicas();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        String written = readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        assertThat(written).isEqualTo("primary");
+        // Ngoài transaction -> primary
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary during the read-your-writes window after a commit")
+    void shouldReadPrimaryAfterWrite() throws InterruptedException {
+        routing.checkReplicas();
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'primary-v2'"));
+
+        assertThat(readOnlyNode()).isEqualTo("primary-v2");
+        Thread.sleep(250);
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should skip a replica whose lag exceeds the limit until it catches up")
+    void shouldSkipLaggingReplica() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 30");
+        routing.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 1");
+        routing.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when a replica connection fails")
+    void shouldFallBackWhenReplicaIsDown() {
+        routing.checkReplicas();
+        replica.down = true;
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(routing.availableReplicas()).isEmpty();
+
+        replica.down = false;
+        routing.checkReplicas();
+        assertThat(routing.availableReplicas()).containsExactly("replica-1");
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+}
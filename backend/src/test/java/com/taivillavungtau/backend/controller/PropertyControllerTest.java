@@ -1,10 +1,25 @@
 package com.taivillavungtau.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.taivillavungtau.backend.cache.CatalogVersion;
+import com.taivillavungtau.backend.cache.HotQueryTracker;
+import com.taivillavungtau.backend.cache.MissingPropertyCache;
+import com.taivillavungtau.backend.cache.PropertyKeyIndex;
+import com.taivillavungtau.backend.config.JacksonConfig;
 import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyFieldSet;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.SitemapPageResponse;
+import com.taivillavungtau.backend.dto.response.PropertyBulkResponse;
+import com.taivillavungtau.backend.enums.PropertyBulkOperation;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.event.ReferenceDataChangedEvent;
 import com.taivillavungtau.backend.service.CloudinaryService;
+import com.taivillavungtau.backend.service.PropertyChangeLogService;
 import com.taivillavungtau.backend.service.PropertyService;
 import com.taivillavungtau.backend.service.RefreshTokenService;
 import com.taivillavungtau.backend.utils.JwtUtils;
@@ -14,6 +29,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,19 +38,29 @@ import com.taivillavungtau.backend.utils.Translator;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Locale;
 
 import org.junit.jupiter.api.BeforeEach;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PropertyController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({ CatalogVersion.class, JacksonConfig.class })
 class PropertyControllerTest {
 
     @Autowired
@@ -48,6 +75,18 @@ class PropertyControllerTest {
     @MockBean
     private CloudinaryService cloudinaryService;
 
+    @MockBean
+    private HotQueryTracker hotQueryTracker;
+
+    @MockBean
+    private MissingPropertyCache missingPropertyCache;
+
+    @MockBean
+    private PropertyKeyIndex propertyKeyIndex;
+
+    @MockBean
+    private PropertyChangeLogService propertyChangeLogService;
+
     @MockBean
     private MessageSource messageSource;
 
@@ -60,6 +99,9 @@ class PropertyControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @BeforeEach
     void setUp() {
         // Mock MessageSource for Translator utility
@@ -108,4 +150,240 @@ class PropertyControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.content").isArray());
     }
+
+    @Test
+    void getProperties_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(propertyService.searchProperties(any(PropertySearchRequest.class)))
+                .thenReturn(PageResponse.<PropertyDTO>builder().content(Collections.emptyList()).build());
+
+        String eTag = mockMvc.perform(get("/api/v1/properties"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/properties").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // Chỉ lần đầu gọi service, lần 2 trả 304 từ version trong bộ nhớ
+        verify(propertyService, times(1)).searchProperties(any(PropertySearchRequest.class));
+    }
+
+    @Test
+    void getProperties_ShouldNotReuseETag_AcrossFieldsAndMediaTypes() throws Exception {
+        when(propertyService.searchProperties(any(PropertySearchRequest.class)))
+                .thenReturn(PageResponse.<PropertyDTO>builder().content(Collections.emptyList()).build());
+
+        String fullETag = mockMvc.perform(get("/api/v1/properties"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Cùng version catalog nhưng khác ?fields= / định dạng -> không 304
+        mockMvc.perform(get("/api/v1/properties").param("fields", "updatedAt,id")
+                        .header(HttpHeaders.IF_NONE_MATCH, fullETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(fullETag)));
+        mockMvc.perform(get("/api/v1/properties").accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, fullETag))
+                .andExpect(status().isOk());
+        // Thứ tự trường khác nhưng cùng tập trường -> cùng ETag
+        String fieldsETag = mockMvc.perform(get("/api/v1/properties").param("fields", "id,updatedAt"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/properties").param("fields", "updatedAt,id")
+                        .header(HttpHeaders.IF_NONE_MATCH, fieldsETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getSitemap_ShouldNotReuseETag_AcrossMediaTypes() throws Exception {
+        when(propertyService.getSitemapPage(0L, 1000)).thenReturn(new SitemapPageResponse(List.of(), null, 1000));
+
+        String jsonETag = mockMvc.perform(get("/api/v1/properties/sitemap").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/properties/sitemap").param("size", "1000").accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(jsonETag)));
+        mockMvc.perform(get("/api/v1/properties/sitemap").param("size", "1000")
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPropertyById_ShouldReload_AfterReferenceDataChanged() throws Exception {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(9L);
+        when(propertyService.getPropertyById(9L)).thenReturn(dto);
+
+        String eTag = mockMvc.perform(get("/api/v1/properties/9"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/properties/9").accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        // Đổi tên tiện ích: tên nhúng trong body -> ETag cũ không còn khớp
+        catalogVersion.onReferenceDataChanged(new ReferenceDataChangedEvent("amenity"));
+
+        mockMvc.perform(get("/api/v1/properties/9").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(eTag)));
+        verify(propertyService, times(3)).getPropertyById(9L);
+    }
+
+    @Test
+    void getPropertyById_ShouldReturnNotModified_WithoutLoading() throws Exception {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(7L);
+        dto.setCode("MS07");
+        dto.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        when(propertyService.getPropertyById(7L)).thenReturn(dto);
+
+        String eTag = mockMvc.perform(get("/api/v1/properties/7"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/properties/7").header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+                .andExpect(status().isNotModified());
+
+        verify(propertyService, times(1)).getPropertyById(7L);
+    }
+
+    @Test
+    void getPropertyById_ShouldReload_AfterPropertyChanged() throws Exception {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(8L);
+        when(propertyService.getPropertyById(8L)).thenReturn(dto);
+
+        String eTag = mockMvc.perform(get("/api/v1/properties/8"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        catalogVersion.onPropertyChanged(new PropertyChangedEvent(8L, PropertyChangeType.IMAGES_CHANGED));
+
+        mockMvc.perform(get("/api/v1/properties/8").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(eTag)));
+
+        verify(propertyService, times(2)).getPropertyById(8L);
+        verify(propertyService, never()).searchProperties(any(PropertySearchRequest.class));
+    }
+
+    @Test
+    void getPropertiesByIds_ShouldRejectTooManyIds() throws Exception {
+        String ids = java.util.stream.LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(","));
+
+        mockMvc.perform(get("/api/v1/properties/batch").param("ids", ids))
+                .andExpect(status().isBadRequest());
+        verify(propertyService, never()).getPropertiesByIds(any());
+    }
+
+    @Test
+    void getPropertiesByIds_ShouldReturnList() throws Exception {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(2L);
+        when(propertyService.getPropertiesByIds(java.util.List.of(2L, 1L))).thenReturn(java.util.List.of(dto));
+
+        mockMvc.perform(get("/api/v1/properties/batch").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(2));
+    }
+
+    @Test
+    void getPropertyById_ShouldReturnNotFound_WhenKnownMissing() throws Exception {
+        when(missingPropertyCache.isKnownMissing(MissingPropertyCache.LookupType.ID, 404L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/v1/properties/404"))
+                .andExpect(status().isNotFound());
+        verify(propertyService, never()).getPropertyById(404L);
+    }
+
+    @Test
+    void getPropertyBySlug_ShouldResolveIdAndUseDetailCache() throws Exception {
+        PropertyDTO dto = PropertyDTO.builder().id(12L).code("MS12").slug("villa-moi-ms12").build();
+        when(propertyKeyIndex.findId(MissingPropertyCache.LookupType.SLUG, "villa-cu-ms12")).thenReturn(12L);
+        when(propertyService.getPropertyById(12L)).thenReturn(dto);
+
+        // Slug cũ vẫn ra căn, trả slug hiện tại để frontend redirect
+        mockMvc.perform(get("/api/v1/properties/slug/villa-cu-ms12"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.slug").value("villa-moi-ms12"));
+    }
+
+    @Test
+    void getPropertyByCode_ShouldMarkMissing_WhenUnknown() throws Exception {
+        when(propertyKeyIndex.findId(MissingPropertyCache.LookupType.CODE, "MS999")).thenReturn(null);
+
+        mockMvc.perform(get("/api/v1/properties/code/MS999"))
+                .andExpect(status().isNotFound());
+        verify(missingPropertyCache).markMissing(MissingPropertyCache.LookupType.CODE, "MS999");
+        verify(propertyService, never()).getPropertyById(any(Long.class));
+    }
+
+    @Test
+    void getProperties_ShouldWriteOnlyRequestedFields() throws Exception {
+        PropertyDTO dto = PropertyDTO.builder().id(3L).code("MS03").name("Villa Biển")
+                .priceWeekday(new BigDecimal("3000000")).build();
+        when(propertyService.searchProperties(any(PropertySearchRequest.class))).thenReturn(
+                PageResponse.<PropertyDTO>builder().content(java.util.List.of(dto)).last(true).build());
+
+        mockMvc.perform(get("/api/v1/properties").param("fields", "name, code,unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(3))
+                .andExpect(jsonPath("$.data.content[0].code").value("MS03"))
+                .andExpect(jsonPath("$.data.content[0].priceWeekday").doesNotExist())
+                .andExpect(jsonPath("$.data.totalElements").exists());
+
+        // Cache key dùng dạng chuẩn: sắp xếp, bỏ tên lạ, luôn có id
+        verify(propertyService).searchProperties(argThat(request -> "code,id,name".equals(request.getFields())));
+    }
+
+    @Test
+    void getPropertyById_ShouldUseSparseLoad_WhenFieldsRequested() throws Exception {
+        PropertyDTO dto = PropertyDTO.builder().id(9L).code("MS09").name("Villa 9").build();
+        when(propertyService.getPropertyById(any(Long.class), any(PropertyFieldSet.class))).thenReturn(dto);
+
+        mockMvc.perform(get("/api/v1/properties/9").param("fields", "code"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.code").value("MS09"))
+                .andExpect(jsonPath("$.data.name").doesNotExist());
+        verify(propertyService, never()).getPropertyById(9L);
+    }
+
+    @Test
+    void getPropertyById_ShouldNegotiateCbor() throws Exception {
+        PropertyDTO dto = PropertyDTO.builder().id(11L).code("MS11").name("Villa 11").build();
+        when(propertyService.getPropertyById(11L)).thenReturn(dto);
+
+        byte[] body = mockMvc.perform(get("/api/v1/properties/11").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(decoded.at("/data/code").asText()).isEqualTo("MS11");
+    }
+
+    @Test
+    void bulkUpdate_ShouldReturnAffectedIds_AndMapInvalidRequestTo400() throws Exception {
+        when(propertyService.bulkUpdate(argThat(request -> request != null && request.isDryRun())))
+                .thenReturn(PropertyBulkResponse.builder().operation(PropertyBulkOperation.SET_FEATURED)
+                        .dryRun(true).affected(2).ids(List.of(4L, 9L)).build());
+        when(propertyService.bulkUpdate(argThat(request -> request != null && !request.isDryRun())))
+                .thenThrow(new IllegalArgumentException("Thiếu featured"));
+
+        mockMvc.perform(post("/api/v1/properties/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[4,9],\"operation\":\"SET_FEATURED\",\"featured\":true,\"dryRun\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.affected").value(2))
+                .andExpect(jsonPath("$.data.ids[1]").value(9));
+
+        mockMvc.perform(post("/api/v1/properties/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[4],\"operation\":\"SET_FEATURED\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Thiếu featured"));
+    }
 }
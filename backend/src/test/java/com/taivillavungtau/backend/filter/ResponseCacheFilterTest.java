@@ -0,0 +1,237 @@
+package com.taivillavungtau.backend.filter;
+
+import com.taivillavungtau.backend.cache.HotQueryTracker;
+import com.taivillavungtau.backend.cache.SearchCacheAdmission;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ResponseCacheFilter Tests")
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":{\"content\":[" + "{\"name\":\"Villa\"},".repeat(200)
+            + "{}]}}";
+
+    private HotQueryTracker hotQueryTracker;
+    private SearchCacheAdmission searchCacheAdmission;
+    private ResponseCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        hotQueryTracker = mock(HotQueryTracker.class);
+        ObjectProvider<HotQueryTracker> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(hotQueryTracker);
+        searchCacheAdmission = mock(SearchCacheAdmission.class);
+        when(searchCacheAdmission.isAdmitted(any(PropertySearchRequest.class))).thenReturn(true);
+        ObjectProvider<SearchCacheAdmission> admissionProvider = mock(ObjectProvider.class);
+        when(admissionProvider.getIfAvailable()).thenReturn(searchCacheAdmission);
+
+        filter = new ResponseCacheFilter(provider, admissionProvider);
+        ReflectionTestUtils.setField(filter, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(filter, "maxEntries", 100);
+        ReflectionTestUtils.setField(filter, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(filter, "gzipMinBytes", 1024);
+        controllerCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should serve the second anonymous GET from cache regardless of parameter order")
+    void shouldServeHitFromCache() throws Exception {
+        MockHttpServletResponse first = perform(get("/api/v1/properties", "page=0&size=12"));
+        MockHttpServletResponse second = perform(get("/api/v1/properties", "size=12&page=0"));
+
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"c-1\"");
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=300, public");
+        verify(hotQueryTracker).record(any(PropertySearchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should cache the bootstrap document, which is not a write prefix")
+    void shouldServeBootstrapFromCache() throws Exception {
+        perform(get("/api/v1/bootstrap", null));
+        MockHttpServletResponse second = perform(get("/api/v1/bootstrap", null));
+
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return pre-gzipped bytes when the client accepts gzip")
+    void shouldServeGzip() throws Exception {
+        perform(get("/api/v1/properties", "page=0"));
+        MockHttpServletRequest request = get("/api/v1/properties", "page=0");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        MockHttpServletResponse response = perform(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer 304 from the cached ETag")
+    void shouldReturnNotModifiedFromCache() throws Exception {
+        perform(get("/api/v1/properties", "page=0"));
+        MockHttpServletRequest request = get("/api/v1/properties", "page=0");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"c-1\"");
+
+        assertThat(perform(request).getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should bypass cache for authenticated requests")
+    void shouldBypassAuthenticatedRequests() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = get("/api/v1/properties", "page=0");
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+            perform(request);
+        }
+        assertThat(controllerCalls).hasValue(2);
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should invalidate on property change and on successful catalog writes")
+    void shouldInvalidate() throws Exception {
+        perform(get("/api/v1/amenities", null));
+        filter.onPropertyChanged(new PropertyChangedEvent(1L, PropertyChangeType.UPDATED));
+        assertThat(filter.size()).isZero();
+
+        perform(get("/api/v1/amenities", null));
+        assertThat(filter.size()).isEqualTo(1);
+        MockHttpServletRequest write = new MockHttpServletRequest("PUT", "/api/v1/labels/1");
+        filter.doFilter(write, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store private or no-cache responses without an ETag")
+    void shouldSkipNoCacheResponses() throws Exception {
+        MockHttpServletResponse response = performWith(get("/api/v1/properties", "statusList=DELETED"),
+                "no-cache, private", "\"c-1\"");
+        performWith(get("/api/v1/properties", "page=1"), "no-cache", null);
+
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should store revalidating responses that carry an ETag")
+    void shouldStoreNoCacheResponsesWithETag() throws Exception {
+        performWith(get("/api/v1/amenities", null), "no-cache, public", "\"r-1\"");
+        MockHttpServletRequest request = get("/api/v1/amenities", null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"r-1\"");
+        MockHttpServletResponse revalidated = performWith(request, "no-cache, public", "\"r-1\"");
+
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(revalidated.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(revalidated.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, public");
+    }
+
+    @Test
+    @DisplayName("Should not store searches that the search cache admission rejects")
+    void shouldSkipSearchesNotAdmitted() throws Exception {
+        when(searchCacheAdmission.isAdmitted(any(PropertySearchRequest.class))).thenReturn(false);
+
+        perform(get("/api/v1/properties", "keyword=hiem"));
+        perform(get("/api/v1/properties", "keyword=hiem"));
+        assertThat(controllerCalls).hasValue(2);
+        assertThat(filter.size()).isZero();
+
+        // Chi tiết / danh mục không qua admission
+        perform(get("/api/v1/properties/5", null));
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently read entry when full")
+    void shouldEvictLeastRecentlyUsedWhenFull() throws Exception {
+        ReflectionTestUtils.setField(filter, "maxEntries", 2);
+        perform(get("/api/v1/properties/1", null));
+        Thread.sleep(5);
+        perform(get("/api/v1/properties/2", null));
+        Thread.sleep(5);
+        perform(get("/api/v1/properties/1", null)); // hit -> 1 mới được đọc
+        Thread.sleep(5);
+        perform(get("/api/v1/properties/3", null));
+
+        assertThat(filter.size()).isEqualTo(2);
+        perform(get("/api/v1/properties/1", null));
+        perform(get("/api/v1/properties/3", null));
+        assertThat(controllerCalls).hasValue(3);
+        perform(get("/api/v1/properties/2", null));
+        assertThat(controllerCalls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should purge expired entries")
+    void shouldPurgeExpiredEntries() throws Exception {
+        perform(get("/api/v1/properties/1", null));
+        ReflectionTestUtils.setField(filter, "ttlSeconds", 0L);
+        Thread.sleep(5);
+
+        filter.purgeExpired();
+
+        assertThat(filter.size()).isZero();
+    }
+
+    private MockHttpServletRequest get(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String pair : query.split("&")) {
+                String[] parts = pair.split("=");
+                request.addParameter(parts[0], parts[1]);
+            }
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        return performWith(request, "max-age=300, public", "\"c-1\"");
+    }
+
+    private MockHttpServletResponse performWith(MockHttpServletRequest request, String cacheControl, String eTag)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            controllerCalls.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setContentType("application/json");
+            http.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            if (eTag != null) {
+                http.setHeader(HttpHeaders.ETAG, eTag);
+            }
+            http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+}
@@ -0,0 +1,122 @@
+package com.taivillavungtau.backend.integration;
+
+import com.taivillavungtau.backend.dto.response.PropertyChangeEntry;
+import com.taivillavungtau.backend.dto.response.PropertyChangesResponse;
+import com.taivillavungtau.backend.entity.PropertyChange;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.repository.PropertyChangeRepository;
+import com.taivillavungtau.backend.service.PropertyChangeLogService;
+import com.taivillavungtau.backend.service.RefreshTokenService;
+import com.taivillavungtau.backend.service.TelegramNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the property change feed against a real database:
+ * a transaction that commits a lower id after a later row must not be skipped.
+ */
+@SpringBootTest(classes = com.taivillavungtau.backend.BackendApplication.class, properties = {
+        "spring.cache.type=none",
+        "spring.data.redis.repositories.enabled=false",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "property-changes.settle-seconds=0",
+        "property-changes.gap-timeout-seconds=300"
+})
+@ActiveProfiles("test")
+@DisplayName("Property Change Feed Integration Tests")
+class PropertyChangeFeedIntegrationTest {
+
+    @Configuration
+    static class TestCacheConfig {
+        @Bean
+        @Primary
+        public CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TelegramNotificationService telegramNotificationService;
+
+    @Autowired
+    private PropertyChangeRepository propertyChangeRepository;
+
+    @Autowired
+    private PropertyChangeLogService propertyChangeLogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        propertyChangeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should not skip a change committed late by a slow transaction")
+    void shouldNotSkipLateCommittedChange() throws Exception {
+        long since = propertyChangeRepository.save(change(1L)).getId();
+
+        // Transaction chậm: lấy id trước nhưng chỉ commit sau khi client đã đọc feed
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    long id = propertyChangeRepository.save(change(2L)).getId();
+                    inserted.countDown();
+                    await(release);
+                    return id;
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        long fastId = propertyChangeRepository.save(change(3L)).getId();
+        Thread.sleep(20); // settle-seconds=0: changedAt phải nhỏ hơn thời điểm đọc
+
+        PropertyChangesResponse first = propertyChangeLogService.getChangesSince(since, 100);
+
+        assertThat(first.getChanges()).extracting(PropertyChangeEntry::getToken).containsExactly(fastId);
+        assertThat(first.getNextSince()).isEqualTo(since);
+
+        release.countDown();
+        long slowId = slow.get(10, TimeUnit.SECONDS);
+        assertThat(slowId).isLessThan(fastId);
+        Thread.sleep(20);
+
+        PropertyChangesResponse second = propertyChangeLogService.getChangesSince(first.getNextSince(), 100);
+
+        assertThat(second.getChanges()).extracting(PropertyChangeEntry::getToken).containsExactly(slowId, fastId);
+        assertThat(second.getNextSince()).isEqualTo(fastId);
+    }
+
+    private static PropertyChange change(long propertyId) {
+        return PropertyChange.builder().propertyId(propertyId).changeType(PropertyChangeType.UPDATED).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -274,6 +274,24 @@ class PropertySearchIntegrationTest {
                 // The @BeforeEach method cleans up explicitly as well
         }
 
+        @Test
+        @DisplayName("Should return only requested fields with ?fields=")
+        void testSearchWithSparseFields() throws Exception {
+                propertyRepository.save(createProperty("MS01", "Luxury Villa",
+                                new BigDecimal("3000000"), new BigDecimal("3500000"),
+                                4, 3, 8, LocationType.BAI_TRUOC, Set.of(poolAmenity, wifiAmenity)));
+
+                mockMvc.perform(get("/api/v1/properties")
+                                .param("fields", "code,name,amenities,minPrice"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.totalElements").value(1))
+                                .andExpect(jsonPath("$.data.content[0].id").exists())
+                                .andExpect(jsonPath("$.data.content[0].code").value("MS01"))
+                                .andExpect(jsonPath("$.data.content[0].amenities.length()").value(2))
+                                .andExpect(jsonPath("$.data.content[0].priceWeekday").doesNotExist())
+                                .andExpect(jsonPath("$.data.content[0].images").doesNotExist());
+        }
+
         private Property createProperty(String code, String name,
                         BigDecimal priceWeekday, BigDecimal priceWeekend,
                         int bedrooms, int bathrooms, int maxGuests,
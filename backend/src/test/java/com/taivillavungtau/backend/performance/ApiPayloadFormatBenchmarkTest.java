@@ -0,0 +1,114 @@
+package com.taivillavungtau.backend.performance;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.taivillavungtau.backend.config.JacksonConfig;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.ApiResponse;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark so sánh JSON với CBOR / Smile cho response tìm kiếm
+ * (ApiResponse&lt;PageResponse&lt;PropertyDTO&gt;&gt;) ở các kích thước trang thực tế:
+ * 12 (trang danh sách), 100, 500 (trang chủ / sitemap).
+ * ObjectMapper dựng giống production (JacksonConfig).
+ */
+@DisplayName("API Payload Format Benchmark")
+class ApiPayloadFormatBenchmarkTest {
+
+    private static final int[] PAGE_SIZES = { 12, 100, 500 };
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    @Test
+    @DisplayName("Binary formats should be smaller than JSON and round-trip the same page")
+    void compareJsonWithBinaryFormats() throws IOException {
+        JacksonConfig config = new JacksonConfig();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON ", builder(config).build());
+        mappers.put("CBOR ", config.cborHttpMessageConverter(builder(config)).getObjectMapper());
+        mappers.put("Smile", config.smileHttpMessageConverter(builder(config)).getObjectMapper());
+
+        TypeFactory types = TypeFactory.defaultInstance();
+        JavaType type = types.constructParametricType(ApiResponse.class,
+                types.constructParametricType(PageResponse.class, PropertyDTO.class));
+
+        for (int size : PAGE_SIZES) {
+            ApiResponse<PageResponse<PropertyDTO>> response = ApiResponse.success(
+                    RedisSerializerBenchmarkTest.realisticPage(size), "Lấy danh sách thành công");
+
+            System.out.println("--- size=" + size);
+            Result json = null;
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+                ObjectMapper mapper = entry.getValue();
+                Result result = measure(mapper, type, response);
+                System.out.println(entry.getKey() + " : " + result);
+
+                ApiResponse<PageResponse<PropertyDTO>> decoded = mapper.readValue(mapper.writeValueAsBytes(response),
+                        type);
+                assertThat(decoded.getData()).isEqualTo(response.getData());
+                if (json == null) {
+                    json = result;
+                } else {
+                    assertThat(result.bytes).isLessThan(json.bytes);
+                }
+            }
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder builder(JacksonConfig config) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        config.propertyFieldsCustomizer().customize(builder);
+        return builder;
+    }
+
+    private Result measure(ObjectMapper mapper, JavaType type, Object value) throws IOException {
+        byte[] bytes = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            bytes = mapper.writeValueAsBytes(value);
+            mapper.readValue(bytes, type);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            bytes = mapper.writeValueAsBytes(value);
+            long mid = System.nanoTime();
+            mapper.readValue(bytes, type);
+            long end = System.nanoTime();
+            encodeNanos += mid - start;
+            decodeNanos += end - mid;
+        }
+        return new Result(bytes.length, gzip(bytes).length,
+                encodeNanos / MEASURE_ROUNDS / 1_000, decodeNanos / MEASURE_ROUNDS / 1_000);
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private record Result(int bytes, int gzipBytes, long encodeMicros, long decodeMicros) {
+        @Override
+        public String toString() {
+            return bytes + " bytes (gzip " + gzipBytes + "), encode " + encodeMicros + "us, decode "
+                    + decodeMicros + "us";
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.taivillavungtau.backend.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.cache.ReferenceDtoRegistry;
+import com.taivillavungtau.backend.config.JacksonConfig;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.ApiResponse;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.mapper.AmenityMapperImpl;
+import com.taivillavungtau.backend.mapper.InterningReferenceMapper;
+import com.taivillavungtau.backend.mapper.LabelMapperImpl;
+import com.taivillavungtau.backend.mapper.LocationMapperImpl;
+import com.taivillavungtau.backend.mapper.PropertyMapper;
+import com.taivillavungtau.backend.mapper.PropertyMapperImpl;
+import com.taivillavungtau.backend.mapper.PropertyTypeMapperImpl;
+import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.LabelRepository;
+import com.taivillavungtau.backend.repository.LocationRepository;
+import com.taivillavungtau.backend.repository.PropertyTypeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Đo số byte cấp phát cho phần map + serialize JSON của 1 lần searchProperties
+ * size=500 (10 amenity + 2 label mỗi căn), trước và sau flyweight DTO.
+ * "Trước" = registry rỗng (mọi amenity/label map ra DTO mới, serialize đầy đủ).
+ * Dùng ThreadMXBean.getThreadAllocatedBytes (HotSpot) - không cần JMH.
+ */
+@DisplayName("DTO Interning Allocation Benchmark")
+class DtoInterningAllocationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 30;
+
+    private final List<Amenity> amenities = new ArrayList<>();
+    private final List<Label> labels = List.of(
+            Label.builder().id(1L).name("Sát biển").color("#FF6B6B").iconCode("waves").build(),
+            Label.builder().id(2L).name("View biển").color("#4ECDC4").iconCode("eye").build());
+
+    @Test
+    @DisplayName("Interned DTOs should allocate less per search page")
+    void compareAllocationsBeforeAndAfterInterning() throws Exception {
+        for (long a = 1; a <= 10; a++) {
+            amenities.add(Amenity.builder().id(a).name("Tiện ích số " + a).iconCode("icon-" + a).build());
+        }
+        List<Property> entities = realisticEntities(PAGE_SIZE);
+
+        ReferenceDtoRegistry empty = registry(List.of(), List.of());
+        ReferenceDtoRegistry interned = registry(amenities, labels);
+
+        long before = measure(mapper(empty), objectMapper(empty), entities);
+        long after = measure(mapper(interned), objectMapper(interned), entities);
+
+        System.out.printf("Before interning : %,d bytes/call%n", before);
+        System.out.printf("After interning  : %,d bytes/call%n", after);
+        System.out.printf("Ratio            : %.1f%%%n", 100.0 * after / before);
+
+        assertThat(objectMapper(interned).writeValueAsString(page(mapper(interned), entities).getData()))
+                .isEqualTo(objectMapper(empty).writeValueAsString(page(mapper(empty), entities).getData()));
+        assertThat(after).isLessThan(before);
+    }
+
+    // Ghi vào stream bỏ đi - như converter ghi thẳng ra response, không tính buffer byte[] toàn trang
+    private long measure(PropertyMapper mapper, ObjectMapper objectMapper, List<Property> entities)
+            throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), page(mapper, entities));
+        }
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), page(mapper, entities));
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - start) / MEASURE_ROUNDS;
+    }
+
+    // Giống bước 5-6 của PropertyServiceImpl.loadSearchPage
+    private static ApiResponse<PageResponse<PropertyDTO>> page(PropertyMapper mapper, List<Property> entities) {
+        List<PropertyDTO> content = entities.stream().map(mapper::toDTO).toList();
+        return ApiResponse.success(PageResponse.<PropertyDTO>builder()
+                .content(content).pageNo(0).pageSize(content.size()).totalElements(content.size())
+                .totalPages(1).last(true).build(), "Lấy danh sách thành công");
+    }
+
+    // Store thật (repository mock chỉ gọi 1 lần khi nạp) - mock store sẽ ghi lại mọi lần gọi current()
+    private static ReferenceDtoRegistry registry(List<Amenity> amenities, List<Label> labels) {
+        AmenityRepository amenityRepository = mock(AmenityRepository.class);
+        LabelRepository labelRepository = mock(LabelRepository.class);
+        when(amenityRepository.findAll()).thenReturn(amenities);
+        when(labelRepository.findAll()).thenReturn(labels);
+        ReferenceDataStore store = new ReferenceDataStore(amenityRepository, labelRepository,
+                mock(LocationRepository.class), mock(PropertyTypeRepository.class), new AmenityMapperImpl(),
+                new LabelMapperImpl(), new LocationMapperImpl(), new PropertyTypeMapperImpl());
+        store.reload();
+        return new ReferenceDtoRegistry(store);
+    }
+
+    private static PropertyMapper mapper(ReferenceDtoRegistry registry) {
+        PropertyMapperImpl mapper = new PropertyMapperImpl();
+        ReflectionTestUtils.setField(mapper, "interningReferenceMapper",
+                new InterningReferenceMapper(registry, new AmenityMapperImpl(), new LabelMapperImpl()));
+        return mapper;
+    }
+
+    private static ObjectMapper objectMapper(ReferenceDtoRegistry registry) {
+        JacksonConfig config = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        config.propertyFieldsCustomizer().customize(builder);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("registry", registry));
+        return builder.modulesToInstall(config.internedReferenceJsonModule(
+                beans.getBeanProvider(ReferenceDtoRegistry.class))).build();
+    }
+
+    private List<Property> realisticEntities(int size) {
+        List<Property> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<PropertyImage> images = new HashSet<>();
+            for (long img = 0; img < 15; img++) {
+                images.add(PropertyImage.builder().id(i * 100 + img)
+                        .imageUrl("https://res.cloudinary.com/taivilla/image/upload/v1700000000/villa_" + i + "_"
+                                + img + ".jpg")
+                        .isThumbnail(img == 0).build());
+            }
+            entities.add(Property.builder()
+                    .id((long) i)
+                    .code("MS" + i)
+                    .name("Villa Vũng Tàu hồ bơi riêng " + i)
+                    .slug("villa-vung-tau-ho-boi-rieng-" + i + "-ms" + i)
+                    .description("Villa rộng rãi gần biển Bãi Sau, có hồ bơi riêng, karaoke, BBQ và bếp đầy đủ "
+                            + "tiện nghi cho nhóm gia đình và bạn bè.")
+                    .address("Đường Thùy Vân, Phường 2, Vũng Tàu")
+                    .priceWeekday(new BigDecimal("3500000"))
+                    .priceWeekend(new BigDecimal("5500000"))
+                    .standardGuests(10)
+                    .maxGuests(15)
+                    .bedroomCount(4)
+                    .bathroomCount(4)
+                    .bedCount(6)
+                    .isFeatured(i % 10 == 0)
+                    .amenities(new HashSet<>(amenities))
+                    .labels(new HashSet<>(labels))
+                    .images(images)
+                    .status("ACTIVE")
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 8, 0))
+                    .updatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                    .build());
+        }
+        return entities;
+    }
+}
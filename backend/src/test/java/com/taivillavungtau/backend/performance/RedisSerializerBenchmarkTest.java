@@ -0,0 +1,137 @@
+package com.taivillavungtau.backend.performance;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.taivillavungtau.backend.cache.CompactRedisSerializer;
+import com.taivillavungtau.backend.config.RedisConfig;
+import com.taivillavungtau.backend.dto.AmenityDTO;
+import com.taivillavungtau.backend.dto.LabelDTO;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyImageDTO;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark so sánh serializer JSON cũ (default typing) với CompactRedisSerializer
+ * (Smile + LZ4) cho 1 trang tìm kiếm size=500 - trường hợp nặng nhất trong Redis.
+ */
+@DisplayName("Redis Cache Serializer Benchmark")
+class RedisSerializerBenchmarkTest {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    @Test
+    @DisplayName("Compact serializer should produce smaller entries than legacy JSON")
+    void compareLegacyJsonWithCompactSmile() {
+        PageResponse<PropertyDTO> page = realisticPage(PAGE_SIZE);
+
+        RedisSerializer<Object> legacy = RedisConfig.legacyJsonSerializer();
+        JavaType pageType = TypeFactory.defaultInstance()
+                .constructParametricType(PageResponse.class, PropertyDTO.class);
+        RedisSerializer<Object> compact = new CompactRedisSerializer<>(pageType, 4096, legacy);
+
+        Result legacyResult = measure(legacy, page);
+        Result compactResult = measure(compact, page);
+
+        System.out.println("Legacy JSON : " + legacyResult);
+        System.out.println("Smile + LZ4 : " + compactResult);
+        System.out.printf("Size ratio  : %.1f%%%n", 100.0 * compactResult.bytes / legacyResult.bytes);
+
+        assertThat(compact.deserialize(compact.serialize(page))).isEqualTo(page);
+        assertThat(compactResult.bytes).isLessThan(legacyResult.bytes);
+    }
+
+    private Result measure(RedisSerializer<Object> serializer, Object value) {
+        byte[] bytes = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            bytes = serializer.serialize(value);
+            serializer.deserialize(bytes);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            bytes = serializer.serialize(value);
+            long mid = System.nanoTime();
+            serializer.deserialize(bytes);
+            long end = System.nanoTime();
+            encodeNanos += mid - start;
+            decodeNanos += end - mid;
+        }
+        return new Result(bytes.length, encodeNanos / MEASURE_ROUNDS / 1_000, decodeNanos / MEASURE_ROUNDS / 1_000);
+    }
+
+    private record Result(int bytes, long encodeMicros, long decodeMicros) {
+        @Override
+        public String toString() {
+            return bytes + " bytes, encode " + encodeMicros + "us, decode " + decodeMicros + "us";
+        }
+    }
+
+    // Dùng chung cho các benchmark payload khác trong package
+    static PageResponse<PropertyDTO> realisticPage(int size) {
+        List<PropertyDTO> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<AmenityDTO> amenities = new ArrayList<>();
+            for (long a = 1; a <= 10; a++) {
+                amenities.add(new AmenityDTO(a, "Tiện ích số " + a, "icon-" + a));
+            }
+            List<LabelDTO> labels = List.of(
+                    new LabelDTO(1L, "Sát biển", "#FF6B6B", "waves"),
+                    new LabelDTO(2L, "View biển", "#4ECDC4", "eye"));
+            List<PropertyImageDTO> images = new ArrayList<>();
+            for (long img = 0; img < 15; img++) {
+                images.add(new PropertyImageDTO(i * 100 + img,
+                        "https://res.cloudinary.com/taivilla/image/upload/v1700000000/villa_" + i + "_" + img + ".jpg",
+                        img == 0));
+            }
+            content.add(PropertyDTO.builder()
+                    .id((long) i)
+                    .code("MS" + i)
+                    .name("Villa Vũng Tàu hồ bơi riêng " + i)
+                    .slug("villa-vung-tau-ho-boi-rieng-" + i + "-ms" + i)
+                    .description("Villa rộng rãi gần biển Bãi Sau, có hồ bơi riêng, karaoke, BBQ và bếp đầy đủ "
+                            + "tiện nghi cho nhóm gia đình và bạn bè.")
+                    .address("Đường Thùy Vân, Phường 2, Vũng Tàu")
+                    .priceWeekday(new BigDecimal("3500000"))
+                    .priceWeekend(new BigDecimal("5500000"))
+                    .standardGuests(10)
+                    .maxGuests(15)
+                    .bedroomCount(4)
+                    .bathroomCount(4)
+                    .bedCount(6)
+                    .locationId(2L)
+                    .locationName("Bãi Sau")
+                    .propertyTypeId(1L)
+                    .propertyTypeName("Villa")
+                    .isFeatured(i % 10 == 0)
+                    .amenities(amenities)
+                    .labels(labels)
+                    .images(images)
+                    .status("ACTIVE")
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 8, 0))
+                    .updatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                    .build());
+        }
+        return PageResponse.<PropertyDTO>builder()
+                .content(content)
+                .pageNo(0)
+                .pageSize(size)
+                .totalElements(size)
+                .totalPages(1)
+                .last(true)
+                .build();
+    }
+}
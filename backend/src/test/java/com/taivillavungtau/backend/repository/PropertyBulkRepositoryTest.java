@@ -0,0 +1,112 @@
+package com.taivillavungtau.backend.repository;
+
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.repository.specification.PropertySpecification;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(PropertyBulkRepository.class)
+class PropertyBulkRepositoryTest {
+
+    @Autowired
+    private PropertyBulkRepository bulkRepository;
+    @Autowired
+    private PropertyRepository propertyRepository;
+    @Autowired
+    private AmenityRepository amenityRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Property first;
+    private Property second;
+    private Property third;
+
+    @BeforeEach
+    void setUp() {
+        Amenity pool = amenityRepository.save(Amenity.builder().name("Hồ bơi").iconCode("pool").build());
+        Amenity karaoke = amenityRepository.save(Amenity.builder().name("Karaoke").iconCode("mic").build());
+        first = save("MS01", new BigDecimal("5000000"), new BigDecimal("6500000"), Set.of(pool, karaoke));
+        second = save("MS02", new BigDecimal("3333000"), null, Set.of(pool));
+        third = save("MS03", new BigDecimal("4000000"), null, Set.of(karaoke));
+    }
+
+    private Property save(String code, BigDecimal weekday, BigDecimal weekend, Set<Amenity> amenities) {
+        return propertyRepository.save(Property.builder().code(code).name("Villa " + code)
+                .slug(code.toLowerCase()).status("ACTIVE").priceWeekday(weekday).priceWeekend(weekend)
+                .amenities(new HashSet<>(amenities)).build());
+    }
+
+    @Test
+    void findIds_ShouldSelectDistinctIdsMatchingSearchFilter() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setAmenityIds(first.getAmenities().stream().map(Amenity::getId).toList());
+        request.setAmenityMatchMode("ANY");
+
+        assertThat(bulkRepository.findIds(PropertySpecification.filter(request), 10))
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(bulkRepository.findIds(PropertySpecification.filter(request), 2)).hasSize(2);
+    }
+
+    @Test
+    void adjustPrices_ShouldRoundToThousandAndKeepNullPrices() {
+        int updated = bulkRepository.adjustPrices(List.of(first.getId(), second.getId()), new BigDecimal("1.1"),
+                false, true, LocalDateTime.now());
+        bulkRepository.adjustPrices(List.of(second.getId()), new BigDecimal("1.1"), true, false,
+                LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(2);
+        Property raised = propertyRepository.findById(first.getId()).orElseThrow();
+        assertThat(raised.getPriceWeekend()).isEqualByComparingTo("7150000");
+        assertThat(raised.getPriceWeekday()).isEqualByComparingTo("5000000");
+        Property rounded = propertyRepository.findById(second.getId()).orElseThrow();
+        assertThat(rounded.getPriceWeekday()).isEqualByComparingTo("3666000"); // 3.666.300 -> nghìn gần nhất
+        assertThat(rounded.getPriceWeekend()).isNull();
+    }
+
+    @Test
+    void updateStatus_ShouldOnlyTouchGivenIds() {
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1).withNano(0);
+        bulkRepository.updateStatus(List.of(first.getId(), third.getId()), "INACTIVE", now);
+        entityManager.clear();
+
+        assertThat(propertyRepository.findAllById(List.of(first.getId(), second.getId(), third.getId())))
+                .extracting(Property::getCode, Property::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple("MS01", "INACTIVE"),
+                        tuple("MS02", "ACTIVE"),
+                        tuple("MS03", "INACTIVE"));
+        assertThat(propertyRepository.findById(third.getId()).orElseThrow().getUpdatedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void insertImages_ShouldBatchInsertAndReturnImagesWithIds() {
+        List<PropertyImage> images = bulkRepository.insertImages(first, List.of(
+                PropertyImage.builder().imageUrl("https://img/1.jpg").isThumbnail(true).build(),
+                PropertyImage.builder().imageUrl("https://img/2.jpg").build()));
+        entityManager.clear();
+
+        assertThat(images).extracting(PropertyImage::getImageUrl).containsExactly("https://img/1.jpg", "https://img/2.jpg");
+        assertThat(images).allMatch(image -> image.getId() != null);
+        assertThat(propertyRepository.findById(first.getId()).orElseThrow().getImages())
+                .extracting(PropertyImage::getId, PropertyImage::getIsThumbnail)
+                .containsExactlyInAnyOrder(tuple(images.get(0).getId(), true), tuple(images.get(1).getId(), false));
+    }
+}
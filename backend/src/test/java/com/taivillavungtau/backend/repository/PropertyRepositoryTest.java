@@ -1,6 +1,7 @@
 package com.taivillavungtau.backend.repository;
 
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PropertySitemapEntry;
 import com.taivillavungtau.backend.entity.Amenity;
 import com.taivillavungtau.backend.entity.Property;
 import com.taivillavungtau.backend.enums.LocationType;
@@ -127,4 +128,21 @@ class PropertyRepositoryTest {
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getCode()).isEqualTo("MS02");
     }
+
+    @Test
+    void findSitemapPage_ShouldPageByIdKeyset() {
+        Property inactive = propertyRepository.findAll().stream()
+                .filter(p -> p.getCode().equals("MS02")).findFirst().orElseThrow();
+        inactive.setStatus("INACTIVE");
+        propertyRepository.save(inactive);
+
+        List<PropertySitemapEntry> first = propertyRepository.findSitemapPage("ACTIVE", 0, 1);
+        assertThat(first).extracting(PropertySitemapEntry::getCode).containsExactly("MS01");
+        assertThat(first.get(0).getSlug()).isEqualTo("ms01");
+
+        // Trang sau bắt đầu từ id cuối của trang trước, bỏ qua căn INACTIVE
+        List<PropertySitemapEntry> next = propertyRepository.findSitemapPage("ACTIVE", first.get(0).getId(), 10);
+        assertThat(next).extracting(PropertySitemapEntry::getCode).containsExactly("MS03");
+        assertThat(propertyRepository.findSitemapPage("ACTIVE", next.get(0).getId(), 10)).isEmpty();
+    }
 }
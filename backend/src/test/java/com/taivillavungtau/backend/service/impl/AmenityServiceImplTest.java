@@ -33,6 +33,9 @@ class AmenityServiceImplTest {
         @Mock
         private AmenityMapper amenityMapper;
 
+        @Mock
+        private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
         @Mock
         private jakarta.persistence.EntityManager entityManager;
 
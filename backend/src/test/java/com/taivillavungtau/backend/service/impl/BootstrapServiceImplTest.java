@@ -0,0 +1,126 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.cache.CatalogVersion;
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.dto.LocationDTO;
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.BootstrapResponse;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.service.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BootstrapServiceImpl Tests")
+class BootstrapServiceImplTest {
+
+    private PropertyService propertyService;
+    private ReferenceDataStore referenceDataStore;
+    private CatalogVersion catalogVersion;
+    private BootstrapServiceImpl bootstrapService;
+
+    private final PageResponse<PropertyDTO> featuredPage = PageResponse.<PropertyDTO>builder()
+            .content(List.of(PropertyDTO.builder().id(1L).code("MS01").build())).pageSize(12).build();
+    private final PageResponse<PropertyDTO> listingPage = PageResponse.<PropertyDTO>builder()
+            .content(List.of()).pageSize(500).build();
+
+    @BeforeEach
+    void setUp() {
+        propertyService = mock(PropertyService.class);
+        referenceDataStore = mock(ReferenceDataStore.class);
+        catalogVersion = new CatalogVersion();
+        bootstrapService = new BootstrapServiceImpl(propertyService, referenceDataStore, catalogVersion, 2, 20);
+        ReflectionTestUtils.setField(bootstrapService, "featuredQuery", "isFeatured=true&page=0&size=12");
+        ReflectionTestUtils.setField(bootstrapService, "listingQuery", "page=0&size=500");
+        ReflectionTestUtils.setField(bootstrapService, "timeoutMs", 5000L);
+
+        when(referenceDataStore.current()).thenReturn(snapshot("r-1"));
+        when(propertyService.searchProperties(argThat(isFeatured(true)))).thenReturn(featuredPage);
+        when(propertyService.searchProperties(argThat(isFeatured(false)))).thenReturn(listingPage);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bootstrapService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should aggregate featured, listing and reference data")
+    void shouldAggregateHomepageData() {
+        BootstrapResponse response = bootstrapService.getBootstrap();
+
+        assertThat(response.getFeatured()).isSameAs(featuredPage);
+        assertThat(response.getProperties()).isSameAs(listingPage);
+        assertThat(response.getLocations()).extracting("name").containsExactly("Bãi Sau");
+        assertThat(response.getReferenceVersion()).isEqualTo("r-1");
+        assertThat(response.getVersion()).isEqualTo(bootstrapService.currentVersion());
+    }
+
+    @Test
+    @DisplayName("Should reuse the document until the catalog changes")
+    void shouldRebuildOnlyWhenVersionChanges() {
+        BootstrapResponse first = bootstrapService.getBootstrap();
+        assertThat(bootstrapService.getBootstrap()).isSameAs(first);
+        verify(propertyService, times(2)).searchProperties(any());
+
+        catalogVersion.onPropertyChanged(new PropertyChangedEvent(1L, PropertyChangeType.UPDATED));
+        BootstrapResponse second = bootstrapService.getBootstrap();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isNotEqualTo(first.getVersion());
+        verify(propertyService, times(4)).searchProperties(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild when reference data is reloaded")
+    void shouldRebuildOnReferenceDataChange() {
+        BootstrapResponse first = bootstrapService.getBootstrap();
+        when(referenceDataStore.current()).thenReturn(snapshot("r-2"));
+
+        BootstrapResponse second = bootstrapService.getBootstrap();
+
+        assertThat(second.getReferenceVersion()).isEqualTo("r-2");
+        assertThat(second.getVersion()).isNotEqualTo(first.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should propagate search failures without caching a partial document")
+    void shouldPropagateFailures() {
+        when(propertyService.searchProperties(argThat(isFeatured(true))))
+                .thenThrow(new IllegalArgumentException("boom"));
+
+        assertThatThrownBy(() -> bootstrapService.getBootstrap()).isInstanceOf(IllegalArgumentException.class);
+
+        doReturn(featuredPage).when(propertyService).searchProperties(argThat(isFeatured(true)));
+        assertThat(bootstrapService.getBootstrap().getFeatured()).isSameAs(featuredPage);
+    }
+
+    private static org.mockito.ArgumentMatcher<PropertySearchRequest> isFeatured(boolean featured) {
+        return request -> request != null && Boolean.TRUE.equals(request.getIsFeatured()) == featured;
+    }
+
+    private static ReferenceDataSnapshot snapshot(String version) {
+        return new ReferenceDataSnapshot(version, List.of(), List.of(),
+                List.of(LocationDTO.builder().id(3L).name("Bãi Sau").build()), List.of(),
+                Map.of(), Map.of(), Map.of(), Map.of());
+    }
+}
@@ -4,13 +4,11 @@ import com.taivillavungtau.backend.dto.PropertyDTO;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.PageResponse;
 import com.taivillavungtau.backend.mapper.PropertyMapper;
-import com.taivillavungtau.backend.repository.AmenityRepository;
-import com.taivillavungtau.backend.repository.LabelRepository;
-import com.taivillavungtau.backend.repository.LocationRepository;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository;
 import com.taivillavungtau.backend.repository.PropertyImageRepository;
 import com.taivillavungtau.backend.repository.PropertyRepository;
-import com.taivillavungtau.backend.repository.PropertyTypeRepository;
 import com.taivillavungtau.backend.service.CloudinaryService;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
 import com.taivillavungtau.backend.util.TestDataBuilder;
 import net.jqwik.api.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +17,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import com.taivillavungtau.backend.cache.PropertyKeyIndex;
+import com.taivillavungtau.backend.cache.RedisBatchCache;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +32,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,29 +48,23 @@ import static org.mockito.Mockito.when;
  */
 class PaginationPropertyTest {
 
-        // Helper method to create a properly mocked service for each test
-        private PropertyServiceImpl createMockedService() {
-                PropertyRepository propertyRepository = org.mockito.Mockito.mock(PropertyRepository.class);
-                PropertyMapper propertyMapper = org.mockito.Mockito.mock(PropertyMapper.class);
-                PropertyImageRepository propertyImageRepository = org.mockito.Mockito
-                                .mock(PropertyImageRepository.class);
-                AmenityRepository amenityRepository = org.mockito.Mockito.mock(AmenityRepository.class);
-                LabelRepository labelRepository = org.mockito.Mockito.mock(LabelRepository.class);
-                LocationRepository locationRepository = org.mockito.Mockito.mock(LocationRepository.class);
-                PropertyTypeRepository propertyTypeRepository = org.mockito.Mockito.mock(PropertyTypeRepository.class);
-                CloudinaryService cloudinaryService = org.mockito.Mockito.mock(CloudinaryService.class);
-
+        // Service với mock cho mọi phụ thuộc; test chỉ stub repository / mapper
+        private static PropertyServiceImpl createService(PropertyRepository propertyRepository,
+                        PropertyMapper propertyMapper) {
                 // Mock MessageSource for Translator
-                org.springframework.context.MessageSource messageSource = org.mockito.Mockito
-                                .mock(org.springframework.context.MessageSource.class);
+                org.springframework.context.MessageSource messageSource = mock(
+                                org.springframework.context.MessageSource.class);
                 org.springframework.test.util.ReflectionTestUtils.setField(
                                 com.taivillavungtau.backend.utils.Translator.class, "messageSource", messageSource);
                 when(messageSource.getMessage(any(), any(), any(java.util.Locale.class)))
                                 .thenAnswer(invocation -> invocation.getArgument(0));
 
-                return new PropertyServiceImpl(propertyRepository, propertyMapper, propertyImageRepository,
-                                amenityRepository, labelRepository,
-                                locationRepository, propertyTypeRepository, cloudinaryService);
+                return new PropertyServiceImpl(propertyRepository, propertyMapper,
+                                mock(PropertyImageRepository.class), mock(CloudinaryService.class),
+                                mock(ApplicationEventPublisher.class), emptyBatchCache(),
+                                mock(ReferenceDataStore.class), mock(PropertyKeyIndex.class),
+                                mock(PropertyBulkRepository.class), mock(ObjectProvider.class),
+                                mock(PropertyArchiveService.class));
         }
 
         /**
@@ -85,18 +83,9 @@ class PaginationPropertyTest {
                         @ForAll("totalElementCounts") long totalElements) {
 
                 // Given: Create mocked service for this test iteration
-                PropertyRepository mockRepository = org.mockito.Mockito.mock(PropertyRepository.class);
-                PropertyMapper mockMapper = org.mockito.Mockito.mock(PropertyMapper.class);
-                PropertyImageRepository mockImageRepo = org.mockito.Mockito.mock(PropertyImageRepository.class);
-                AmenityRepository mockAmenityRepo = org.mockito.Mockito.mock(AmenityRepository.class);
-                LabelRepository mockLabelRepo = org.mockito.Mockito.mock(LabelRepository.class);
-                LocationRepository mockLocationRepo = org.mockito.Mockito.mock(LocationRepository.class);
-                PropertyTypeRepository mockPropertyTypeRepo = org.mockito.Mockito.mock(PropertyTypeRepository.class);
-                CloudinaryService mockCloudinaryService = org.mockito.Mockito.mock(CloudinaryService.class);
-
-                PropertyServiceImpl service = new PropertyServiceImpl(mockRepository, mockMapper, mockImageRepo,
-                                mockAmenityRepo, mockLabelRepo, mockLocationRepo, mockPropertyTypeRepo,
-                                mockCloudinaryService);
+                PropertyRepository mockRepository = mock(PropertyRepository.class);
+                PropertyMapper mockMapper = mock(PropertyMapper.class);
+                PropertyServiceImpl service = createService(mockRepository, mockMapper);
 
                 // Given: A search request with specific page and size
                 PropertySearchRequest request = new PropertySearchRequest();
@@ -160,18 +149,9 @@ class PaginationPropertyTest {
         @Test
         void shouldReturnEmptyPage_whenPageNumberExceedsTotalPages() {
                 // Given: Create mocked service
-                PropertyRepository mockRepository = org.mockito.Mockito.mock(PropertyRepository.class);
-                PropertyMapper mockMapper = org.mockito.Mockito.mock(PropertyMapper.class);
-                PropertyImageRepository mockImageRepo = org.mockito.Mockito.mock(PropertyImageRepository.class);
-                AmenityRepository mockAmenityRepo = org.mockito.Mockito.mock(AmenityRepository.class);
-                LabelRepository mockLabelRepo = org.mockito.Mockito.mock(LabelRepository.class);
-                LocationRepository mockLocationRepo = org.mockito.Mockito.mock(LocationRepository.class);
-                PropertyTypeRepository mockPropertyTypeRepo = org.mockito.Mockito.mock(PropertyTypeRepository.class);
-                CloudinaryService mockCloudinaryService = org.mockito.Mockito.mock(CloudinaryService.class);
-
-                PropertyServiceImpl service = new PropertyServiceImpl(mockRepository, mockMapper, mockImageRepo,
-                                mockAmenityRepo, mockLabelRepo, mockLocationRepo, mockPropertyTypeRepo,
-                                mockCloudinaryService);
+                PropertyRepository mockRepository = mock(PropertyRepository.class);
+                PropertyMapper mockMapper = mock(PropertyMapper.class);
+                PropertyServiceImpl service = createService(mockRepository, mockMapper);
 
                 // Given: A request for page 10 when only 2 pages exist
                 PropertySearchRequest request = new PropertySearchRequest();
@@ -212,18 +192,9 @@ class PaginationPropertyTest {
         @Test
         void shouldHandleMinimumPageSize_whenPageSizeIsOne() {
                 // Given: Create mocked service
-                PropertyRepository mockRepository = org.mockito.Mockito.mock(PropertyRepository.class);
-                PropertyMapper mockMapper = org.mockito.Mockito.mock(PropertyMapper.class);
-                PropertyImageRepository mockImageRepo = org.mockito.Mockito.mock(PropertyImageRepository.class);
-                AmenityRepository mockAmenityRepo = org.mockito.Mockito.mock(AmenityRepository.class);
-                LabelRepository mockLabelRepo = org.mockito.Mockito.mock(LabelRepository.class);
-                LocationRepository mockLocationRepo = org.mockito.Mockito.mock(LocationRepository.class);
-                PropertyTypeRepository mockPropertyTypeRepo = org.mockito.Mockito.mock(PropertyTypeRepository.class);
-                CloudinaryService mockCloudinaryService = org.mockito.Mockito.mock(CloudinaryService.class);
-
-                PropertyServiceImpl service = new PropertyServiceImpl(mockRepository, mockMapper, mockImageRepo,
-                                mockAmenityRepo, mockLabelRepo, mockLocationRepo, mockPropertyTypeRepo,
-                                mockCloudinaryService);
+                PropertyRepository mockRepository = mock(PropertyRepository.class);
+                PropertyMapper mockMapper = mock(PropertyMapper.class);
+                PropertyServiceImpl service = createService(mockRepository, mockMapper);
 
                 // Given: A request with page size of 1
                 PropertySearchRequest request = new PropertySearchRequest();
@@ -300,6 +271,12 @@ class PaginationPropertyTest {
                 return properties;
         }
 
+        // Không có Redis trong test - batch cache luôn vắng mặt
+        @SuppressWarnings("unchecked")
+        private static ObjectProvider<RedisBatchCache> emptyBatchCache() {
+                return mock(ObjectProvider.class);
+        }
+
         // Providers for jqwik
 
         @Provide
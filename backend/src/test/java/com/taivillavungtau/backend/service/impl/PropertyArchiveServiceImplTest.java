@@ -0,0 +1,292 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyImageDTO;
+import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
+import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.ArchivedProperty;
+import com.taivillavungtau.backend.entity.ArchivedPropertyImage;
+import com.taivillavungtau.backend.entity.Label;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.entity.PropertySlugRedirect;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.exception.DuplicateResourceException;
+import com.taivillavungtau.backend.mapper.PropertyMapper;
+import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.ArchivedPropertyRepository;
+import com.taivillavungtau.backend.repository.LabelRepository;
+import com.taivillavungtau.backend.repository.PropertyArchiveRepository;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.repository.PropertySlugRedirectRepository;
+import com.taivillavungtau.backend.repository.specification.PropertySpecification;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(PropertyArchiveRepository.class)
+@DisplayName("PropertyArchiveServiceImpl Tests")
+class PropertyArchiveServiceImplTest {
+
+    @Autowired
+    private PropertyArchiveRepository archiveRepository;
+    @Autowired
+    private ArchivedPropertyRepository archivedPropertyRepository;
+    @Autowired
+    private PropertyRepository propertyRepository;
+    @Autowired
+    private AmenityRepository amenityRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private PropertySlugRedirectRepository slugRedirectRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ApplicationEventPublisher eventPublisher;
+    private PropertyArchiveServiceImpl archiveService;
+    private Amenity pool;
+    private Property expired;
+    private Property expiredToo;
+    private Property recent;
+
+    @BeforeEach
+    void setUp() {
+        pool = amenityRepository.save(Amenity.builder().name("Hồ bơi").iconCode("pool").build());
+        Label seaside = labelRepository.save(Label.builder().name("Sát biển").build());
+        expired = save("MS01", "DELETED", 100);
+        expired.getImages().add(PropertyImage.builder().imageUrl("https://img/1.jpg").isThumbnail(true)
+                .property(expired).build());
+        expired.getAmenities().add(pool);
+        expired.getLabels().add(seaside);
+        expired = propertyRepository.save(expired);
+        slugRedirectRepository.save(PropertySlugRedirect.builder().slug("villa-cu-ms01").propertyId(expired.getId())
+                .build());
+        expiredToo = save("MS02", "DELETED", 95);
+        recent = save("MS03", "DELETED", 10);
+        save("MS04", "ACTIVE", 200);
+        entityManager.flush();
+        entityManager.clear();
+
+        PropertyMapper propertyMapper = mock(PropertyMapper.class);
+        when(propertyMapper.toDTO(any(Property.class))).thenAnswer(invocation -> {
+            Property property = invocation.getArgument(0);
+            return PropertyDTO.builder().id(property.getId()).code(property.getCode())
+                    .status(property.getStatus()).build();
+        });
+        when(propertyMapper.toDTO(any(ArchivedProperty.class))).thenAnswer(invocation -> {
+            ArchivedProperty property = invocation.getArgument(0);
+            return PropertyDTO.builder().id(property.getId()).code(property.getCode())
+                    .amenities(List.of()).build();
+        });
+        when(propertyMapper.toBasicDTO(any(ArchivedProperty.class))).thenAnswer(invocation -> {
+            ArchivedProperty property = invocation.getArgument(0);
+            return PropertyDTO.builder().id(property.getId()).code(property.getCode()).build();
+        });
+        when(propertyMapper.toArchivedImageDTOs(any())).thenAnswer(invocation -> {
+            Set<ArchivedPropertyImage> images = invocation.getArgument(0);
+            return images.stream().map(image -> PropertyImageDTO.builder().imageUrl(image.getImageUrl()).build())
+                    .toList();
+        });
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        archiveService = new PropertyArchiveServiceImpl(archiveRepository, propertyRepository, propertyMapper,
+                new TransactionTemplate(transactionManager), eventPublisher,
+                new StaticListableBeanFactory().getBeanProvider(com.taivillavungtau.backend.cache.RedisBatchCache.class),
+                new StaticListableBeanFactory().getBeanProvider(CacheManager.class), archivedPropertyRepository);
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 90);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveService.shutdown();
+    }
+
+    // updated_at do @PrePersist gán -> lùi lại bằng SQL
+    private Property save(String code, String status, int daysAgo) {
+        Property property = propertyRepository.saveAndFlush(Property.builder().code(code).name("Villa " + code)
+                .slug("villa-" + code.toLowerCase()).status(status).priceWeekday(new BigDecimal("3000000"))
+                .build());
+        jdbcTemplate.update("UPDATE properties SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo)), property.getId());
+        return property;
+    }
+
+    // Như PropertyServiceImpl: đọc offset + size căn đầu của bảng chính rồi trộn
+    private PageResponse<PropertyDTO> merge(PropertySearchRequest request, PageRequest pageable) {
+        Page<Property> live = propertyRepository.findAll(PropertySpecification.filter(request),
+                PageRequest.of(0, (int) (pageable.getOffset() + pageable.getPageSize()), pageable.getSort()));
+        return archiveService.mergeArchived(request, live.getContent(), live.getTotalElements(),
+                property -> PropertyDTO.builder().code(property.getCode()).build(), pageable);
+    }
+
+    @Test
+    @DisplayName("Should move expired DELETED properties and their child rows in batches")
+    void shouldArchiveExpiredProperties() {
+        int archived = archiveService.archiveExpired();
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(propertyRepository.findAll()).extracting(Property::getCode).containsExactlyInAnyOrder("MS03", "MS04");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM property_images", Long.class)).isZero();
+        assertThat(slugRedirectRepository.findPropertyIdBySlug("villa-cu-ms01")).isEmpty();
+
+        ArchivedProperty moved = archivedPropertyRepository.findById(expired.getId()).orElseThrow();
+        assertThat(moved.getCode()).isEqualTo("MS01");
+        assertThat(moved.getStatus()).isEqualTo("DELETED");
+        assertThat(moved.getArchivedAt()).isNotNull();
+        assertThat(moved.getImages()).extracting(ArchivedPropertyImage::getImageUrl).containsExactly("https://img/1.jpg");
+        assertThat(moved.getAmenities()).extracting(Amenity::getName).containsExactly("Hồ bơi");
+        assertThat(moved.getLabels()).extracting(Label::getName).containsExactly("Sát biển");
+        assertThat(moved.getSlugRedirects()).containsExactly("villa-cu-ms01");
+        assertThat(archivedPropertyRepository.existsById(expiredToo.getId())).isTrue();
+        assertThat(archivedPropertyRepository.existsById(recent.getId())).isFalse();
+
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof PropertyChangedEvent changed && changed.getPropertyId() == null));
+    }
+
+    @Test
+    @DisplayName("Should filter and sort archived properties with the search specification")
+    void shouldSearchArchiveWithSpecification() {
+        archiveService.archiveExpired();
+        entityManager.clear();
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setStatusList(List.of("ACTIVE", "DELETED"));
+        assertThat(archivedPropertyRepository.findAll(PropertySpecification.filter(request),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "imageCount"))))
+                .extracting(ArchivedProperty::getCode).containsExactly("MS01", "MS02");
+
+        request.setAmenityIds(List.of(pool.getId()));
+        request.setAmenityMatchMode("ALL");
+        assertThat(archivedPropertyRepository.findAll(PropertySpecification.<ArchivedProperty>filter(request)))
+                .extracting(ArchivedProperty::getCode).containsExactly("MS01");
+    }
+
+    @Test
+    @DisplayName("Should merge archived and live properties in the requested sort order")
+    void shouldMergeArchivedWithLiveRowsBySort() {
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 5);
+        archiveService.archiveExpired(); // MS01, MS02, MS03 -> archive; MS04 còn trong bảng chính
+        save("MS025", "ACTIVE", 1);
+        entityManager.clear();
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setStatusList(List.of("ACTIVE", "DELETED"));
+        // Thứ tự mã: MS01(a) MS02(a) MS025 MS03(a) MS04 -> trang 1 cỡ 2 là MS025, MS03
+        PageResponse<PropertyDTO> response = merge(request, PageRequest.of(1, 2, Sort.by("code")));
+
+        assertThat(response.getContent()).extracting(PropertyDTO::getCode).containsExactly("MS025", "MS03");
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        assertThat(response.getTotalPages()).isEqualTo(3);
+        assertThat(response.isLast()).isFalse();
+
+        // Giảm dần: MS04 MS03(a) MS025 MS02(a) MS01(a)
+        assertThat(merge(request, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "code"))).getContent())
+                .extracting(PropertyDTO::getCode).containsExactly("MS04", "MS03", "MS025");
+    }
+
+    @Test
+    @DisplayName("Should merge with the default natural code order when no Sort is given")
+    void shouldMergeArchivedWithDefaultOrder() {
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 5);
+        archiveService.archiveExpired();
+        save("MS10", "ACTIVE", 1);
+        entityManager.clear();
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setStatusList(List.of("ACTIVE", "DELETED"));
+        // Mã tự nhiên giảm dần: MS10 MS04 MS03(a) MS02(a) MS01(a)
+        PageResponse<PropertyDTO> response = merge(request, PageRequest.of(1, 2));
+
+        assertThat(response.getContent()).extracting(PropertyDTO::getCode).containsExactly("MS03", "MS02");
+        assertThat(response.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should apply the requested fields to archived properties")
+    void shouldProjectArchivedFields() {
+        archiveService.archiveExpired();
+        entityManager.clear();
+
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setStatusList(List.of("DELETED"));
+        request.setFields("code,images");
+        PageResponse<PropertyDTO> response = archiveService.mergeArchived(request, List.of(), 0,
+                property -> PropertyDTO.builder().build(), PageRequest.of(0, 10, Sort.by("code")));
+
+        assertThat(response.getContent()).extracting(PropertyDTO::getCode).containsExactly("MS01", "MS02");
+        PropertyDTO first = response.getContent().get(0);
+        assertThat(first.getImages()).extracting(PropertyImageDTO::getImageUrl).containsExactly("https://img/1.jpg");
+        assertThat(first.getAmenities()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should restore an archived property with its child rows as DELETED")
+    void shouldRestoreArchivedProperty() {
+        archiveService.archiveExpired();
+        entityManager.clear();
+
+        PropertyDTO restored = archiveService.restore(expired.getId());
+        entityManager.clear();
+
+        assertThat(restored.getCode()).isEqualTo("MS01");
+        assertThat(restored.getStatus()).isEqualTo("DELETED");
+        Property property = propertyRepository.findById(expired.getId()).orElseThrow();
+        assertThat(property.getImages()).extracting(PropertyImage::getImageUrl).containsExactly("https://img/1.jpg");
+        assertThat(property.getAmenities()).hasSize(1);
+        assertThat(property.getUpdatedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+        assertThat(slugRedirectRepository.findPropertyIdBySlug("villa-cu-ms01")).contains(expired.getId());
+        assertThat(archivedPropertyRepository.existsById(expired.getId())).isFalse();
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PropertyChangedEvent changed
+                && expired.getId().equals(changed.getPropertyId()) && changed.getType() == PropertyChangeType.CREATED));
+    }
+
+    @Test
+    @DisplayName("Should reject restore when the code is used by another property")
+    void shouldRejectRestoreWhenCodeTaken() {
+        archiveService.archiveExpired();
+        save("MS01", "ACTIVE", 0);
+
+        assertThatThrownBy(() -> archiveService.restore(expired.getId()))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(archivedPropertyRepository.existsById(expired.getId())).isTrue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.response.PropertyChangeEntry;
+import com.taivillavungtau.backend.dto.response.PropertyChangesResponse;
+import com.taivillavungtau.backend.entity.PropertyChange;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.PropertyChangeRepository;
+import com.taivillavungtau.backend.service.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PropertyChangeLogServiceImpl Tests")
+class PropertyChangeLogServiceImplTest {
+
+    private PropertyChangeRepository propertyChangeRepository;
+    private PropertyService propertyService;
+    private PropertyChangeLogServiceImpl changeLogService;
+
+    @BeforeEach
+    void setUp() {
+        propertyChangeRepository = mock(PropertyChangeRepository.class);
+        propertyService = mock(PropertyService.class);
+        changeLogService = new PropertyChangeLogServiceImpl(propertyChangeRepository, propertyService);
+        ReflectionTestUtils.setField(changeLogService, "gapTimeoutSeconds", 300L);
+    }
+
+    @Test
+    @DisplayName("Should append one log row per property event")
+    void shouldAppendLogRow() {
+        changeLogService.onPropertyChanged(new PropertyChangedEvent(4L, PropertyChangeType.DELETED));
+
+        verify(propertyChangeRepository).save(argThat(change ->
+                change.getPropertyId().equals(4L) && change.getChangeType() == PropertyChangeType.DELETED));
+    }
+
+    @Test
+    @DisplayName("Should collapse changes per property and keep tombstones without state")
+    void shouldCollapseChangesAndKeepTombstones() {
+        when(propertyChangeRepository.findChangesSince(eq(10L), any(LocalDateTime.class), eq(4))).thenReturn(List.of(
+                change(11L, 1L, PropertyChangeType.CREATED),
+                change(12L, 2L, PropertyChangeType.UPDATED),
+                change(13L, 1L, PropertyChangeType.IMAGES_CHANGED),
+                change(14L, 3L, PropertyChangeType.PERMANENTLY_DELETED)));
+        when(propertyService.getPropertiesByIds(List.of(2L, 1L))).thenReturn(List.of(
+                PropertyDTO.builder().id(1L).code("MS01").build(),
+                PropertyDTO.builder().id(2L).code("MS02").build()));
+
+        PropertyChangesResponse response = changeLogService.getChangesSince(10L, 4);
+
+        assertThat(response.getChanges()).extracting(PropertyChangeEntry::getToken).containsExactly(12L, 13L, 14L);
+        assertThat(response.getChanges().get(1).getProperty().getCode()).isEqualTo("MS01");
+        assertThat(response.getChanges().get(2).getType()).isEqualTo(PropertyChangeType.PERMANENTLY_DELETED);
+        assertThat(response.getChanges().get(2).getProperty()).isNull();
+        assertThat(response.getNextSince()).isEqualTo(14L);
+        assertThat(response.isHasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the token when there is nothing new")
+    void shouldKeepTokenWhenEmpty() {
+        when(propertyChangeRepository.findChangesSince(anyLong(), any(LocalDateTime.class), eq(500)))
+                .thenReturn(List.of());
+
+        PropertyChangesResponse response = changeLogService.getChangesSince(42L, 500);
+
+        assertThat(response.getChanges()).isEmpty();
+        assertThat(response.getNextSince()).isEqualTo(42L);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hold the token before a recent id gap but still return later rows")
+    void shouldHoldTokenBeforeRecentGap() {
+        PropertyChange recent = change(14L, 3L, PropertyChangeType.UPDATED);
+        recent.setChangedAt(LocalDateTime.now().minusSeconds(10));
+        when(propertyChangeRepository.findChangesSince(eq(10L), any(LocalDateTime.class), eq(4))).thenReturn(List.of(
+                change(11L, 1L, PropertyChangeType.UPDATED),
+                change(12L, 2L, PropertyChangeType.UPDATED),
+                recent)); // 13: transaction chưa commit
+        when(propertyService.getPropertiesByIds(any())).thenReturn(List.of());
+
+        PropertyChangesResponse response = changeLogService.getChangesSince(10L, 4);
+
+        assertThat(response.getChanges()).extracting(PropertyChangeEntry::getToken).containsExactly(11L, 12L, 14L);
+        assertThat(response.getNextSince()).isEqualTo(12L);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should skip id gaps older than the gap timeout (rolled back)")
+    void shouldSkipOldGaps() {
+        when(propertyChangeRepository.findChangesSince(eq(10L), any(LocalDateTime.class), eq(2))).thenReturn(List.of(
+                change(12L, 1L, PropertyChangeType.UPDATED),
+                change(15L, 2L, PropertyChangeType.UPDATED)));
+        when(propertyService.getPropertiesByIds(any())).thenReturn(List.of());
+
+        PropertyChangesResponse response = changeLogService.getChangesSince(10L, 2);
+
+        assertThat(response.getNextSince()).isEqualTo(15L);
+        assertThat(response.isHasMore()).isTrue();
+    }
+
+    private static PropertyChange change(long token, long propertyId, PropertyChangeType type) {
+        return PropertyChange.builder().id(token).propertyId(propertyId).changeType(type)
+                .changedAt(LocalDateTime.of(2024, 6, 1, 12, 0)).build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.controller.AdminController;
+import com.taivillavungtau.backend.enums.PropertyChangeType;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.service.AdminService;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
+import com.taivillavungtau.backend.service.PropertyTransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("PropertyEventStreamServiceImpl Tests")
+class PropertyEventStreamServiceImplTest {
+
+    private static final String EVENTS_PATH = "/api/v1/admin/properties/events";
+
+    private PropertyEventStreamServiceImpl streamService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new PropertyEventStreamServiceImpl(Jackson2ObjectMapperBuilder.json().build(),
+                3, 16, 3, 60_000, 60, 1);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(mock(AdminService.class), streamService,
+                        mock(PropertyTransferService.class), mock(PropertyArchiveService.class)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should push committed changes to open connections")
+    void shouldPushLiveEvents() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(EVENTS_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        streamService.onPropertyChanged(new PropertyChangedEvent(7L, PropertyChangeType.UPDATED,
+                Set.of("priceWeekday"), "ACTIVE", LocalDateTime.of(2024, 6, 1, 12, 0)));
+
+        String body = await(response, content -> content.contains("priceWeekday"));
+        assertThat(body).contains("event:property")
+                .contains("\"id\":7")
+                .contains("\"status\":\"ACTIVE\"")
+                .contains("\"updatedAt\":\"2024-06-01T12:00:00\"");
+        assertThat(streamService.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay missed events after Last-Event-ID, or ask for a reset when too old")
+    void shouldResumeFromLastEventId() throws Exception {
+        MockHttpServletResponse live = mockMvc.perform(get(EVENTS_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        for (long id = 1; id <= 4; id++) {
+            streamService.onPropertyChanged(new PropertyChangedEvent(id, PropertyChangeType.UPDATED));
+        }
+        List<String> eventIds = eventIds(await(live, content -> content.contains("\"id\":4,")));
+        assertThat(eventIds).hasSize(4);
+
+        // Đã nhận tới event thứ 2 -> phát lại 3 và 4 (replay-size = 3)
+        MockHttpServletResponse resumed = mockMvc.perform(get(EVENTS_PATH).header("Last-Event-ID", eventIds.get(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(await(resumed, content -> content.contains("\"id\":4,")))
+                .contains("\"id\":3,").doesNotContain("\"id\":2,").doesNotContain("event:reset");
+
+        // Event 1 đã rời khỏi bộ đệm phát lại -> client phải tải lại danh sách
+        MockHttpServletResponse stale = mockMvc.perform(get(EVENTS_PATH).header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(await(stale, content -> content.contains("event:reset"))).doesNotContain("event:property");
+    }
+
+    @Test
+    @DisplayName("Should replay a catalog-wide reset to a client that reconnects after it")
+    void shouldReplayResetAfterReconnect() throws Exception {
+        MockHttpServletResponse live = mockMvc.perform(get(EVENTS_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        streamService.onPropertyChanged(new PropertyChangedEvent(1L, PropertyChangeType.UPDATED));
+        String lastSeen = eventIds(await(live, content -> content.contains("\"id\":1,"))).get(0);
+
+        // Client mất kết nối, trong lúc đó import hàng loạt (propertyId null) rồi 1 thay đổi nữa
+        streamService.onPropertyChanged(new PropertyChangedEvent(null, PropertyChangeType.UPDATED));
+        streamService.onPropertyChanged(new PropertyChangedEvent(2L, PropertyChangeType.UPDATED));
+
+        MockHttpServletResponse resumed = mockMvc.perform(get(EVENTS_PATH).header("Last-Event-ID", lastSeen))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        String body = await(resumed, content -> content.contains("\"id\":2,"));
+        assertThat(body.indexOf("event:reset")).isNotNegative().isLessThan(body.indexOf("\"id\":2,"));
+        assertThat(eventIds(body)).hasSize(2).allMatch(id -> Long.parseLong(id) > Long.parseLong(lastSeen));
+    }
+
+    @Test
+    @DisplayName("Should refuse connections above the limit")
+    void shouldRejectAboveMaxConnections() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(EVENTS_PATH)).andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(get(EVENTS_PATH)).andExpect(status().isServiceUnavailable());
+    }
+
+    private static List<String> eventIds(String body) {
+        return Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE).matcher(body).results()
+                .map(match -> match.group(1)).toList();
+    }
+
+    private static String await(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = response.getContentAsString();
+        while (!condition.test(content) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertThat(condition).accepts(content);
+        return content;
+    }
+}
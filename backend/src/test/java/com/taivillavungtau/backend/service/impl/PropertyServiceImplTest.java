@@ -1,34 +1,54 @@
 package com.taivillavungtau.backend.service.impl;
 
+import com.taivillavungtau.backend.cache.PropertyKeyIndex;
+import com.taivillavungtau.backend.cache.RedisBatchCache;
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.constant.CacheNames;
 import com.taivillavungtau.backend.dto.PropertyDTO;
+import com.taivillavungtau.backend.dto.PropertyImageDTO;
+import com.taivillavungtau.backend.dto.request.PropertyBulkRequest;
 import com.taivillavungtau.backend.dto.request.PropertySearchRequest;
 import com.taivillavungtau.backend.dto.response.PageResponse;
+import com.taivillavungtau.backend.dto.response.PropertyBulkResponse;
+import com.taivillavungtau.backend.entity.Amenity;
 import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.enums.PropertyBulkOperation;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
 import com.taivillavungtau.backend.exception.DuplicateResourceException;
 import com.taivillavungtau.backend.exception.ResourceNotFoundException;
 import com.taivillavungtau.backend.mapper.PropertyMapper;
-import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository;
 import com.taivillavungtau.backend.repository.PropertyImageRepository;
 import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.service.PropertyArchiveService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.mockito.quality.Strictness;
 import org.junit.jupiter.api.BeforeEach;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -43,9 +63,22 @@ class PropertyServiceImplTest {
     @Mock
     private PropertyImageRepository propertyImageRepository;
     @Mock
-    private AmenityRepository amenityRepository;
-    @Mock
     private org.springframework.context.MessageSource messageSource;
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ObjectProvider<RedisBatchCache> batchCache;
+    @Mock
+    private ReferenceDataStore referenceDataStore;
+
+    @Mock
+    private PropertyKeyIndex propertyKeyIndex;
+    @Mock
+    private PropertyBulkRepository propertyBulkRepository;
+    @Mock
+    private ObjectProvider<CacheManager> cacheManager;
+    @Mock
+    private PropertyArchiveService propertyArchiveService;
 
     @InjectMocks
     private PropertyServiceImpl propertyService;
@@ -57,6 +90,12 @@ class PropertyServiceImplTest {
                 com.taivillavungtau.backend.utils.Translator.class, "messageSource", messageSource);
         when(messageSource.getMessage(anyString(), any(), any(java.util.Locale.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
+        when(referenceDataStore.current()).thenReturn(new ReferenceDataSnapshot("r-test",
+                List.of(), List.of(), List.of(), List.of(), Map.of(), Map.of(), Map.of(), Map.of()));
+        org.springframework.test.util.ReflectionTestUtils.setField(propertyService, "bulkMaxAffected", 2);
+        // 2 ObjectProvider cùng kiểu thô -> @InjectMocks không phân biệt được, gán tay
+        org.springframework.test.util.ReflectionTestUtils.setField(propertyService, "batchCache", batchCache);
+        org.springframework.test.util.ReflectionTestUtils.setField(propertyService, "cacheManager", cacheManager);
     }
 
     @Test
@@ -78,6 +117,41 @@ class PropertyServiceImplTest {
 
         assertThat(result.getCode()).isEqualTo("MS01");
         verify(propertyRepository).save(any(Property.class));
+        verify(propertyKeyIndex).onKeysChanged(1L, null, "villa-test-ms01", null, "MS01");
+    }
+
+    @Test
+    void createProperty_ShouldInsertImagesInOneBatch_WithoutSecondSave() {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setCode("MS01");
+        dto.setName("Villa Test");
+        dto.setImages(List.of(
+                PropertyImageDTO.builder().imageUrl("https://img/1.jpg").isThumbnail(true).build(),
+                PropertyImageDTO.builder().imageUrl("").build(),
+                PropertyImageDTO.builder().imageUrl("https://img/2.jpg").build()));
+
+        Property property = new Property();
+        property.setId(1L);
+        property.setCode("MS01");
+        List<PropertyImage> inserted = List.of(
+                PropertyImage.builder().id(10L).imageUrl("https://img/1.jpg").isThumbnail(true).build(),
+                PropertyImage.builder().id(11L).imageUrl("https://img/2.jpg").build());
+
+        when(propertyRepository.existsByCode("MS01")).thenReturn(false);
+        when(propertyMapper.toEntity(dto)).thenReturn(property);
+        when(propertyRepository.save(any(Property.class))).thenReturn(property);
+        when(propertyMapper.toDTO(property)).thenReturn(new PropertyDTO());
+        when(propertyBulkRepository.insertImages(eq(property), any())).thenReturn(inserted);
+        when(propertyMapper.toImageDTOs(any())).thenReturn(List.of(
+                PropertyImageDTO.builder().id(10L).build(), PropertyImageDTO.builder().id(11L).build()));
+
+        PropertyDTO result = propertyService.createProperty(dto);
+
+        verify(propertyRepository, times(1)).save(any(Property.class));
+        verify(propertyBulkRepository).insertImages(eq(property), argThat(images -> images.size() == 2
+                && images.get(0).getIsThumbnail() && !images.get(1).getIsThumbnail()));
+        assertThat(property.getImages()).isEmpty(); // Không đưa vào collection managed
+        assertThat(result.getImages()).extracting(PropertyImageDTO::getId).containsExactly(10L, 11L);
     }
 
     @Test
@@ -111,6 +185,28 @@ class PropertyServiceImplTest {
         assertThat(response.getTotalElements()).isEqualTo(1);
     }
 
+    @Test
+    void searchProperties_WithDeletedStatus_ShouldMergeArchivedWithLiveWindow() {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setStatusList(List.of("ACTIVE", "DELETED"));
+        request.setPage(2);
+        request.setSize(2);
+
+        Property live = new Property();
+        when(propertyRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(live), PageRequest.of(0, 6), 1));
+        PageResponse<PropertyDTO> merged = PageResponse.<PropertyDTO>builder().content(List.of()).build();
+        when(propertyArchiveService.mergeArchived(eq(request), eq(List.of(live)), eq(1L), any(), any(Pageable.class)))
+                .thenReturn(merged);
+
+        assertThat(propertyService.searchProperties(request)).isSameAs(merged);
+        // Bảng chính đọc từ đầu tới hết trang 2 (offset 4 + size 2)
+        verify(propertyRepository).findAll(any(Specification.class),
+                argThat((Pageable p) -> p.getPageNumber() == 0 && p.getPageSize() == 6));
+        verify(propertyArchiveService).mergeArchived(eq(request), eq(List.of(live)), eq(1L), any(),
+                argThat((Pageable p) -> p.getPageNumber() == 2 && p.getPageSize() == 2));
+    }
+
     @Test
     void getPropertyById_ShouldReturnProperty_WhenFound() {
         Long id = 1L;
@@ -126,6 +222,42 @@ class PropertyServiceImplTest {
         assertThat(result).isNotNull();
     }
 
+    @Test
+    void getPropertiesByIds_ShouldLoadOnlyCacheMisses_InRequestOrder() {
+        RedisBatchCache cache = mock(RedisBatchCache.class);
+        when(batchCache.getIfAvailable()).thenReturn(cache);
+        PropertyDTO cached = new PropertyDTO();
+        cached.setId(3L);
+        when(cache.getAll(CacheNames.PROPERTIES, List.of(3L, 1L, 2L), PropertyDTO.class))
+                .thenReturn(Map.of(3L, cached));
+
+        Property property = new Property();
+        property.setId(1L);
+        PropertyDTO loaded = new PropertyDTO();
+        loaded.setId(1L);
+        when(propertyRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(property));
+        when(propertyMapper.toDTO(property)).thenReturn(loaded);
+
+        // ID 2 không tồn tại, ID 3 bị trùng
+        List<PropertyDTO> result = propertyService.getPropertiesByIds(List.of(3L, 1L, 2L, 3L));
+
+        assertThat(result).extracting(PropertyDTO::getId).containsExactly(3L, 1L);
+        verify(cache).putAll(CacheNames.PROPERTIES, Map.of(1L, loaded));
+        verify(propertyRepository, never()).findById(any());
+    }
+
+    @Test
+    void getPropertiesByIds_ShouldLoadFromDatabase_WhenCacheUnavailable() {
+        Property property = new Property();
+        property.setId(5L);
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(5L);
+        when(propertyRepository.findByIdIn(List.of(5L))).thenReturn(List.of(property));
+        when(propertyMapper.toDTO(property)).thenReturn(dto);
+
+        assertThat(propertyService.getPropertiesByIds(List.of(5L))).containsExactly(dto);
+    }
+
     @Test
     void getPropertyById_ShouldThrowException_WhenNotFound() {
         Long id = 1L;
@@ -157,6 +289,89 @@ class PropertyServiceImplTest {
         verify(propertyRepository).save(existing);
     }
 
+    @Test
+    void updateProperty_ShouldKeepOldSlugAsRedirect_WhenRenamed() {
+        Long id = 1L;
+        PropertyDTO dto = new PropertyDTO();
+        dto.setName("Villa Mới");
+        dto.setCode("MS01");
+
+        Property existing = new Property();
+        existing.setId(id);
+        existing.setCode("MS01");
+        existing.setName("Villa Cũ");
+        existing.setSlug("villa-cu-ms01");
+
+        when(propertyRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(propertyRepository.save(any(Property.class))).thenReturn(existing);
+        when(propertyMapper.toDTO(any(Property.class))).thenReturn(dto);
+
+        propertyService.updateProperty(id, dto);
+
+        assertThat(existing.getSlug()).isNotEqualTo("villa-cu-ms01");
+        verify(propertyKeyIndex).onKeysChanged(id, "villa-cu-ms01", existing.getSlug(), "MS01", "MS01");
+    }
+
+    @Test
+    void updateProperty_ShouldOnlyAddAndRemoveChangedAmenities() {
+        Long id = 1L;
+        Amenity pool = Amenity.builder().id(1L).name("Hồ bơi").build();
+        Amenity karaoke = Amenity.builder().id(2L).name("Karaoke").build();
+        Amenity bbq = Amenity.builder().id(3L).name("BBQ").build();
+        Property existing = new Property();
+        existing.setId(id);
+        existing.setCode("MS01");
+        existing.setName("Villa");
+        existing.setSlug("villa-ms01");
+        existing.getAmenities().addAll(List.of(pool, karaoke));
+        PropertyDTO dto = new PropertyDTO();
+        dto.setCode("MS01");
+        dto.setName("Villa");
+        dto.setAmenityIds(List.of(2L, 3L));
+
+        when(propertyRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(propertyRepository.save(any(Property.class))).thenReturn(existing);
+        when(propertyMapper.toBasicDTO(any(Property.class))).thenAnswer(invocation -> basicDTO(invocation.getArgument(0)));
+        when(referenceDataStore.findAmenities(List.of(3L))).thenReturn(List.of(bbq));
+
+        propertyService.updateProperty(id, dto);
+
+        // Karaoke giữ nguyên instance -> Hibernate không xóa / chèn lại dòng của nó
+        assertThat(existing.getAmenities()).containsExactlyInAnyOrder(karaoke, bbq);
+        verify(referenceDataStore).findAmenities(List.of(3L));
+        verify(propertyRepository).save(existing);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PropertyChangedEvent changed
+                && changed.getChangedFields().equals(Set.of("amenities"))));
+    }
+
+    @Test
+    void updateProperty_ShouldSkipSaveAndEvents_WhenNothingChanged() {
+        Long id = 1L;
+        Amenity pool = Amenity.builder().id(1L).name("Hồ bơi").build();
+        Property existing = new Property();
+        existing.setId(id);
+        existing.setCode("MS01");
+        existing.setName("Villa");
+        existing.setSlug("villa-ms01");
+        existing.setPriceWeekday(new BigDecimal("5000000.00"));
+        existing.getAmenities().add(pool);
+        PropertyDTO dto = new PropertyDTO();
+        dto.setCode("MS01");
+        dto.setName("Villa");
+        dto.setPriceWeekday(new BigDecimal("5000000")); // Khác scale, cùng giá trị
+        dto.setAmenityIds(List.of(1L));
+
+        when(propertyRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(propertyMapper.toBasicDTO(any(Property.class))).thenAnswer(invocation -> basicDTO(invocation.getArgument(0)));
+
+        propertyService.updateProperty(id, dto);
+
+        verify(propertyRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(cacheManager, never()).getIfAvailable();
+        verify(propertyKeyIndex, never()).onKeysChanged(any(), any(), any(), any(), any());
+    }
+
     @Test
     void deleteProperty_ShouldSoftDelete_WhenFound() {
         Long id = 1L;
@@ -182,4 +397,79 @@ class PropertyServiceImplTest {
         assertThatThrownBy(() -> propertyService.deleteProperty(id))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpdate_DryRun_ShouldReturnIdsWithoutWriting() {
+        when(propertyBulkRepository.findIds(any(Specification.class), anyInt())).thenReturn(List.of(3L, 7L));
+        PropertyBulkRequest request = bulkRequest(PropertyBulkOperation.SET_STATUS);
+        request.setStatus("INACTIVE");
+        request.setDryRun(true);
+
+        PropertyBulkResponse response = propertyService.bulkUpdate(request);
+
+        assertThat(response.getIds()).containsExactly(3L, 7L);
+        assertThat(response.getAffected()).isEqualTo(2);
+        verify(propertyBulkRepository, never()).updateStatus(any(), any(), any());
+        verify(propertyBulkRepository, never()).appendChanges(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpdate_ShouldApplyPriceFactorAndPublishOneEvent() {
+        when(propertyBulkRepository.findIds(any(Specification.class), anyInt())).thenReturn(List.of(3L, 7L));
+        PropertyBulkRequest request = bulkRequest(PropertyBulkOperation.ADJUST_PRICE);
+        request.setPercent(new BigDecimal("10"));
+        request.setPriceTarget(PropertyBulkRequest.PriceTarget.WEEKEND);
+
+        propertyService.bulkUpdate(request);
+
+        verify(propertyBulkRepository).adjustPrices(eq(List.of(3L, 7L)),
+                argThat(factor -> factor.compareTo(new BigDecimal("1.10")) == 0), eq(false), eq(true), any());
+        verify(propertyBulkRepository).appendChanges(argThat(changes -> changes.keySet().equals(Set.of(3L, 7L))),
+                any());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof PropertyChangedEvent changed && changed.getPropertyId() == null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpdate_ShouldRejectInvalidRequestsAndTooManyMatches() {
+        PropertyBulkRequest deleted = bulkRequest(PropertyBulkOperation.SET_STATUS);
+        deleted.setStatus("DELETED");
+        assertThatThrownBy(() -> propertyService.bulkUpdate(deleted)).isInstanceOf(IllegalArgumentException.class);
+        PropertyBulkRequest typo = bulkRequest(PropertyBulkOperation.SET_STATUS);
+        typo.setStatus("activ");
+        assertThatThrownBy(() -> propertyService.bulkUpdate(typo)).isInstanceOf(IllegalArgumentException.class);
+
+        PropertyBulkRequest both = bulkRequest(PropertyBulkOperation.SET_FEATURED);
+        both.setFeatured(true);
+        both.setFilter(new PropertySearchRequest());
+        assertThatThrownBy(() -> propertyService.bulkUpdate(both)).isInstanceOf(IllegalArgumentException.class);
+
+        // bulkMaxAffected = 2 -> tìm thấy 3 căn là vượt giới hạn
+        when(propertyBulkRepository.findIds(any(Specification.class), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        PropertyBulkRequest featured = bulkRequest(PropertyBulkOperation.SET_FEATURED);
+        featured.setFeatured(true);
+        assertThatThrownBy(() -> propertyService.bulkUpdate(featured)).isInstanceOf(IllegalArgumentException.class);
+        verify(propertyBulkRepository, never()).updateFeatured(any(), anyBoolean(), any());
+    }
+
+    private static PropertyBulkRequest bulkRequest(PropertyBulkOperation operation) {
+        PropertyBulkRequest request = new PropertyBulkRequest();
+        request.setIds(List.of(3L, 7L));
+        request.setOperation(operation);
+        return request;
+    }
+
+    private static PropertyDTO basicDTO(Property property) {
+        PropertyDTO dto = new PropertyDTO();
+        dto.setId(property.getId());
+        dto.setCode(property.getCode());
+        dto.setName(property.getName());
+        dto.setSlug(property.getSlug());
+        dto.setPriceWeekday(property.getPriceWeekday());
+        return dto;
+    }
 }
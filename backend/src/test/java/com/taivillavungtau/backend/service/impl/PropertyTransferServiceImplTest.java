@@ -0,0 +1,212 @@
+package com.taivillavungtau.backend.service.impl;
+
+import com.taivillavungtau.backend.cache.ReferenceDataSnapshot;
+import com.taivillavungtau.backend.cache.ReferenceDataStore;
+import com.taivillavungtau.backend.entity.Amenity;
+import com.taivillavungtau.backend.entity.Property;
+import com.taivillavungtau.backend.entity.PropertyImage;
+import com.taivillavungtau.backend.enums.TransferFormat;
+import com.taivillavungtau.backend.event.PropertyChangedEvent;
+import com.taivillavungtau.backend.repository.AmenityRepository;
+import com.taivillavungtau.backend.repository.PropertyBulkRepository;
+import com.taivillavungtau.backend.repository.PropertyChangeRepository;
+import com.taivillavungtau.backend.repository.PropertyRepository;
+import com.taivillavungtau.backend.repository.PropertySlugRedirectRepository;
+import com.taivillavungtau.backend.dto.response.PropertyImportJobResponse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(PropertyBulkRepository.class)
+@DisplayName("PropertyTransferServiceImpl Tests")
+class PropertyTransferServiceImplTest {
+
+    @Autowired
+    private PropertyBulkRepository bulkRepository;
+    @Autowired
+    private PropertyRepository propertyRepository;
+    @Autowired
+    private AmenityRepository amenityRepository;
+    @Autowired
+    private PropertyChangeRepository propertyChangeRepository;
+    @Autowired
+    private PropertySlugRedirectRepository slugRedirectRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path tempDir;
+
+    private ApplicationEventPublisher eventPublisher;
+    private PropertyTransferServiceImpl transferService;
+    private Property existing;
+
+    @BeforeEach
+    void setUp() {
+        Amenity pool = amenityRepository.save(Amenity.builder().name("Hồ bơi").iconCode("pool").build());
+        Amenity karaoke = amenityRepository.save(Amenity.builder().name("Karaoke").iconCode("mic").build());
+        existing = Property.builder().code("MS01").name("Villa Cũ").slug("villa-cu-ms01").status("INACTIVE")
+                .priceWeekday(new BigDecimal("3000000")).build();
+        existing.getImages().add(PropertyImage.builder().imageUrl("https://img/old.jpg").isThumbnail(true)
+                .property(existing).build());
+        existing = propertyRepository.save(existing);
+
+        ReferenceDataStore referenceDataStore = mock(ReferenceDataStore.class);
+        when(referenceDataStore.reload()).thenReturn(new ReferenceDataSnapshot("r-test", List.of(), List.of(),
+                List.of(), List.of(), Map.of(pool.getId(), pool, karaoke.getId(), karaoke), Map.of(), Map.of(),
+                Map.of()));
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transferService = new PropertyTransferServiceImpl(bulkRepository, referenceDataStore,
+                Jackson2ObjectMapperBuilder.json().build(), new TransactionTemplate(transactionManager),
+                eventPublisher, new StaticListableBeanFactory().getBeanProvider(CacheManager.class));
+        ReflectionTestUtils.setField(transferService, "batchSize", 2);
+        ReflectionTestUtils.setField(transferService, "maxJobs", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should upsert CSV rows by code in batches and report invalid rows")
+    void shouldImportCsv() throws IOException {
+        PropertyImportJobResponse job = runImport(TransferFormat.CSV, """
+                code,name,status,priceWeekday,amenities
+                ms01,Villa Mới,ACTIVE,5000000,Hồ bơi|karaoke
+                MS02,Villa Hai,,7000000,Hồ bơi
+                ,Không mã,,,
+                MS03,Villa Ba,,abc,
+                MS04,Villa Bốn,,,Sân golf
+                MS05,Villa Năm,,,
+                MS06,Villa Sáu,activ,,
+                """);
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getInserted()).isEqualTo(2);
+        assertThat(job.getUpdated()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(4);
+        assertThat(job.getErrors()).hasSize(4).anyMatch(error -> error.contains("Sân golf"))
+                .anyMatch(error -> error.contains("activ"));
+        assertThat(propertyRepository.findByCode("MS06")).isEmpty();
+
+        entityManager.clear();
+        Property updated = propertyRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getCode()).isEqualTo("MS01");
+        assertThat(updated.getName()).isEqualTo("Villa Mới");
+        assertThat(updated.getSlug()).isEqualTo("villa-moi-ms01");
+        assertThat(updated.getStatus()).isEqualTo("ACTIVE");
+        assertThat(updated.getAmenities()).extracting(Amenity::getName).containsExactlyInAnyOrder("Hồ bơi", "Karaoke");
+        // Không có cột images -> giữ nguyên ảnh
+        assertThat(updated.getImages()).extracting(PropertyImage::getImageUrl).containsExactly("https://img/old.jpg");
+
+        Property created = propertyRepository.findByCode("MS02").orElseThrow();
+        assertThat(created.getStatus()).isEqualTo("ACTIVE");
+        assertThat(created.getAmenities()).hasSize(1);
+
+        assertThat(slugRedirectRepository.findPropertyIdBySlug("villa-cu-ms01")).contains(existing.getId());
+        assertThat(propertyChangeRepository.count()).isEqualTo(3);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof PropertyChangedEvent changed && changed.getPropertyId() == null));
+    }
+
+    @Test
+    @DisplayName("Should keep columns missing from the file or left empty when updating")
+    void shouldKeepUntouchedColumnsOnPartialImport() throws IOException {
+        existing.setDescription("Sát biển Bãi Sau");
+        existing.setPriceWeekend(new BigDecimal("4500000"));
+        existing.setMaxGuests(12);
+        propertyRepository.saveAndFlush(existing);
+
+        PropertyImportJobResponse job = runImport(TransferFormat.CSV, """
+                code,name,priceWeekday,maxGuests
+                MS01,Villa Cũ,,15
+                """);
+
+        assertThat(job.getUpdated()).isEqualTo(1);
+        entityManager.clear();
+        Property updated = propertyRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getMaxGuests()).isEqualTo(15);
+        assertThat(updated.getPriceWeekday()).isEqualByComparingTo("3000000");
+        assertThat(updated.getPriceWeekend()).isEqualByComparingTo("4500000");
+        assertThat(updated.getDescription()).isEqualTo("Sát biển Bãi Sau");
+        assertThat(updated.getStatus()).isEqualTo("INACTIVE");
+    }
+
+    @Test
+    @DisplayName("Should round-trip the catalog through NDJSON export and import")
+    void shouldRoundTripNdjson() throws IOException {
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        transferService.export(exported, TransferFormat.NDJSON);
+        String ndjson = exported.toString(StandardCharsets.UTF_8);
+        assertThat(ndjson).contains("\"code\":\"MS01\"").contains("\"thumbnail\":\"https://img/old.jpg\"");
+
+        PropertyImportJobResponse job = runImport(TransferFormat.NDJSON, ndjson.replace("Villa Cũ", "Villa Đổi Tên")
+                + "\n{\"code\":\"MS09\",\"name\":\"Villa Chín\",\"images\":[\"https://img/a.jpg\",\"https://img/b.jpg\"],"
+                + "\"thumbnail\":\"https://img/b.jpg\"}\n");
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getUpdated()).isEqualTo(1);
+        assertThat(job.getInserted()).isEqualTo(1);
+
+        entityManager.clear();
+        Property renamed = propertyRepository.findById(existing.getId()).orElseThrow();
+        assertThat(renamed.getName()).isEqualTo("Villa Đổi Tên");
+        assertThat(renamed.getStatus()).isEqualTo("INACTIVE");
+        assertThat(renamed.getImages()).hasSize(1);
+        Property created = propertyRepository.findByCode("MS09").orElseThrow();
+        assertThat(created.getImages()).filteredOn(PropertyImage::getIsThumbnail)
+                .extracting(PropertyImage::getImageUrl).containsExactly("https://img/b.jpg");
+    }
+
+    @Test
+    @DisplayName("Should export CSV with a header and pipe-separated lists")
+    void shouldExportCsv() throws IOException {
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        transferService.export(exported, TransferFormat.CSV);
+
+        List<String> lines = exported.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).startsWith("code,name,slug,status,");
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).startsWith("MS01,\"Villa Cũ\",villa-cu-ms01,INACTIVE,")
+                .contains("https://img/old.jpg");
+    }
+
+    private PropertyImportJobResponse runImport(TransferFormat format, String content) throws IOException {
+        Path file = Files.writeString(tempDir.resolve("import." + format.getValue()), content);
+        PropertyTransferServiceImpl.ImportJob job = new PropertyTransferServiceImpl.ImportJob("test", format);
+        transferService.runImport(file, job);
+        return job.toResponse();
+    }
+}
@@ -29,20 +29,25 @@ export default async function sitemap(): Promise<MetadataRoute.Sitemap> {
   let propertyPages: MetadataRoute.Sitemap = [];
   
   try {
-    const response = await fetch(`${process.env.NEXT_PUBLIC_API_URL || 'https://api.taivillavungtau.vn'}/api/v1/properties?page=0&size=500`, {
-      next: { revalidate: 3600 }, // Revalidate every hour
-    });
-    
-    if (response.ok) {
+    const apiUrl = process.env.NEXT_PUBLIC_API_URL || 'https://api.taivillavungtau.vn';
+    // Keyset pagination: lấy tiếp từ id cuối cho đến khi nextAfter = null
+    let after: number | null = 0;
+    while (after !== null) {
+      const response: Response = await fetch(`${apiUrl}/api/v1/properties/sitemap?after=${after}&size=5000`, {
+        next: { revalidate: 3600 }, // Revalidate every hour
+      });
+      if (!response.ok) break;
+
       const data = await response.json();
-      const properties = data.data?.content || [];
-      
-      propertyPages = properties.map((property: { id: number; updatedAt?: string }) => ({
+      const entries: { id: number; updatedAt?: string }[] = data.data?.items || [];
+
+      propertyPages = propertyPages.concat(entries.map((property) => ({
         url: `${BASE_URL}/properties/${property.id}`,
         lastModified: property.updatedAt ? new Date(property.updatedAt) : new Date(),
         changeFrequency: 'weekly' as const,
         priority: 0.8,
-      }));
+      })));
+      after = data.data?.nextAfter ?? null;
     }
   } catch (error) {
     console.error('Error fetching properties for sitemap:', error);
@@ -10,10 +10,11 @@ import { Badge } from '@/components/ui/badge';
 import { Pagination } from '@/components/ui/pagination';
 import { TableSkeleton } from '@/components/shared/LoadingState';
 import { showSuccess, showError } from '@/lib/notifications';
-import { Plus, Edit, Eye, ArrowUpDown, X, MapPin, Power, Trash2, Search, ImageIcon, ExternalLink, FileText, Facebook, Check } from 'lucide-react';
+import { Plus, Edit, Eye, ArrowUpDown, X, MapPin, Power, Trash2, Search, ImageIcon, ExternalLink, FileText, Facebook, Check, RotateCcw } from 'lucide-react';
 import Link from 'next/link';
 import { Switch } from '@/components/ui/switch';
 import { useLocations, usePropertyTypes } from '@/lib/hooks/useLocationsAndTypes';
+import { usePropertyEvents } from '@/lib/hooks/usePropertyEvents';
 import {
   Select,
   SelectContent,
@@ -38,6 +39,10 @@ import {
 export default function PropertiesPage() {
   const queryClient = useQueryClient();
   const router = useRouter();
+
+  // Thay đổi của admin khác (SSE) -> tải lại danh sách thay vì polling
+  const refreshList = () => queryClient.invalidateQueries({ queryKey: ['admin-properties'] });
+  usePropertyEvents(refreshList, refreshList);
   const searchParams = useSearchParams();
   
   // Derive currentPage directly from URL
@@ -182,6 +187,21 @@ export default function PropertiesPage() {
     },
   });
 
+  // Restore a property the archiver moved to the archive tables (it comes back as DELETED)
+  const restoreMutation = useMutation({
+    mutationFn: async ({ id, name }: { id: number; name: string }) => {
+      await api.post(`/api/v1/admin/properties/${id}/restore`);
+      return { name };
+    },
+    onSuccess: async (data) => {
+      await queryClient.refetchQueries({ queryKey: ['admin-properties'] });
+      showSuccess.custom(`Đã khôi phục "${data.name}" từ lưu trữ`);
+    },
+    onError: () => {
+      showError.custom('Không thể khôi phục Villa (mã căn có thể đã được dùng)');
+    },
+  });
+
   const handleStatusToggle = (property: any) => {
     const newStatus = property.status === 'ACTIVE' ? 'DELETED' : 'ACTIVE';
     updateStatusMutation.mutate({
@@ -487,6 +507,9 @@ export default function PropertiesPage() {
                       >
                         {property.status}
                       </Badge>
+                      {property.archivedAt && (
+                        <span className="ml-2 text-xs text-gray-500">Lưu trữ</span>
+                      )}
                     </td>
                     <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
                       {property.updatedAt ? (
@@ -564,6 +587,18 @@ export default function PropertiesPage() {
                             }
                           </Button>
                         )}
+                        {property.archivedAt ? (
+                          <Button
+                            variant="ghost"
+                            size="sm"
+                            onClick={() => restoreMutation.mutate({ id: property.id, name: property.name })}
+                            disabled={restoreMutation.isPending}
+                            title="Khôi phục từ lưu trữ"
+                          >
+                            <RotateCcw className="h-4 w-4 text-blue-600" />
+                          </Button>
+                        ) : (
+                        <>
                         <Button
                           variant="ghost"
                           size="sm"
@@ -586,6 +621,8 @@ export default function PropertiesPage() {
                             <Trash2 className="h-4 w-4 text-red-600" />
                           </Button>
                         )}
+                        </>
+                        )}
                       </div>
                     </td>
                   </tr>
@@ -0,0 +1,104 @@
+'use client';
+
+import { useEffect, useRef } from 'react';
+
+export interface PropertyEvent {
+  id: number;
+  type: 'CREATED' | 'UPDATED' | 'DELETED' | 'PERMANENTLY_DELETED' | 'IMAGES_CHANGED';
+  changedFields?: string[];
+  status?: string;
+  updatedAt?: string;
+}
+
+const RECONNECT_DELAY_MS = 5000;
+
+function readToken(): string | null {
+  try {
+    const authStorage = localStorage.getItem('auth-storage');
+    return authStorage ? JSON.parse(authStorage)?.state?.token ?? null : null;
+  } catch {
+    return null;
+  }
+}
+
+/**
+ * Nghe luồng SSE /api/v1/admin/properties/events.
+ * Dùng fetch thay cho EventSource vì cần gửi header Authorization;
+ * tự nối lại với Last-Event-ID. onReset: server không phát lại được -> tải lại danh sách.
+ */
+export function usePropertyEvents(onEvent: (event: PropertyEvent) => void, onReset?: () => void) {
+  const onEventRef = useRef(onEvent);
+  const onResetRef = useRef(onReset);
+  onEventRef.current = onEvent;
+  onResetRef.current = onReset;
+
+  useEffect(() => {
+    const controller = new AbortController();
+    let lastEventId: string | null = null;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const dispatch = (name: string, data: string) => {
+      if (name === 'reset') {
+        onResetRef.current?.();
+        return;
+      }
+      try {
+        onEventRef.current(JSON.parse(data) as PropertyEvent);
+      } catch (error) {
+        console.error('[SSE] Failed to parse event:', error);
+      }
+    };
+
+    const connect = async () => {
+      const headers: Record<string, string> = { Accept: 'text/event-stream' };
+      const token = readToken();
+      if (token) headers.Authorization = `Bearer ${token}`;
+      if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+      try {
+        const response = await fetch(
+          `${process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080'}/api/v1/admin/properties/events`,
+          { headers, signal: controller.signal }
+        );
+        if (!response.ok || !response.body) throw new Error(`HTTP ${response.status}`);
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        let eventName = 'message';
+        let data = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          const lines = buffer.split('\n');
+          buffer = lines.pop() ?? '';
+          for (const line of lines) {
+            if (line === '') {
+              if (data) dispatch(eventName, data);
+              eventName = 'message';
+              data = '';
+            } else if (line.startsWith('id:')) {
+              lastEventId = line.slice(3).trim();
+            } else if (line.startsWith('event:')) {
+              eventName = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+              data += line.slice(5);
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.error('[SSE] Connection error:', error);
+      }
+      if (!controller.signal.aborted) {
+        retryTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(retryTimer);
+    };
+  }, []);
+}